@@ -48,7 +48,8 @@ public interface BeanManager {
 	public ClassLoader getClassLoader() throws FormException;
 
 	/**
-	 * @return the class for the given bean class name
+	 * @return the class for the given bean class name or null if the class
+	 *         cannot be found
 	 */
 	public Class getBeanClass(String beanClassName) throws FormException;
 
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.colormgr;
+
+import java.awt.Color;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.UIManager;
+
+/**
+ * A cache of resolved colors. Color properties that refer to a look and feel
+ * color (e.g. control) must ask the ColorManager for the color and then apply
+ * any brightness changes. This happens on every paint, so we keep the resolved
+ * colors around until the look and feel or the UIManager defaults change.
+ * 
+ * Each ColorProperty remembers the last color it resolved along with the
+ * cache generation at the time. Properties that miss also check a shared map
+ * that is keyed by the color key, brightness and brightness factor. All
+ * cached colors are discarded whenever the generation changes.
+ * 
+ * @author Jeff Tassin
+ */
+public class ColorCache {
+	/**
+	 * The current generation. Incremented every time the cache is invalidated.
+	 */
+	private static volatile int m_generation = 0;
+
+	/**
+	 * A map of ColorKey objects to resolved colors. m_colors<ColorKey,Color>
+	 */
+	private static HashMap m_colors = new HashMap();
+
+	/**
+	 * The number of color resolutions that were avoided because of the cache.
+	 */
+	private static AtomicLong m_avoided = new AtomicLong();
+
+	/**
+	 * Flag that indicates if we have registered for look and feel changes.
+	 */
+	private static boolean m_listening = false;
+
+	/**
+	 * Creates a <code>ColorCache</code> instance. All methods are static.
+	 */
+	private ColorCache() {
+
+	}
+
+	/**
+	 * Returns the resolved color for the given values. Null is returned if the
+	 * color is not in the cache.
+	 * 
+	 * @param colorKey
+	 *            the color key
+	 * @param constantColor
+	 *            the constant color if the colorKey is constant. Otherwise,
+	 *            this should be null.
+	 * @param brightness
+	 *            the brightness adjustment
+	 * @param factor
+	 *            the brightness factor
+	 */
+	public static synchronized Color get(String colorKey, Color constantColor, int brightness, float factor) {
+		startListening();
+		Color c = (Color) m_colors.get(new ColorKey(colorKey, constantColor, brightness, factor));
+		if (c != null)
+			m_avoided.incrementAndGet();
+		return c;
+	}
+
+	/**
+	 * Returns the number of color resolutions that were avoided because the
+	 * color was found in the cache.
+	 */
+	public static long getAvoidedCount() {
+		return m_avoided.get();
+	}
+
+	/**
+	 * Returns the current cache generation. Colors that were resolved in an
+	 * earlier generation must be resolved again.
+	 */
+	public static int getGeneration() {
+		return m_generation;
+	}
+
+	/**
+	 * Discards all cached colors. This is called automatically when the look
+	 * and feel or the UIManager defaults change. Applications that install a
+	 * different ColorManager should call this as well.
+	 */
+	public static synchronized void invalidate() {
+		m_colors.clear();
+		m_generation++;
+	}
+
+	/**
+	 * Records that a property used its own resolved color instead of resolving
+	 * the color again.
+	 */
+	public static void markAvoided() {
+		m_avoided.incrementAndGet();
+	}
+
+	/**
+	 * Stores a resolved color in the cache. The color is ignored if the cache
+	 * was invalidated after the color was resolved.
+	 * 
+	 * @param generation
+	 *            the cache generation at the time the color was resolved.
+	 */
+	public static synchronized void put(String colorKey, Color constantColor, int brightness, float factor, Color c, int generation) {
+		if (generation == m_generation)
+			m_colors.put(new ColorKey(colorKey, constantColor, brightness, factor), c);
+	}
+
+	/**
+	 * Resets the avoided resolutions counter.
+	 */
+	public static void resetStatistics() {
+		m_avoided.set(0);
+	}
+
+	/**
+	 * Registers for look and feel and UIManager defaults changes.
+	 */
+	private static void startListening() {
+		if (m_listening)
+			return;
+
+		m_listening = true;
+		PropertyChangeListener listener = new PropertyChangeListener() {
+			public void propertyChange(PropertyChangeEvent evt) {
+				invalidate();
+			}
+		};
+		UIManager.addPropertyChangeListener(listener);
+		UIManager.getDefaults().addPropertyChangeListener(listener);
+	}
+
+	/**
+	 * The values that define a resolved color.
+	 */
+	private static class ColorKey {
+		private String m_color_key;
+		private Color m_constant_color;
+		private int m_brightness;
+		private float m_factor;
+
+		ColorKey(String colorKey, Color constantColor, int brightness, float factor) {
+			m_color_key = colorKey;
+			m_constant_color = constantColor;
+			m_brightness = brightness;
+			m_factor = factor;
+		}
+
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ColorKey))
+				return false;
+
+			ColorKey key = (ColorKey) obj;
+			return m_brightness == key.m_brightness && m_factor == key.m_factor && isEqual(m_color_key, key.m_color_key)
+					&& isEqual(m_constant_color, key.m_constant_color);
+		}
+
+		public int hashCode() {
+			int hash = (m_color_key == null) ? 0 : m_color_key.hashCode();
+			if (m_constant_color != null)
+				hash = hash * 31 + m_constant_color.getRGB();
+			return (hash * 31 + m_brightness) * 31 + Float.floatToIntBits(m_factor);
+		}
+
+		private static boolean isEqual(Object o1, Object o2) {
+			return (o1 == null) ? (o2 == null) : o1.equals(o2);
+		}
+	}
+}
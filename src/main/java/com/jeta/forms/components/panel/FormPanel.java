@@ -36,18 +36,29 @@ import java.awt.Container;
 import java.awt.FocusTraversalPolicy;
 import java.awt.LayoutManager;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import javax.swing.BoxLayout;
 import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
 
 import com.jeta.forms.gui.common.FormException;
 import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.gui.form.CompiledForm;
+import com.jeta.forms.gui.form.CompiledForms;
 import com.jeta.forms.gui.form.FormAccessor;
 import com.jeta.forms.gui.form.FormComponent;
 import com.jeta.forms.gui.form.FormIterator;
+import com.jeta.forms.gui.form.FormNameIndex;
 import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.memento.FormMemento;
 import com.jeta.open.gui.framework.JETAPanel;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.i18n.I18NUtils;
@@ -63,6 +74,14 @@ import com.jeta.open.i18n.I18NUtils;
  * It assumed that all form files are located in your classpath.
  * <p>
  * 
+ * If compiled forms are enabled and the form was compiled at build time (see
+ * {@link CompiledForms}), the compiled form is created instead of parsing the
+ * form file. Compiled forms do not have FormAccessors, so
+ * {@link #getFormAccessor()}, {@link #getFormAccessor(String)} and
+ * {@link #getNameIndex()} return null for them and {@link #beanIterator(boolean)}
+ * returns an empty iterator. Components can still be found by name.
+ * <p>
+ * 
  * You should only use the published APIs to programmatically add, remove, or
  * access Swing Components from a form. If you need to programmatically change a
  * form, you use a FormAccessor, see {@link #getFormAccessor(String) }. If you
@@ -111,12 +130,31 @@ public class FormPanel extends JETAPanel {
 	 */
 	private FormComponent m_form_comp;
 
+	/**
+	 * The top level container if the form was created from a compiled form.
+	 * In that case, m_form_comp is null.
+	 */
+	private Container m_compiled_form;
+
+	/**
+	 * The number of nested forms in this panel that have not been created yet
+	 * (see {@link FormUtils#setLazyLoading(boolean)}). A name lookup that
+	 * misses only creates the deferred forms if this is not zero.
+	 */
+	private int m_deferred_forms;
+
 	/**
 	 * The focus traversal policy.
 	 */
 	private FocusTraversalPolicy m_focus_policy;
 	private boolean m_policy_set = false;
 
+	/**
+	 * The thread pool used by loadAsync when the caller does not provide an
+	 * executor. Created on first use.
+	 */
+	private static ExecutorService m_loader;
+
 	/**
 	 * FormPanel constructor. Loads the form from the given path. This
 	 * constructor does not throw an exception if the form resource cannot be
@@ -133,10 +171,18 @@ public class FormPanel extends JETAPanel {
 		try {
 			/** always assume design mode is false for FormPanels */
 			FormUtils.setDesignMode(false);
-			FormComponent fc = FormManagerUtils.openPackagedForm(formPath);
-			fc.postInitialize(this);
-			m_form_comp = fc;
-			addForm(fc, new BorderLayout(), BorderLayout.CENTER);
+			CompiledForm compiled = CompiledForms.createCompiledForm(formPath);
+			if (compiled != null) {
+				m_compiled_form = compiled.createForm();
+				setLayout(new BorderLayout());
+				add(m_compiled_form, BorderLayout.CENTER);
+			}
+			else {
+				FormComponent fc = FormManagerUtils.openPackagedForm(formPath);
+				fc.postInitialize(this);
+				m_form_comp = fc;
+				addForm(fc, new BorderLayout(), BorderLayout.CENTER);
+			}
 		} catch (Exception e) {
 			/** show an error message in the panel if we can load the form */
 			BoxLayout layout = new BoxLayout(this, BoxLayout.Y_AXIS);
@@ -182,6 +228,122 @@ public class FormPanel extends JETAPanel {
 		}
 	}
 
+	/**
+	 * FormPanel constructor. Creates a FormPanel from a form that was already
+	 * loaded with {@link FormManagerUtils#loadPackagedForm(String)}. This
+	 * constructor must be called on the event dispatch thread.
+	 * 
+	 * @throws FormException
+	 *             if the form components cannot be created.
+	 */
+	public FormPanel(FormMemento memento) throws FormException {
+		com.jeta.forms.defaults.DefaultInitializer.initialize();
+
+		boolean designmode = FormUtils.isDesignMode();
+		try {
+			/** always assume design mode is false for FormPanels */
+			FormUtils.setDesignMode(false);
+			FormComponent fc = FormManagerUtils.openForm(memento);
+			fc.postInitialize(this);
+			m_form_comp = fc;
+			addForm(fc, new BorderLayout(), BorderLayout.CENTER);
+		} finally {
+			FormUtils.setDesignMode(designmode);
+		}
+	}
+
+	/**
+	 * Loads a form in the background. The form file is read and parsed, and
+	 * the bean classes it uses are loaded and introspected on a worker
+	 * thread. Only the creation of the Swing components is done on the event
+	 * dispatch thread, so the caller's UI stays responsive while large forms
+	 * are loading. Compiled forms are created directly on the event dispatch
+	 * thread because there is nothing to parse.
+	 * 
+	 * <pre>
+	 * FormPanel.loadAsync(&quot;com/mycorp/app/gui/login/loginView.jfrm&quot;).thenAccept(panel -&gt; frame.add(panel));
+	 * </pre>
+	 * 
+	 * @param formPath
+	 *            the path to the form file. This path can be absolute or
+	 *            relative to the classpath.
+	 * @return a future that is completed on the event dispatch thread with
+	 *         the new FormPanel, or completed exceptionally with a
+	 *         FormException if the form cannot be loaded. The future is
+	 *         always completed on the event dispatch thread, whether it
+	 *         succeeds or fails, so dependent actions that are not async can
+	 *         safely update Swing components.
+	 */
+	public static CompletableFuture loadAsync(String formPath) {
+		return loadAsync(formPath, getLoader());
+	}
+
+	/**
+	 * Loads a form in the background using the given executor for the work
+	 * that does not involve Swing. See {@link #loadAsync(String)}.
+	 * 
+	 * @return CompletableFuture<FormPanel>
+	 */
+	public static CompletableFuture loadAsync(final String formPath, Executor executor) {
+		com.jeta.forms.defaults.DefaultInitializer.initialize();
+
+		final CompletableFuture result = new CompletableFuture();
+		if (CompiledForms.isCompiled(formPath)) {
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					try {
+						result.complete(new FormPanel(formPath));
+					} catch (Throwable e) {
+						result.completeExceptionally(e);
+					}
+				}
+			});
+			return result;
+		}
+
+		executor.execute(new Runnable() {
+			public void run() {
+				try {
+					final FormMemento memento = FormManagerUtils.loadPackagedForm(formPath);
+					FormManagerUtils.prepareForm(memento);
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run() {
+							try {
+								result.complete(new FormPanel(memento));
+							} catch (Throwable e) {
+								result.completeExceptionally(e);
+							}
+						}
+					});
+				} catch (final Throwable e) {
+					/** fail on the event dispatch thread as well */
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run() {
+							result.completeExceptionally(e);
+						}
+					});
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @return the default thread pool used to load forms in the background.
+	 */
+	private static synchronized Executor getLoader() {
+		if (m_loader == null) {
+			m_loader = Executors.newCachedThreadPool(new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "FormPanel.loader");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return m_loader;
+	}
+
 	/**
 	 * FormPanel constructor. Creates a FormPanel using the given FormComponent
 	 * as the content.
@@ -223,7 +385,10 @@ public class FormPanel extends JETAPanel {
 	 *         objects) contained by this form.
 	 */
 	public Iterator beanIterator(boolean nested) {
-		return new FormIterator(getFormAccessor(), nested);
+		FormAccessor accessor = getFormAccessor();
+		if (accessor == null)
+			return Collections.EMPTY_LIST.iterator();
+		return new FormIterator(accessor, nested);
 	}
 
 	/**
@@ -241,6 +406,67 @@ public class FormPanel extends JETAPanel {
 			return m_user_objects.get(objName);
 	}
 
+	/**
+	 * Locates the first component found in this form that has the given name.
+	 * The name can also be a qualified name that includes the names of the
+	 * enclosing nested forms (e.g. address.street). If the component is not
+	 * found and the form has nested forms that have not been created yet (see
+	 * {@link FormUtils#setLazyLoading(boolean)}), those forms are created and
+	 * the search is repeated.
+	 * 
+	 * @param componentName
+	 *            the name of the component to search for
+	 * @return the named component
+	 */
+	public Component getComponentByName(String componentName) {
+		if (m_form_comp != null && componentName != null) {
+			Component comp = getIndexedComponent(componentName);
+			if (comp == null && m_deferred_forms > 0 && getComponentFinder().getComponentByName(componentName) == null) {
+				if (m_form_comp.loadDeferredForms())
+					comp = getIndexedComponent(componentName);
+			}
+
+			if (comp != null)
+				return comp;
+		}
+		return super.getComponentByName(componentName);
+	}
+
+	/**
+	 * Called by a nested form in this panel when it is deferred and when it
+	 * is created. You should not call this method.
+	 * 
+	 * @param deferred
+	 *            true if the form was deferred. False if it was created.
+	 */
+	public void deferredFormChanged(boolean deferred) {
+		if (deferred)
+			m_deferred_forms++;
+		else if (m_deferred_forms > 0)
+			m_deferred_forms--;
+	}
+
+	/**
+	 * Looks up a component in the name index. Names that are used by more
+	 * than one component are left to the component finder so the result is
+	 * the same as a search of the container. The component is only returned
+	 * if it is still in this panel and still has the given name.
+	 */
+	private Component getIndexedComponent(String componentName) {
+		Component comp = getNameIndex().findComponent(componentName);
+		if (comp != null) {
+			String name = comp.getName();
+			if (name == null)
+				return null;
+
+			int pos = componentName.length() - name.length();
+			boolean matches = (pos == 0) || (pos > 0 && componentName.charAt(pos - 1) == '.');
+			if (matches && componentName.endsWith(name) && SwingUtilities.isDescendingFrom(comp, this))
+				return comp;
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the parent container that contains the top-level form in this
 	 * panel. You should rarely have to call this method. Note that a <B>better
@@ -248,6 +474,8 @@ public class FormPanel extends JETAPanel {
 	 * {@link #getFormAccessor(String)}
 	 */
 	public Container getFormContainer() {
+		if (m_form_comp == null)
+			return m_compiled_form;
 		return m_form_comp.getChildView().getFormContainer();
 	}
 
@@ -258,8 +486,11 @@ public class FormPanel extends JETAPanel {
 	 * FormLayout and/or container.
 	 * 
 	 * @return the FormAccessor associated with the topmost form in this panel.
+	 *         Null is returned if the form was created from a compiled form.
 	 */
 	public FormAccessor getFormAccessor() {
+		if (m_form_comp == null)
+			return null;
 		return m_form_comp.getChildView().getFormAccessor();
 	}
 
@@ -283,6 +514,18 @@ public class FormPanel extends JETAPanel {
 			return null;
 	}
 
+	/**
+	 * Returns an index of the named components in this form and its nested
+	 * forms. See {@link FormAccessor#getNameIndex()}
+	 * 
+	 * @return the name index for the top-most form in this panel. Null is
+	 *         returned if the form was created from a compiled form.
+	 */
+	public FormNameIndex getNameIndex() {
+		FormAccessor accessor = getFormAccessor();
+		return (accessor == null) ? null : accessor.getNameIndex();
+	}
+
 	/**
 	 * Puts the given object into the user objects map. If an object already
 	 * exists for the given name, it is overwritten. Objects can be retrieved
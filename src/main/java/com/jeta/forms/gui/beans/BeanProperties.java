@@ -124,9 +124,7 @@ public class BeanProperties {
 	 *            true if the property should be set to preferred.
 	 */
 	public void setPreferred(String propName, boolean pref) {
-		JETAPropertyDescriptor jpd = m_beaninfo.getPropertyDescriptor(propName);
-		if (jpd != null)
-			jpd.setPreferred(pref);
+		m_beaninfo.setPreferred(propName, pref);
 	}
 
 }
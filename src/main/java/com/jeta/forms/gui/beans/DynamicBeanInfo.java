@@ -35,6 +35,7 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.MethodDescriptor;
 import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.TreeMap;
@@ -46,6 +47,14 @@ import com.jeta.forms.store.properties.JETAProperty;
  * A <code>DynamicBeanInfo</code> is a BeanInfo for a Java Bean that also has
  * the ability to dynamically add and remove PropertyDescriptors for that bean.
  * 
+ * A bean info can be created as a copy of a template. The copy shares the
+ * property descriptors of the template for as long as the changes made to the
+ * copy are the same changes (in the same order) that were made to the
+ * template. The first change that differs causes the copy to build its own
+ * set of descriptors. Bean factories make the same changes for every bean
+ * they create, so in practice all beans of a given type share one set of
+ * descriptors.
+ * 
  * @author Jeff Tassin
  */
 public class DynamicBeanInfo {
@@ -60,6 +69,39 @@ public class DynamicBeanInfo {
 	 */
 	private TreeMap m_props = new TreeMap();
 
+	/**
+	 * The bean info for the Java Bean class before any properties were
+	 * registered or removed. This is used to build the descriptors for a copy
+	 * that no longer matches its template.
+	 */
+	private DynamicBeanInfo m_base;
+
+	/**
+	 * The template whose descriptors are shared by this info. Null if this info
+	 * owns m_props.
+	 */
+	private DynamicBeanInfo m_template;
+
+	/**
+	 * The list of changes (Edit objects) applied to m_base to get this info.
+	 * Null while this info shares the descriptors of a template. In that case,
+	 * the changes are the first m_shared changes of the template.
+	 */
+	private ArrayList m_edits;
+
+	/**
+	 * The number of template changes that were also made to this info while
+	 * it shares the template descriptors.
+	 */
+	private int m_shared;
+
+	/**
+	 * Change types
+	 */
+	private static final int REGISTER = 0;
+	private static final int REMOVE = 1;
+	private static final int PREFERRED = 2;
+
 	/**
 	 * Creates a <code>DynamicBeanInfo</code> instance with the specified
 	 * BeanInfo delegate.
@@ -100,7 +142,25 @@ public class DynamicBeanInfo {
 			}
 		}
 		/** this is not used in the designer */
-		removePropertyDescriptor("debugGraphicsOptions");
+		m_props.remove("debugGraphicsOptions");
+		m_base = this;
+		m_edits = new ArrayList();
+	}
+
+	/**
+	 * Creates a <code>DynamicBeanInfo</code> that is a copy of the given
+	 * template. The property descriptors are shared with the template until
+	 * this info is changed in a way that differs from the template.
+	 * 
+	 * @param template
+	 *            the bean info to copy.
+	 */
+	public DynamicBeanInfo(DynamicBeanInfo template) {
+		template.resolve();
+		m_delegate = template.m_delegate;
+		m_base = template.m_base;
+		m_props = template.m_props;
+		m_template = (template.m_template == null) ? template : template.m_template;
 	}
 
 	/**
@@ -145,6 +205,7 @@ public class DynamicBeanInfo {
 	 * @return a the property descriptor with the given name.
 	 */
 	public JETAPropertyDescriptor getPropertyDescriptor(String propName) {
+		resolve();
 		return (JETAPropertyDescriptor) m_props.get(propName);
 	}
 
@@ -155,9 +216,19 @@ public class DynamicBeanInfo {
 	 * @return a collection of JETAPropertyDescriptor objects
 	 */
 	public Collection getPropertyDescriptors() {
+		resolve();
 		return m_props.values();
 	}
 
+	/**
+	 * Returns true if this info still shares its property descriptors with the
+	 * template it was copied from.
+	 */
+	public boolean isShared() {
+		resolve();
+		return m_template != null;
+	}
+
 	/**
 	 * Registers a property descriptor for this info object. This allows us to
 	 * add properties dynamically.
@@ -168,7 +239,7 @@ public class DynamicBeanInfo {
 	 */
 	void register(JETAPropertyDescriptor prop) {
 		if (prop != null) {
-			m_props.put(prop.getName(), prop);
+			edit(REGISTER, prop.getName(), prop, prop.isPreferred());
 		}
 	}
 
@@ -181,6 +252,105 @@ public class DynamicBeanInfo {
 	 *            the name of the property descriptor to remove.
 	 */
 	void removePropertyDescriptor(String propName) {
-		m_props.remove(propName);
+		edit(REMOVE, propName, null, false);
+	}
+
+	/**
+	 * Sets the preferred flag for the property descriptor with the given name.
+	 */
+	void setPreferred(String propName, boolean pref) {
+		edit(PREFERRED, propName, null, pref);
+	}
+
+	/**
+	 * Applies a change to this info. If this info shares the descriptors of a
+	 * template and the template had the same change at this position, then
+	 * there is nothing to do except count it. Otherwise, we need our own copy
+	 * of the descriptors.
+	 */
+	private void edit(int type, String name, JETAPropertyDescriptor descriptor, boolean pref) {
+		if (m_template != null) {
+			if (m_shared < m_template.m_edits.size() && ((Edit) m_template.m_edits.get(m_shared)).matches(type, name, descriptor, pref)) {
+				m_shared++;
+				return;
+			}
+			copyOnWrite();
+		}
+		Edit edit = new Edit(type, name, descriptor, pref);
+		m_edits.add(edit);
+		edit.apply(m_props);
+	}
+
+	/**
+	 * Stops sharing the template descriptors if this info has not (yet) made
+	 * all of the changes made to the template. Called before the descriptors
+	 * are read.
+	 */
+	private void resolve() {
+		if (m_template != null && m_shared != m_template.m_edits.size())
+			copyOnWrite();
+	}
+
+	/**
+	 * Builds a private set of descriptors by applying the changes made to this
+	 * info to the base descriptors for the bean class. Up to now, those are the
+	 * changes this info shared with the template.
+	 */
+	private void copyOnWrite() {
+		m_props = new TreeMap(m_base.m_props);
+		m_edits = new ArrayList(m_template.m_edits.subList(0, m_shared));
+		m_template = null;
+		m_shared = 0;
+		for (int index = 0; index < m_edits.size(); index++) {
+			((Edit) m_edits.get(index)).apply(m_props);
+		}
+	}
+
+	/**
+	 * A single change made to the property descriptors.
+	 */
+	private static class Edit {
+		private int m_type;
+		private String m_name;
+		private JETAPropertyDescriptor m_descriptor;
+		private boolean m_preferred;
+
+		Edit(int type, String name, JETAPropertyDescriptor descriptor, boolean pref) {
+			m_type = type;
+			m_name = name;
+			m_descriptor = descriptor;
+			m_preferred = pref;
+		}
+
+		/**
+		 * Applies this change to the given descriptors
+		 */
+		void apply(TreeMap props) {
+			if (m_type == REGISTER) {
+				props.put(m_name, m_descriptor);
+			}
+			else if (m_type == REMOVE) {
+				props.remove(m_name);
+			}
+			else {
+				JETAPropertyDescriptor jpd = (JETAPropertyDescriptor) props.get(m_name);
+				if (jpd != null)
+					jpd.setPreferred(m_preferred);
+			}
+		}
+
+		/**
+		 * @return true if this change has the same effect as the given change.
+		 */
+		boolean matches(int type, String name, JETAPropertyDescriptor descriptor, boolean pref) {
+			if (m_type != type || m_preferred != pref || !m_name.equals(name))
+				return false;
+
+			if (m_type == REGISTER) {
+				return m_descriptor.getClass() == descriptor.getClass() && m_descriptor.getPropertyType() == descriptor.getPropertyType()
+						&& m_descriptor.isTransient() == descriptor.isTransient();
+			}
+			return true;
+		}
 	}
 }
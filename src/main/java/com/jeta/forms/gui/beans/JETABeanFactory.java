@@ -149,10 +149,11 @@ public class JETABeanFactory {
 	}
 
 	/**
-	 * Removes all custom factories from the cache
+	 * Removes all custom factories and cached bean information from the cache
 	 */
 	public static void clearCustomFactories() {
 		m_custom_factories.clear();
+		JComponentBeanFactory.clearBeanInfoCache();
 	}
 
 	/**
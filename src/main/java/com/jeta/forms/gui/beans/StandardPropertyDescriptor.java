@@ -35,6 +35,7 @@ import java.lang.reflect.Method;
 
 import com.jeta.forms.gui.common.FormException;
 import com.jeta.forms.logger.FormsLogger;
+import com.jeta.forms.store.properties.IconProperty;
 
 /**
  * A <code>StandardPropertyDescriptor</code> is basically just a proxy for a
@@ -48,12 +49,6 @@ public class StandardPropertyDescriptor implements JETAPropertyDescriptor {
 	 */
 	private PropertyDescriptor m_delegate;
 
-	/**
-	 * A simple value array so we don't have to re-instantiate every time we
-	 * call setPropertyValue.
-	 */
-	private Object[] m_set_value = new Object[1];
-
 	/**
 	 * Creates a <code>StandardPropertyDescriptor</code> instance with the
 	 * specified PropertyDescriptor delegate.
@@ -189,8 +184,9 @@ public class StandardPropertyDescriptor implements JETAPropertyDescriptor {
 		try {
 			Method setter = m_delegate.getWriteMethod();
 			if (setter != null) {
-				m_set_value[0] = value;
-				setter.invoke(bean.getDelegate(), m_set_value);
+				setter.invoke(bean.getDelegate(), new Object[] { value });
+				if (value instanceof IconProperty)
+					((IconProperty) value).installOn(bean.getDelegate());
 			}
 		} catch (Exception e) {
 			FormsLogger.debug("failed to set property: " + getName());
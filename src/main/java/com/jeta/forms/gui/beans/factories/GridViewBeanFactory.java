@@ -51,6 +51,11 @@ import com.jeta.forms.store.properties.effects.PaintProperty;
  * @author Jeff Tassin
  */
 public class GridViewBeanFactory implements BeanFactory {
+	/**
+	 * The bean info from the last form created by this factory. See
+	 * {@link JComponentBeanFactory}
+	 */
+	private DynamicBeanInfo m_template;
 
 	/**
 	 * BeanFactory implementation. Creates a JETABean and if specified, its
@@ -75,10 +80,13 @@ public class GridViewBeanFactory implements BeanFactory {
 			comp.setName(compName);
 		}
 
-		DynamicBeanInfo beaninfo = JComponentBeanFactory.createBeanInfo(GridView.class);
+		DynamicBeanInfo template = m_template;
+		DynamicBeanInfo beaninfo = (template == null) ? JComponentBeanFactory.createBeanInfo(GridView.class) : new DynamicBeanInfo(template);
 		/** now define the properties for a form */
 		BeanProperties default_props = new BeanProperties(beaninfo);
 		defineProperties(default_props);
+		if (!beaninfo.isShared())
+			m_template = beaninfo;
 		JETABean bean = new JETABean(comp, default_props);
 		return bean;
 	}
@@ -32,6 +32,7 @@ package com.jeta.forms.gui.beans.factories;
 import java.awt.Component;
 import java.beans.BeanInfo;
 import java.beans.Introspector;
+import java.util.HashMap;
 
 import com.jeta.forms.gui.beans.BeanProperties;
 import com.jeta.forms.gui.beans.DynamicBeanInfo;
@@ -73,6 +74,20 @@ public class JComponentBeanFactory implements BeanFactory {
 	 */
 	private boolean m_scrollable = false;
 
+	/**
+	 * The bean info from the last bean created by this factory. New beans
+	 * start as a copy of this info, so beans of the same type share their
+	 * property descriptors. Factories are shared by all threads that create
+	 * forms, so this is volatile to safely publish the info.
+	 */
+	private volatile DynamicBeanInfo m_template;
+
+	/**
+	 * m_beaninfos<Class,DynamicBeanInfo> A cache of bean info templates for
+	 * bean classes. The templates are never modified.
+	 */
+	private static HashMap m_beaninfos = new HashMap();
+
 	/**
 	 * Creates a <code>JComponentBeanFactory</code> instance with the
 	 * specified Java Bean class object.
@@ -108,16 +123,20 @@ public class JComponentBeanFactory implements BeanFactory {
 			comp.setName(compName);
 		}
 
-		DynamicBeanInfo beaninfo = createBeanInfo(m_comp_class);
+		DynamicBeanInfo template = m_template;
+		DynamicBeanInfo beaninfo = (template == null) ? createBeanInfo(m_comp_class) : new DynamicBeanInfo(template);
 		BeanProperties default_props = new BeanProperties(beaninfo);
 		defineProperties(default_props);
+		if (!beaninfo.isShared())
+			m_template = beaninfo;
 		return new JETABean(comp, default_props);
 	}
 
 	/**
 	 * Creates a dynamic bean info object for the given class. A dynamic bean
 	 * info object contains both standard and custom property descriptors for a
-	 * Java bean.
+	 * Java bean. The returned object is a copy of a cached template, so it can
+	 * be modified by the caller.
 	 * 
 	 * @param compClass
 	 *            the class object for the component whose bean information to
@@ -126,8 +145,18 @@ public class JComponentBeanFactory implements BeanFactory {
 	 */
 	public static DynamicBeanInfo createBeanInfo(Class compClass) throws FormException {
 		try {
-			BeanInfo info = Introspector.getBeanInfo(compClass);
-			return new DynamicBeanInfo(info);
+			DynamicBeanInfo template;
+			synchronized (m_beaninfos) {
+				template = (DynamicBeanInfo) m_beaninfos.get(compClass);
+			}
+			if (template == null) {
+				BeanInfo info = Introspector.getBeanInfo(compClass);
+				template = new DynamicBeanInfo(info);
+				synchronized (m_beaninfos) {
+					m_beaninfos.put(compClass, template);
+				}
+			}
+			return new DynamicBeanInfo(template);
 		} catch (Exception e) {
 			FormsLogger.severe(e);
 			if (e instanceof FormException)
@@ -137,6 +166,16 @@ public class JComponentBeanFactory implements BeanFactory {
 		}
 	}
 
+	/**
+	 * Removes all cached bean info templates. This must be called when the
+	 * imported beans are reloaded.
+	 */
+	public static void clearBeanInfoCache() {
+		synchronized (m_beaninfos) {
+			m_beaninfos.clear();
+		}
+	}
+
 	/**
 	 * Returns the class for the bean associated with this factory.
 	 * 
@@ -209,6 +248,7 @@ public class JComponentBeanFactory implements BeanFactory {
 	 */
 	public void setBeanClass(Class compClass) {
 		m_comp_class = compClass;
+		m_template = null;
 		try {
 			String name = compClass.getName();
 			int pos = name.lastIndexOf(".");
@@ -231,5 +271,6 @@ public class JComponentBeanFactory implements BeanFactory {
 	 */
 	public void setScrollable(boolean scrollable) {
 		m_scrollable = scrollable;
+		m_template = null;
 	}
 }
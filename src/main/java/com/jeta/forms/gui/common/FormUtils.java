@@ -169,6 +169,32 @@ public class FormUtils {
 		return (Boolean.TRUE.equals(result));
 	}
 
+	/**
+	 * Returns true if nested and linked forms should be created the first
+	 * time they are shown instead of when the parent form is opened. This
+	 * only applies at runtime. See {@link #setLazyLoading(boolean)}
+	 */
+	public static boolean isLazyLoading() {
+		Boolean result = (Boolean) JETARegistry.lookup("AbeilleForms.lazyLoading");
+		return (Boolean.TRUE.equals(result));
+	}
+
+	/**
+	 * Enables or disables lazy loading of nested forms. When enabled, nested
+	 * and linked forms are added to their parent as empty placeholders that
+	 * are sized from the form's row and column specs. The components for the
+	 * form are created the first time the placeholder is laid out or shown
+	 * while visible, or when a component in the form is looked up by name
+	 * from the FormPanel. In practice, this defers the forms in tabs that have
+	 * not been selected. Lazy loading is off by default.
+	 * 
+	 * @param lazy
+	 *            true to create nested forms on demand.
+	 */
+	public static void setLazyLoading(boolean lazy) {
+		JETARegistry.rebind("AbeilleForms.lazyLoading", Boolean.valueOf(lazy));
+	}
+
 	/**
 	 * @return true if the units are PX, PT, or DLU
 	 */
@@ -29,11 +29,19 @@
 
 package com.jeta.forms.gui.common;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.jeta.forms.logger.FormsLogger;
 
 /**
  * Responsible for instantiating imported beans.
@@ -53,6 +61,19 @@ public class URLClassLoaderHelper {
 
 	private URLClassLoader m_url_loader;
 
+	/**
+	 * The names of all classes found in the jars and directories of this
+	 * loader. Null until the index is built.
+	 */
+	private HashSet m_class_index;
+
+	/**
+	 * Set to false if one or more urls could not be indexed (e.g. remote
+	 * urls). In this case, a class that is not in the index might still be
+	 * found by the underlying class loader.
+	 */
+	private boolean m_index_complete = true;
+
 	/**
 	 * ctor
 	 */
@@ -77,12 +98,129 @@ public class URLClassLoaderHelper {
 		m_url_list.add(url);
 		m_urls = null;
 		m_url_loader = null;
+		m_class_index = null;
+	}
+
+	/**
+	 * Builds the class name index for the jars and directories in this loader
+	 * if it has not already been built. The index is built only once, so
+	 * lookups don't need to scan the jars.
+	 */
+	public synchronized void buildIndex() {
+		if (m_class_index != null)
+			return;
+
+		HashSet index = new HashSet();
+		boolean complete = true;
+		Iterator iter = m_url_list.iterator();
+		while (iter.hasNext()) {
+			URL url = (URL) iter.next();
+			try {
+				if ("file".equals(url.getProtocol())) {
+					File file = new File(url.toURI());
+					if (file.isDirectory())
+						indexDirectory(file, "", index);
+					else if (file.isFile())
+						indexJar(file, index);
+				}
+				else {
+					complete = false;
+				}
+			} catch (Exception e) {
+				FormsLogger.debug(e);
+				complete = false;
+			}
+		}
+		m_index_complete = complete;
+		m_class_index = index;
+	}
+
+	/**
+	 * Adds the names of all classes in the given directory tree to the index
+	 */
+	private static void indexDirectory(File dir, String pkg, HashSet names) {
+		File[] files = dir.listFiles();
+		if (files == null)
+			return;
+
+		for (int index = 0; index < files.length; index++) {
+			File file = files[index];
+			String name = file.getName();
+			if (file.isDirectory())
+				indexDirectory(file, pkg + name + ".", names);
+			else if (name.endsWith(".class"))
+				names.add(pkg + name.substring(0, name.length() - ".class".length()));
+		}
+	}
+
+	/**
+	 * Adds the names of all classes in the given jar file to the index
+	 */
+	private static void indexJar(File file, HashSet names) throws IOException {
+		JarFile jar = new JarFile(file);
+		try {
+			Enumeration entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = (JarEntry) entries.nextElement();
+				String name = entry.getName();
+				if (!entry.isDirectory() && name.endsWith(".class"))
+					names.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+			}
+		} finally {
+			jar.close();
+		}
+	}
+
+	/**
+	 * @return true if the given class is in one of the jars or directories of
+	 *         this loader. If the index is incomplete, this method returns
+	 *         false only when the class might still be found by the
+	 *         underlying class loader.
+	 */
+	public synchronized boolean isIndexed(String className) {
+		buildIndex();
+		return m_class_index.contains(className);
+	}
+
+	/**
+	 * @return true if every url in this loader could be indexed
+	 */
+	public synchronized boolean isIndexComplete() {
+		buildIndex();
+		return m_index_complete;
+	}
+
+	/**
+	 * Loads a class from the jars and directories of this loader. Unlike
+	 * getClass, this method does not throw when the class is not found.
+	 * 
+	 * @return the class for the given name or null if the class is not in
+	 *         any of the jars or directories of this loader.
+	 */
+	public Class findClass(String className) {
+		try {
+			if (m_url_list.isEmpty())
+				return null;
+
+			if (!isIndexed(className) && isIndexComplete())
+				return null;
+
+			return getClassLoader().loadClass(className);
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (Exception e) {
+			FormsLogger.debug(e);
+			return null;
+		} catch (LinkageError e) {
+			FormsLogger.debug(e);
+			return null;
+		}
 	}
 
 	/**
 	 * @return the underlying class loader
 	 */
-	public ClassLoader getClassLoader() throws FormException {
+	public synchronized ClassLoader getClassLoader() throws FormException {
 		if (m_urls == null)
 			m_urls = (URL[]) m_url_list.toArray(new URL[0]);
 
@@ -99,7 +237,7 @@ public class URLClassLoaderHelper {
 		try {
 			getClassLoader();
 
-			if (m_urls.length == 0) {
+			if (m_urls.length == 0 || (!isIndexed(className) && isIndexComplete())) {
 				Class c = Class.forName(className);
 				return c;
 			}
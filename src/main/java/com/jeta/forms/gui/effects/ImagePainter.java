@@ -38,6 +38,7 @@ import javax.swing.Icon;
 import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.store.properties.ImageProperty;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
 import com.jeta.open.resources.AppResourceLoader;
 import com.jeta.open.resources.ResourceLoader;
 
@@ -52,6 +53,11 @@ import com.jeta.open.resources.ResourceLoader;
  * @author Jeff Tassin
  */
 public class ImagePainter implements Painter {
+	/**
+	 * Handles to the registered services used by this class
+	 */
+	private static final ServiceHandle m_resource_loader = JETARegistry.getHandle(ResourceLoader.COMPONENT_ID);
+
 	/**
 	 * The icon that is rendered when paint is called.
 	 */
@@ -108,7 +114,7 @@ public class ImagePainter implements Painter {
 				try {
 					/** use a place holder icon if the given icon is null */
 					if (FormUtils.isDesignMode()) {
-						ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
+						ResourceLoader loader = (ResourceLoader) m_resource_loader.get();
 						FormUtils.safeAssert(loader != null);
 						if (loader != null) {
 							m_design_icon = loader.loadImage("general/16x16/portrait.png");
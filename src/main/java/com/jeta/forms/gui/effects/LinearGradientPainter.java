@@ -76,6 +76,21 @@ public class LinearGradientPainter implements Painter {
 	 */
 	private LookAndFeel m_look_and_feel;
 
+	/**
+	 * Identifies the rendered gradient in the PaintTileCache.
+	 */
+	private PaintTileCache.TileKey m_tile_key;
+
+	/**
+	 * The gradient values used to create the cached paint. The property can be
+	 * changed in place (e.g. a ColorProperty that follows the look and feel),
+	 * so we compare these values on every paint.
+	 */
+	private Color m_start_color;
+	private Color m_end_color;
+	private int m_direction;
+	private float m_magnitude;
+
 	/**
 	 * Creates a <code>LinearGradientProperty</code> instance with no paint
 	 * attributes.
@@ -160,6 +175,44 @@ public class LinearGradientPainter implements Painter {
 		return paint;
 	}
 
+	/**
+	 * Returns true if the gradient values differ from the values used to
+	 * create the cached paint. The current values are recorded.
+	 */
+	private boolean valuesChanged(GradientProperty gp) {
+		Color startcolor = gp.getStartColor().getColor();
+		Color endcolor = gp.getEndColor().getColor();
+		if (startcolor == null)
+			startcolor = Color.white;
+		if (endcolor == null)
+			endcolor = Color.white;
+
+		boolean changed = !startcolor.equals(m_start_color) || !endcolor.equals(m_end_color) || gp.getDirection() != m_direction
+				|| gp.getMagnitude() != m_magnitude;
+		m_start_color = startcolor;
+		m_end_color = endcolor;
+		m_direction = gp.getDirection();
+		m_magnitude = gp.getMagnitude();
+		return changed;
+	}
+
+	/**
+	 * Creates the key for the tile cache. The gradient is defined relative to
+	 * the paint area, so the tile depends only on the size of the area.
+	 */
+	private PaintTileCache.TileKey createTileKey(Rectangle rect, GradientProperty gp) {
+		Color startcolor = gp.getStartColor().getColor();
+		Color endcolor = gp.getEndColor().getColor();
+		if (startcolor == null)
+			startcolor = Color.white;
+		if (endcolor == null)
+			endcolor = Color.white;
+
+		Object[] values = new Object[] { LinearGradientPainter.class, startcolor, endcolor, Integer.valueOf(gp.getDirection()), Float.valueOf(gp.getMagnitude()),
+				m_look_and_feel };
+		return new PaintTileCache.TileKey(values, rect.width, rect.height);
+	}
+
 	/**
 	 * Painter Implementation. Paints a linear gradient on a given graphics
 	 * context.
@@ -183,18 +236,20 @@ public class LinearGradientPainter implements Painter {
 			m_look_and_feel = lf;
 		}
 
-		if (m_cached_paint == null || !rect.equals(m_last_rect)) {
+		if (valuesChanged(m_gradient_prop) || m_cached_paint == null || !rect.equals(m_last_rect)) {
 			m_last_rect.setBounds(rect.x, rect.y, rect.width, rect.height);
 			m_cached_paint = createPaint(rect, m_gradient_prop);
+			m_tile_key = createTileKey(rect, m_gradient_prop);
 		}
 
-		g2.setPaint(m_cached_paint);
-
 		Rectangle clip_rect = g.getClipBounds();
 		if (rect.intersects(clip_rect)) {
-			Rectangle irect = rect.intersection(clip_rect);
-			g.fillRect(irect.x, irect.y, irect.width, irect.height);
-			g2.setPaint(old_paint);
+			if (!PaintTileCache.fill(g2, rect, m_tile_key, m_cached_paint)) {
+				g2.setPaint(m_cached_paint);
+				Rectangle irect = rect.intersection(clip_rect);
+				g.fillRect(irect.x, irect.y, irect.width, irect.height);
+				g2.setPaint(old_paint);
+			}
 		}
 	}
 
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.effects;
+
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A process-wide cache of pre-rendered fill tiles. Rendering a gradient is
+ * expensive because every pixel is computed by the Paint. Forms often paint
+ * many cells or panels with the same gradient and size, so painters render
+ * the fill once into an image and then draw the image.
+ * 
+ * Tiles are keyed by a TileKey that the painter builds from the values that
+ * affect the rendered pixels (colors, direction, size, look and feel, etc).
+ * The cache is bounded by the total number of pixels held and evicts the
+ * least recently used tiles first. Tiles are also held by soft references so
+ * they can be reclaimed when memory is low.
+ * 
+ * Tiles are only used when the graphics transform is a whole pixel
+ * translation. In all other cases (e.g. a scaled graphics context) the
+ * painter renders the fill directly.
+ * 
+ * @author Jeff Tassin
+ */
+public class PaintTileCache {
+	/**
+	 * The default maximum number of pixels held by the cache (about 16 MB).
+	 */
+	public static final int DEFAULT_MAX_PIXELS = 4 * 1024 * 1024;
+
+	/**
+	 * The maximum number of pixels held by the cache.
+	 */
+	private static int m_max_pixels = DEFAULT_MAX_PIXELS;
+
+	/**
+	 * The number of pixels currently held by the cache
+	 */
+	private static int m_pixels = 0;
+
+	/**
+	 * An access ordered map of keys to tiles m_tiles<TileKey,TileEntry>
+	 */
+	private static LinkedHashMap m_tiles = new LinkedHashMap(16, 0.75f, true);
+
+	/**
+	 * Flag that indicates if the cache is enabled.
+	 */
+	private static boolean m_enabled = true;
+
+	/**
+	 * Cache statistics
+	 */
+	private static long m_hits = 0;
+	private static long m_misses = 0;
+
+	/**
+	 * Creates a <code>PaintTileCache</code> instance. All methods are static.
+	 */
+	private PaintTileCache() {
+
+	}
+
+	/**
+	 * Removes all tiles from the cache. The hit and miss counters are not
+	 * changed.
+	 */
+	public static synchronized void clear() {
+		m_tiles.clear();
+		m_pixels = 0;
+	}
+
+	/**
+	 * Fills the given rectangle using a cached tile. If the tile is not in the
+	 * cache, it is rendered with the given paint and added to the cache.
+	 * 
+	 * @param g2
+	 *            the graphics context
+	 * @param rect
+	 *            the area to fill
+	 * @param key
+	 *            identifies the tile. The key must include everything that
+	 *            affects the rendered pixels, including the rect size.
+	 * @param paint
+	 *            the paint used to render the tile. The paint is defined
+	 *            relative to rect.
+	 * @return true if the rect was filled. False is returned if the cache can't
+	 *         be used for this fill. In that case, the caller must render the
+	 *         fill directly.
+	 */
+	public static boolean fill(Graphics2D g2, Rectangle rect, TileKey key, Paint paint) {
+		if (key == null || rect.width <= 0 || rect.height <= 0 || !isEnabled())
+			return false;
+
+		AffineTransform tx = g2.getTransform();
+		if ((tx.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0)
+			return false;
+		if (tx.getTranslateX() != Math.floor(tx.getTranslateX()) || tx.getTranslateY() != Math.floor(tx.getTranslateY()))
+			return false;
+
+		int pixels = rect.width * rect.height;
+		if (pixels > getMaxPixels() / 4)
+			return false;
+
+		BufferedImage tile = get(key);
+		if (tile == null) {
+			int transparency = (paint.getTransparency() == Transparency.OPAQUE) ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+			tile = g2.getDeviceConfiguration().createCompatibleImage(rect.width, rect.height, transparency);
+			Graphics2D tg = tile.createGraphics();
+			tg.translate(-rect.x, -rect.y);
+			tg.setPaint(paint);
+			tg.fillRect(rect.x, rect.y, rect.width, rect.height);
+			tg.dispose();
+			put(key, tile, pixels);
+		}
+		g2.drawImage(tile, rect.x, rect.y, null);
+		return true;
+	}
+
+	/**
+	 * Returns the cached tile for the given key or null if it is not in the
+	 * cache.
+	 */
+	private static synchronized BufferedImage get(TileKey key) {
+		TileEntry entry = (TileEntry) m_tiles.get(key);
+		if (entry != null) {
+			BufferedImage tile = (BufferedImage) entry.m_tile.get();
+			if (tile != null) {
+				m_hits++;
+				return tile;
+			}
+			m_tiles.remove(key);
+			m_pixels -= entry.m_pixels;
+		}
+		m_misses++;
+		return null;
+	}
+
+	/**
+	 * Returns the number of successful lookups since the counters were last
+	 * reset.
+	 */
+	public static synchronized long getHitCount() {
+		return m_hits;
+	}
+
+	/**
+	 * Returns the fraction of lookups that found a tile in the cache (0.0 to
+	 * 1.0) since the counters were last reset.
+	 */
+	public static synchronized double getHitRate() {
+		long total = m_hits + m_misses;
+		return (total == 0) ? 0.0 : ((double) m_hits / (double) total);
+	}
+
+	/**
+	 * Returns the maximum number of pixels held by this cache.
+	 */
+	public static synchronized int getMaxPixels() {
+		return m_max_pixels;
+	}
+
+	/**
+	 * Returns the number of failed lookups since the counters were last reset.
+	 */
+	public static synchronized long getMissCount() {
+		return m_misses;
+	}
+
+	/**
+	 * Returns the number of pixels currently held by this cache.
+	 */
+	public static synchronized int getPixelCount() {
+		return m_pixels;
+	}
+
+	/**
+	 * Returns true if the cache is enabled.
+	 */
+	public static synchronized boolean isEnabled() {
+		return m_enabled;
+	}
+
+	/**
+	 * Adds a tile to the cache and evicts the least recently used tiles if the
+	 * cache is full.
+	 */
+	private static synchronized void put(TileKey key, BufferedImage tile, int pixels) {
+		TileEntry old = (TileEntry) m_tiles.put(key, new TileEntry(tile, pixels));
+		if (old != null)
+			m_pixels -= old.m_pixels;
+		m_pixels += pixels;
+		trim();
+	}
+
+	/**
+	 * Resets the hit and miss counters.
+	 */
+	public static synchronized void resetStatistics() {
+		m_hits = 0;
+		m_misses = 0;
+	}
+
+	/**
+	 * Enables or disables the cache. Disabling the cache also clears it.
+	 */
+	public static synchronized void setEnabled(boolean enabled) {
+		m_enabled = enabled;
+		if (!enabled)
+			clear();
+	}
+
+	/**
+	 * Sets the maximum number of pixels held by this cache. If the cache
+	 * currently holds more, the least recently used tiles are evicted.
+	 */
+	public static synchronized void setMaxPixels(int maxPixels) {
+		m_max_pixels = Math.max(0, maxPixels);
+		trim();
+	}
+
+	/**
+	 * Returns the number of tiles currently in the cache.
+	 */
+	public static synchronized int size() {
+		return m_tiles.size();
+	}
+
+	/**
+	 * Evicts the least recently used tiles until the cache is within its
+	 * limit.
+	 */
+	private static void trim() {
+		Iterator iter = m_tiles.values().iterator();
+		while (m_pixels > m_max_pixels && iter.hasNext()) {
+			TileEntry entry = (TileEntry) iter.next();
+			m_pixels -= entry.m_pixels;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Identifies a tile in the cache. Painters create a key from the values
+	 * that affect the rendered tile.
+	 */
+	public static final class TileKey {
+		private Object[] m_values;
+		private int m_width;
+		private int m_height;
+		private int m_hash;
+
+		/**
+		 * Creates a <code>TileKey</code> instance.
+		 * 
+		 * @param values
+		 *            the values that define the fill. These objects must
+		 *            implement equals and hashCode and must not be modified.
+		 * @param width
+		 *            the width of the tile
+		 * @param height
+		 *            the height of the tile
+		 */
+		public TileKey(Object[] values, int width, int height) {
+			m_values = values;
+			m_width = width;
+			m_height = height;
+			m_hash = Arrays.hashCode(values) * 31 * 31 + width * 31 + height;
+		}
+
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (!(obj instanceof TileKey))
+				return false;
+
+			TileKey key = (TileKey) obj;
+			return m_hash == key.m_hash && m_width == key.m_width && m_height == key.m_height && Arrays.equals(m_values, key.m_values);
+		}
+
+		public int hashCode() {
+			return m_hash;
+		}
+	}
+
+	/**
+	 * A rendered tile and its size in pixels.
+	 */
+	private static class TileEntry {
+		private SoftReference m_tile;
+		private int m_pixels;
+
+		TileEntry(BufferedImage tile, int pixels) {
+			m_tile = new SoftReference(tile);
+			m_pixels = pixels;
+		}
+	}
+}
@@ -76,11 +76,26 @@ public class RadialGradientPainter implements Painter {
 	 */
 	private LookAndFeel m_look_and_feel;
 
+	/**
+	 * Identifies the rendered gradient in the PaintTileCache.
+	 */
+	private PaintTileCache.TileKey m_tile_key;
+
 	/**
 	 * Flag that determines how the radius of this gradient is calculated
 	 */
 	private int m_radius_type = SQUARE_BASED;
 
+	/**
+	 * The gradient values used to create the cached paint. The property can be
+	 * changed in place (e.g. a ColorProperty that follows the look and feel),
+	 * so we compare these values on every paint.
+	 */
+	private Color m_start_color;
+	private Color m_end_color;
+	private int m_position;
+	private int m_magnitude;
+
 	/**
 	 * The radius is calculated based on the distance from the center of a
 	 * rectangle to its corners or sides.
@@ -193,6 +208,43 @@ public class RadialGradientPainter implements Painter {
 		return paint;
 	}
 
+	/**
+	 * Returns true if the gradient values differ from the values used to
+	 * create the cached paint. The current values are recorded.
+	 */
+	private boolean valuesChanged(RadialGradientProperty gp) {
+		Color startcolor = gp.getStartColor().getColor();
+		Color endcolor = gp.getEndColor().getColor();
+		boolean changed = !equals(startcolor, m_start_color) || !equals(endcolor, m_end_color) || gp.getPosition() != m_position
+				|| gp.getMagnitude() != m_magnitude;
+		m_start_color = startcolor;
+		m_end_color = endcolor;
+		m_position = gp.getPosition();
+		m_magnitude = gp.getMagnitude();
+		return changed;
+	}
+
+	private static boolean equals(Color c1, Color c2) {
+		return c1 == null ? c2 == null : c1.equals(c2);
+	}
+
+	/**
+	 * Creates the key for the tile cache. The gradient is defined relative to
+	 * the paint area, so the tile depends only on the size of the area. The
+	 * exception is the TOP_CENTER and BOTTOM_CENTER positions where the center
+	 * x coordinate does not include the x origin of the area.
+	 */
+	private PaintTileCache.TileKey createTileKey(Rectangle rect, RadialGradientProperty gp) {
+		int position = gp.getPosition();
+		int offset = 0;
+		if (position == RadialGradientProperty.TOP_CENTER || position == RadialGradientProperty.BOTTOM_CENTER)
+			offset = rect.x;
+
+		Object[] values = new Object[] { RadialGradientPainter.class, gp.getStartColor().getColor(), gp.getEndColor().getColor(), Integer.valueOf(position),
+				Integer.valueOf(gp.getMagnitude()), Integer.valueOf(m_radius_type), Integer.valueOf(offset), m_look_and_feel };
+		return new PaintTileCache.TileKey(values, rect.width, rect.height);
+	}
+
 	/**
 	 * Painter implementation. Paints a radial gradient on a given graphics
 	 * context.
@@ -216,21 +268,21 @@ public class RadialGradientPainter implements Painter {
 			m_look_and_feel = lf;
 		}
 
-		if (m_cached_paint == null || !rect.equals(m_last_rect)) {
+		if (valuesChanged(m_gradient_prop) || m_cached_paint == null || !rect.equals(m_last_rect)) {
 			m_last_rect.setBounds(rect.x, rect.y, rect.width, rect.height);
 			m_cached_paint = createPaint(rect, m_gradient_prop);
+			m_tile_key = createTileKey(rect, m_gradient_prop);
 		}
 
-		g2.setPaint(m_cached_paint);
-
 		Rectangle clip_rect = g.getClipBounds();
 		if (rect.intersects(clip_rect)) {
-			Rectangle irect = rect.intersection(clip_rect);
-			g.fillRect(irect.x, irect.y, irect.width, irect.height);
-			g2.setPaint(old_paint);
+			if (!PaintTileCache.fill(g2, rect, m_tile_key, m_cached_paint)) {
+				g2.setPaint(m_cached_paint);
+				Rectangle irect = rect.intersection(clip_rect);
+				g.fillRect(irect.x, irect.y, irect.width, irect.height);
+				g2.setPaint(old_paint);
+			}
 		}
-
-		g2.setPaint(old_paint);
 	}
 
 	/**
@@ -253,6 +305,7 @@ public class RadialGradientPainter implements Painter {
 	 *            the radius type to set.
 	 */
 	public void setRadiusType(int rtype) {
+		m_cached_paint = null;
 		m_radius_type = rtype;
 	}
 }
@@ -66,6 +66,23 @@ public class TexturePainter implements Painter {
 	 */
 	private Rectangle m_last_rect;
 
+	/**
+	 * Identifies the rendered texture in the PaintTileCache.
+	 */
+	private PaintTileCache.TileKey m_tile_key;
+
+	/**
+	 * The paint area translated to the origin. The texture is anchored at the
+	 * top left corner of the paint area.
+	 */
+	private Rectangle m_tile_rect = new Rectangle();
+
+	/**
+	 * The image used to create the cached paint. The texture property can be
+	 * changed in place, so we compare the image on every paint.
+	 */
+	private BufferedImage m_image;
+
 	/**
 	 * Creates a <code>TexturePainter</code> instance with no paint
 	 * attributes.
@@ -113,15 +130,21 @@ public class TexturePainter implements Painter {
 		Graphics2D g2 = (Graphics2D) g;
 		Paint old_paint = g2.getPaint();
 
-		if (m_cached_paint == null || !rect.equals(m_last_rect)) {
-			m_last_rect = rect;
+		BufferedImage bi = m_texture_prop.getBufferedImage();
+		if (m_cached_paint == null || bi != m_image || !rect.equals(m_last_rect)) {
+			m_last_rect = new Rectangle(rect);
+			m_image = bi;
 			m_cached_paint = createPaint(rect, m_texture_prop);
+			m_tile_key = new PaintTileCache.TileKey(new Object[] { TexturePainter.class, bi }, rect.width, rect.height);
 		}
-		g2.setPaint(m_cached_paint);
 		g2.translate(rect.x, rect.y);
-		g.fillRect(0, 0, rect.width, rect.height);
+		m_tile_rect.setBounds(0, 0, rect.width, rect.height);
+		if (!PaintTileCache.fill(g2, m_tile_rect, m_tile_key, m_cached_paint)) {
+			g2.setPaint(m_cached_paint);
+			g.fillRect(0, 0, rect.width, rect.height);
+			g2.setPaint(old_paint);
+		}
 		g2.translate(-rect.x, -rect.y);
-		g2.setPaint(old_paint);
 	}
 
 	/**
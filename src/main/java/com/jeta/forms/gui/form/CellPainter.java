@@ -38,7 +38,6 @@ import java.awt.Rectangle;
 import javax.swing.JPanel;
 
 import com.jeta.forms.gui.effects.Painter;
-import com.jeta.forms.store.properties.effects.PaintProperty;
 
 /**
  * This class is a Swing component that paints fill effects for cells in the
@@ -165,21 +164,18 @@ public class CellPainter extends JPanel {
 
 		for (int row = min_row; row <= max_row; row++) {
 			for (int col = min_col; col <= max_col; col++) {
-				PaintProperty pp = m_view.getPaintProperty(col, row);
-				if (pp != null) {
-					Painter painter = pp.createPainter();
-					if (painter != null) {
-						GridComponent gc = m_view.getGridComponent(col, row);
-						if (gc == null) {
-							m_gc_rect.setBounds(m_view.getColumnOrgX(col), m_view.getRowOrgY(row), m_view.getColumnWidth(col), m_view.getRowHeight(row));
-						}
-						else {
-							m_gc_rect.setBounds(gc.getCellX(), gc.getCellY(), gc.getCellWidth(), gc.getCellHeight());
-						}
-
-						if (m_gc_rect.intersects(clip_rect)) {
-							painter.paint(this, g, m_gc_rect);
-						}
+				Painter painter = m_view.getPainter(col, row);
+				if (painter != null) {
+					GridComponent gc = m_view.getGridComponent(col, row);
+					if (gc == null) {
+						m_gc_rect.setBounds(m_view.getColumnOrgX(col), m_view.getRowOrgY(row), m_view.getColumnWidth(col), m_view.getRowHeight(row));
+					}
+					else {
+						m_gc_rect.setBounds(gc.getCellX(), gc.getCellY(), gc.getCellWidth(), gc.getCellHeight());
+					}
+
+					if (m_gc_rect.intersects(clip_rect)) {
+						painter.paint(this, g, m_gc_rect);
 					}
 				}
 			}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.form;
+
+import java.awt.Container;
+
+/**
+ * A CompiledForm is a class that was generated from a form file (.jfrm) at
+ * build time by the form compiler. It creates the form's layout, components
+ * and properties directly, so no form file has to be parsed and no bean
+ * classes have to be introspected when the form is opened.
+ * <p>
+ * 
+ * {@link com.jeta.forms.components.panel.FormPanel} looks up a compiled form
+ * for a form path before it parses the form file if compiled forms are
+ * enabled. See {@link CompiledForms}.
+ * A CompiledForm instance creates its form only once.
+ * 
+ * @author Jeff Tassin
+ */
+public interface CompiledForm {
+
+	/**
+	 * @return the path of the form file this class was generated from,
+	 *         relative to the classpath (e.g. com/mycorp/app/login.jfrm)
+	 */
+	public String getFormPath();
+
+	/**
+	 * @return the fingerprint of the form file this class was generated from
+	 *         (see {@link CompiledForms#getFingerprint}). The compiled form is
+	 *         not used if the form file has changed since.
+	 */
+	public String getFingerprint();
+
+	/**
+	 * Creates the components of the form. This method must be called on the
+	 * event dispatch thread.
+	 * 
+	 * @return the container of the top-level form
+	 */
+	public Container createForm();
+}
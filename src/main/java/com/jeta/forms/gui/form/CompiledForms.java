@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.form;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.logger.FormsLogger;
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
+import com.jeta.open.resources.ResourceLoader;
+
+/**
+ * Looks up the compiled forms that were generated from form files at build
+ * time. The class name of a compiled form is derived from the form path (see
+ * {@link #getClassName(String)}), so the form compiler and the runtime agree
+ * on it without any index file. Lookups are cached, including the forms that
+ * have not been compiled. Compiled forms are only used at runtime. In the
+ * designer, form files are always parsed because they may have been edited.
+ * <p>
+ * 
+ * Compiled forms are disabled by default. Call {@link #setEnabled(boolean)}
+ * to use them. A compiled form does not have FormAccessors, so code that
+ * needs to access or change the form at runtime should not use it. A compiled
+ * form is only used if the form file on the classpath still has the
+ * fingerprint the form was compiled from (see {@link #getFingerprint}).
+ * Otherwise, the form file is parsed.
+ * 
+ * @author Jeff Tassin
+ */
+public class CompiledForms {
+	/**
+	 * The suffix that is appended to the name of a form file to get the simple
+	 * name of its compiled class.
+	 */
+	public static final String CLASS_SUFFIX = "CompiledForm";
+
+	/**
+	 * Marks form paths that do not have a compiled form.
+	 */
+	private static final Object NOT_COMPILED = new Object();
+
+	/**
+	 * The resource loader whose class loader is used to load the form files.
+	 */
+	private static final ServiceHandle m_resource_loader = JETARegistry.getHandle(ResourceLoader.COMPONENT_ID);
+
+	/**
+	 * A map of form paths (String) to compiled form classes (Class) or
+	 * NOT_COMPILED.
+	 */
+	private static HashMap m_classes = new HashMap();
+
+	/**
+	 * Set to true to use compiled forms.
+	 */
+	private static boolean m_enabled = false;
+
+	private CompiledForms() {
+
+	}
+
+	/**
+	 * Returns the fully qualified name of the class that is generated for the
+	 * given form path. The package is given by the directories of the path and
+	 * the simple name by the file name. Characters that are not valid in Java
+	 * identifiers are replaced by underscores. For example,
+	 * com/mycorp/app/loginView.jfrm maps to
+	 * com.mycorp.app.LoginViewCompiledForm.
+	 * 
+	 * @param formPath
+	 *            the path of the form file relative to the classpath
+	 * @return the name of the compiled form class
+	 */
+	public static String getClassName(String formPath) {
+		String path = normalizePath(formPath);
+		String name = path;
+		String pkg = "";
+		int pos = path.lastIndexOf('/');
+		if (pos >= 0) {
+			pkg = path.substring(0, pos);
+			name = path.substring(pos + 1);
+		}
+
+		pos = name.lastIndexOf('.');
+		if (pos > 0)
+			name = name.substring(0, pos);
+
+		StringBuffer result = new StringBuffer();
+		if (pkg.length() > 0) {
+			String[] dirs = pkg.split("/");
+			for (int index = 0; index < dirs.length; index++) {
+				appendIdentifier(result, dirs[index], false);
+				result.append('.');
+			}
+		}
+		appendIdentifier(result, name, true);
+		result.append(CLASS_SUFFIX);
+		return result.toString();
+	}
+
+	/**
+	 * Appends the given name as a valid Java identifier to the buffer.
+	 */
+	private static void appendIdentifier(StringBuffer buff, String name, boolean capitalize) {
+		for (int index = 0; index < name.length(); index++) {
+			char c = name.charAt(index);
+			if (index == 0) {
+				if (!Character.isJavaIdentifierStart(c))
+					buff.append('_');
+				else if (capitalize)
+					c = Character.toUpperCase(c);
+			}
+
+			if (!Character.isJavaIdentifierPart(c))
+				c = '_';
+
+			buff.append(c);
+		}
+
+		if (name.length() == 0)
+			buff.append('_');
+	}
+
+	/**
+	 * Removes a leading slash and converts backslashes so that the same form
+	 * is always given by the same path.
+	 */
+	public static String normalizePath(String formPath) {
+		String path = formPath.replace('\\', '/');
+		while (path.startsWith("/"))
+			path = path.substring(1);
+		return path;
+	}
+
+	/**
+	 * @return true if a compiled form exists for the given form path.
+	 */
+	public static boolean isCompiled(String formPath) {
+		return getFormClass(formPath) != null;
+	}
+
+	/**
+	 * Creates a new instance of the compiled form for the given form path.
+	 * 
+	 * @param formPath
+	 *            the path of the form file relative to the classpath
+	 * @return the compiled form. Null is returned if the form was not compiled
+	 *         or if lookups are disabled.
+	 */
+	public static CompiledForm createCompiledForm(String formPath) {
+		Class c = getFormClass(formPath);
+		if (c != null) {
+			try {
+				return (CompiledForm) c.getDeclaredConstructor().newInstance();
+			} catch (Exception e) {
+				FormsLogger.severe(e);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the compiled form class for the given form path. Null is
+	 *         returned if the form was not compiled, if the compiled form is
+	 *         out of date, or if lookups are disabled.
+	 */
+	private static Class getFormClass(String formPath) {
+		if (!isEnabled() || formPath == null || !FormUtils.isRuntime())
+			return null;
+
+		String path = normalizePath(formPath);
+		synchronized (CompiledForms.class) {
+			Object result = m_classes.get(path);
+			if (result == null) {
+				result = NOT_COMPILED;
+				try {
+					Class c = Class.forName(getClassName(path), false, getClassLoader());
+					if (CompiledForm.class.isAssignableFrom(c) && isCurrent(c, path))
+						result = c;
+				} catch (ClassNotFoundException e) {
+					// the form was not compiled
+				} catch (LinkageError e) {
+					FormsLogger.debug(e);
+				}
+				m_classes.put(path, result);
+			}
+			return (result == NOT_COMPILED) ? null : (Class) result;
+		}
+	}
+
+	/**
+	 * @return true if the compiled form class was generated from the form file
+	 *         that is currently on the classpath.
+	 */
+	private static boolean isCurrent(Class c, String formPath) {
+		try {
+			CompiledForm form = (CompiledForm) c.getDeclaredConstructor().newInstance();
+			String fingerprint = null;
+			InputStream is = getResourceAsStream(formPath);
+			if (is != null) {
+				try {
+					fingerprint = getFingerprint(is);
+				} finally {
+					is.close();
+				}
+			}
+
+			if (fingerprint != null && fingerprint.equals(form.getFingerprint()))
+				return true;
+
+			FormsLogger.debug("CompiledForms: compiled form is out of date: " + formPath);
+		} catch (Exception e) {
+			FormsLogger.debug(e);
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a fingerprint of the contents of a form file. The form compiler
+	 * stores it in the compiled form.
+	 * 
+	 * @param is
+	 *            the contents of the form file. The stream is not closed.
+	 * @return the fingerprint
+	 */
+	public static String getFingerprint(InputStream is) throws IOException {
+		CRC32 crc = new CRC32();
+		long length = 0;
+		byte[] buff = new byte[8192];
+		int count;
+		while ((count = is.read(buff)) > 0) {
+			crc.update(buff, 0, count);
+			length += count;
+		}
+		return Long.toHexString(crc.getValue()) + ":" + length;
+	}
+
+	/**
+	 * @return the form file with the given path from the registered resource
+	 *         loader or null if the form file does not exist.
+	 */
+	private static InputStream getResourceAsStream(String formPath) throws IOException {
+		ResourceLoader loader = (ResourceLoader) m_resource_loader.get();
+		if (loader != null)
+			return loader.getResourceAsStream(formPath);
+		else
+			return getClassLoader().getResourceAsStream(formPath);
+	}
+
+	/**
+	 * @return the class loader of the registered resource loader, which is
+	 *         also used to load the form files.
+	 */
+	private static ClassLoader getClassLoader() {
+		ResourceLoader loader = (ResourceLoader) m_resource_loader.get();
+		if (loader != null && loader.getClassLoader() != null)
+			return loader.getClassLoader();
+		else
+			return CompiledForms.class.getClassLoader();
+	}
+
+	/**
+	 * Clears the cached lookups. Call this if compiled forms are added to the
+	 * classpath at runtime.
+	 */
+	public static synchronized void clear() {
+		m_classes.clear();
+	}
+
+	/**
+	 * @return true if compiled forms are used
+	 */
+	public static synchronized boolean isEnabled() {
+		return m_enabled;
+	}
+
+	/**
+	 * Enables or disables the use of compiled forms. When disabled, form files
+	 * are always parsed. Compiled forms are disabled by default.
+	 */
+	public static synchronized void setEnabled(boolean enabled) {
+		m_enabled = enabled;
+	}
+}
@@ -164,6 +164,19 @@ public interface FormAccessor extends SwingComponentSupport {
 	 */
 	public Iterator beanIterator(boolean nested);
 
+	/**
+	 * Returns an index of the named components in this form and its nested
+	 * forms. The index supports lookups by simple name and by qualified name
+	 * (e.g. address.street where address is the name of a nested form), prefix
+	 * queries, and detection of duplicate names. The index is updated when
+	 * components are added to or removed from the form or its nested forms.
+	 * Other changes (e.g. renamed components or components added to a JPanel
+	 * bean) are detected when the index is queried. See {@link FormNameIndex}.
+	 * 
+	 * @return the name index for this form
+	 */
+	public FormNameIndex getNameIndex();
+
 	/**
 	 * Removes a bean from the container associated with this accessor. If the
 	 * given component is contained by an implicit JScrollPane or is an implicit
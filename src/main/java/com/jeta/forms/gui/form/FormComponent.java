@@ -33,18 +33,24 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 
+import javax.swing.JPanel;
+
 import com.jeta.forms.components.panel.FormPanel;
 import com.jeta.forms.gui.beans.DynamicBeanInfo;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.beans.JETABeanFactory;
 import com.jeta.forms.gui.beans.JETAPropertyDescriptor;
 import com.jeta.forms.gui.common.FormException;
+import com.jeta.forms.gui.common.FormSpecAdapter;
 import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.gui.formmgr.FormManager;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
 import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.project.ProjectManager;
 import com.jeta.forms.store.bean.BeanDeserializer;
@@ -58,6 +64,8 @@ import com.jeta.forms.store.memento.FormMemento;
 import com.jeta.forms.store.memento.PropertiesMemento;
 import com.jeta.forms.store.memento.StateRequest;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
+import com.jgoodies.forms.layout.FormLayout;
 
 /**
  * A <code>FormComponent</code> is a type of GridComponent that contains a
@@ -95,6 +103,14 @@ import com.jeta.open.registry.JETARegistry;
  * @author Jeff Tassin
  */
 public class FormComponent extends GridComponent {
+	/**
+	 * Handles to the registered services used by this class
+	 */
+	private static final ServiceHandle m_component_factory = JETARegistry.getHandle(FormComponentFactory.COMPONENT_ID);
+	private static final ServiceHandle m_serializer_factory = JETARegistry.getHandle(BeanSerializerFactory.COMPONENT_ID);
+	private static final ServiceHandle m_project_mgr = JETARegistry.getHandle(ProjectManager.COMPONENT_ID);
+	private static final ServiceHandle m_form_mgr = JETARegistry.getHandle(FormManager.COMPONENT_ID);
+
 	/**
 	 * A unique id for this form. If the form is linked, then this value will be
 	 * the absolute file path.
@@ -129,6 +145,24 @@ public class FormComponent extends GridComponent {
 	@Deprecated
 	private FocusPolicyMemento m_focus_policy;
 
+	/**
+	 * The state of this form if lazy loading is enabled and the form has not
+	 * been created yet. Null if the form components have been created. See
+	 * {@link FormUtils#setLazyLoading(boolean)}
+	 */
+	private FormMemento m_deferred_state;
+
+	/**
+	 * The panel passed to postInitialize while this form was deferred. We
+	 * forward the call once the form is created.
+	 */
+	private FormPanel m_deferred_panel;
+
+	/**
+	 * Creates the deferred form the first time it is shown.
+	 */
+	private HierarchyListener m_deferred_listener;
+
 	/**
 	 * Creates a <code>FormComponent</code> instance.
 	 */
@@ -161,7 +195,7 @@ public class FormComponent extends GridComponent {
 	 * Creates a form component.
 	 */
 	public static FormComponent create() {
-		FormComponentFactory factory = (FormComponentFactory) JETARegistry.lookup(FormComponentFactory.COMPONENT_ID);
+		FormComponentFactory factory = (FormComponentFactory) m_component_factory.get();
 		if (factory == null) {
 			FormUtils.safeAssert(!FormUtils.isDesignMode());
 			return new FormComponent();
@@ -242,6 +276,14 @@ public class FormComponent extends GridComponent {
 	 * @return the child view associated with this component
 	 */
 	public GridView getChildView() {
+		if (m_deferred_state != null) {
+			try {
+				loadDeferredState();
+			} catch (FormException e) {
+				FormsLogger.severe(e);
+			}
+		}
+
 		JETABean bean = getBean();
 		if (bean != null) {
 			return (GridView) bean.getDelegate();
@@ -424,7 +466,7 @@ public class FormComponent extends GridComponent {
 		}
 
 		/** store the view properties */
-		BeanSerializerFactory fac = (BeanSerializerFactory) JETARegistry.lookup(BeanSerializerFactory.COMPONENT_ID);
+		BeanSerializerFactory fac = (BeanSerializerFactory) m_serializer_factory.get();
 		BeanSerializer bs = fac.createSerializer();
 		JETABean jbean = getBean();
 		FormUtils.safeAssert(jbean.getDelegate() == view);
@@ -467,7 +509,7 @@ public class FormComponent extends GridComponent {
 	 * @return the relative path.
 	 */
 	public String getRelativePath() {
-		ProjectManager pmgr = (ProjectManager) JETARegistry.lookup(ProjectManager.COMPONENT_ID);
+		ProjectManager pmgr = (ProjectManager) m_project_mgr.get();
 		return pmgr.getRelativePath(m_abspath);
 	}
 
@@ -535,11 +577,126 @@ public class FormComponent extends GridComponent {
 		return m_top_level_form;
 	}
 
+	/**
+	 * Override so that a deferred form that is visible is created before it is
+	 * laid out. Otherwise, windows that are packed would be sized from the
+	 * placeholder. Deferred forms in unselected tabs are not visible, so they
+	 * keep their placeholder size.
+	 */
+	public Dimension getPreferredSize() {
+		loadVisibleDeferredState();
+		return super.getPreferredSize();
+	}
+
+	/**
+	 * Override so that a deferred form that is visible is created before it is
+	 * laid out. See {@link #getPreferredSize()}
+	 */
+	public Dimension getMinimumSize() {
+		loadVisibleDeferredState();
+		return super.getMinimumSize();
+	}
+
+	/**
+	 * Creates this form if it is deferred and visible.
+	 */
+	private void loadVisibleDeferredState() {
+		if (m_deferred_state != null && isVisible()) {
+			try {
+				loadDeferredState();
+			} catch (FormException e) {
+				FormsLogger.severe(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if this form was created with setDeferredState and the
+	 * components for the form have not been created yet.
+	 */
+	public boolean isDeferred() {
+		return m_deferred_state != null;
+	}
+
+	/**
+	 * Returns true if nested forms should be deferred when setting the state
+	 * of this form. Lazy loading only applies at runtime.
+	 */
+	private static boolean isDeferredLoading() {
+		return FormUtils.isLazyLoading() && FormUtils.isRuntime() && !FormUtils.isDesignMode();
+	}
+
+	/**
+	 * Creates the components for this form if it was deferred. This is called
+	 * automatically the first time the form is shown or when the child view
+	 * is requested.
+	 */
+	public void loadDeferredState() throws FormException {
+		if (m_deferred_state == null)
+			return;
+
+		FormMemento state = m_deferred_state;
+		m_deferred_state = null;
+		removeHierarchyListener(m_deferred_listener);
+		m_deferred_listener = null;
+
+		/** remove the placeholder */
+		removeAll();
+		setState(state);
+		GridView.invalidateNameIndexes(this);
+
+		if (m_deferred_panel != null) {
+			FormPanel panel = m_deferred_panel;
+			m_deferred_panel = null;
+			panel.deferredFormChanged(false);
+			postInitialize(panel);
+		}
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Creates all deferred forms contained in this form (including this form).
+	 * 
+	 * @return true if any forms were created.
+	 */
+	public boolean loadDeferredForms() {
+		boolean loaded = false;
+		if (m_deferred_state != null) {
+			try {
+				loadDeferredState();
+				loaded = true;
+			} catch (FormException e) {
+				FormsLogger.severe(e);
+			}
+		}
+		return loadDeferredForms(this) || loaded;
+	}
+
+	/**
+	 * Creates all deferred forms in the given container.
+	 */
+	private static boolean loadDeferredForms(Container cc) {
+		boolean loaded = false;
+		for (int index = 0; index < cc.getComponentCount(); index++) {
+			Component comp = cc.getComponent(index);
+			if (comp instanceof FormComponent) {
+				if (((FormComponent) comp).loadDeferredForms())
+					loaded = true;
+			}
+			else if (comp instanceof Container) {
+				if (loadDeferredForms((Container) comp))
+					loaded = true;
+			}
+		}
+		return loaded;
+	}
+
 	/**
 	 * Creates and initializes a FormComponent from the given form memento.
 	 */
 	protected FormComponent openLinkedForm(FormMemento fm) throws FormException {
-		FormComponent fc = com.jeta.forms.gui.formmgr.FormManagerUtils.openPackagedForm(fm.getRelativePath());
+		FormComponent fc = FormManagerUtils.openPackagedForm(fm.getRelativePath());
 		return fc;
 	}
 
@@ -581,7 +738,17 @@ public class FormComponent extends GridComponent {
 	 *            the top-level form container
 	 */
 	public void postInitialize(FormPanel panel) {
-		_postInitialize(panel, this);
+		if (m_deferred_state != null) {
+			if (m_deferred_panel != panel) {
+				if (m_deferred_panel != null)
+					m_deferred_panel.deferredFormChanged(false);
+				if (panel != null)
+					panel.deferredFormChanged(true);
+				m_deferred_panel = panel;
+			}
+		}
+		else
+			_postInitialize(panel, this);
 	}
 
 	/**
@@ -641,9 +808,10 @@ public class FormComponent extends GridComponent {
 	 * as well.
 	 */
 	public void revalidate() {
-		GridView view = getChildView();
-		if (view != null)
-			view.revalidate();
+		/** don't call getChildView here. It would create a deferred form */
+		JETABean bean = getBean();
+		if (bean != null && bean.getDelegate() instanceof GridView)
+			((GridView) bean.getDelegate()).revalidate();
 		super.revalidate();
 	}
 
@@ -713,7 +881,7 @@ public class FormComponent extends GridComponent {
 
 		m_focus_policy = state.getFocusPolicy();
 
-		FormManager fmgr = (FormManager) JETARegistry.lookup(FormManager.COMPONENT_ID);
+		FormManager fmgr = (FormManager) m_form_mgr.get();
 		if (FormUtils.isDesignMode()) {
 			FormUtils.safeAssert(fmgr != null);
 		}
@@ -729,7 +897,7 @@ public class FormComponent extends GridComponent {
 		/** set the view properties */
 		PropertiesMemento pm = state.getPropertiesMemento();
 		if (pm != null) {
-			BeanSerializerFactory fac = (BeanSerializerFactory) JETARegistry.lookup(BeanSerializerFactory.COMPONENT_ID);
+			BeanSerializerFactory fac = (BeanSerializerFactory) m_serializer_factory.get();
 			BeanDeserializer bds = fac.createDeserializer(pm);
 			bds.initializeBean(viewbean);
 		}
@@ -761,7 +929,20 @@ public class FormComponent extends GridComponent {
 					/** form is linked if the path is valid */
 					if (fm.getRelativePath() != null) {
 						try {
-							FormComponent fc = openLinkedForm(fm);
+							FormComponent fc = null;
+							if (isDeferredLoading()) {
+								/**
+								 * the linked form is parsed now (it is
+								 * normally in the template cache), but the
+								 * components are not created until the form
+								 * is shown.
+								 */
+								fc = FormComponent.create();
+								fc.setDeferredState(FormManagerUtils.loadPackagedForm(fm.getRelativePath()));
+							}
+							else {
+								fc = openLinkedForm(fm);
+							}
 							/**
 							 * @todo check if the linked form has already been
 							 *       opened in this view. need to handle the
@@ -807,7 +988,11 @@ public class FormComponent extends GridComponent {
 				else
 					gc = (GridComponent) gc_class.newInstance();
 
-				gc.setState(cm);
+				if (gc instanceof FormComponent && cm instanceof FormMemento && isDeferredLoading())
+					((FormComponent) gc).setDeferredState((FormMemento) cm);
+				else
+					gc.setState(cm);
+
 				if (ccm == null) {
 					/** this should never happen */
 					System.out.println("FormComponent.setState cellconstraints memento is null: ");
@@ -828,6 +1013,53 @@ public class FormComponent extends GridComponent {
 		view.refreshView();
 	}
 
+	/**
+	 * Sets the state of this form but does not create any of the components
+	 * in the form. An empty placeholder that is sized from the row and column
+	 * specs of the form is shown instead. The form is created the first time
+	 * it is shown or when {@link #loadDeferredState()} is called.
+	 * 
+	 * @param memento
+	 *            the state of the form
+	 */
+	public void setDeferredState(FormMemento memento) {
+		FormUtils.safeAssert(getBean() == null);
+		if (memento.getRelativePath() == null)
+			m_embedded = true;
+
+		m_deferred_state = memento;
+
+		JPanel placeholder = new JPanel();
+		placeholder.setOpaque(false);
+		try {
+			placeholder.setLayout(new FormLayout(FormSpecAdapter.fixupSpecs(memento.getColumnSpecs()), FormSpecAdapter.fixupSpecs(memento
+					.getRowSpecs())));
+		} catch (Exception e) {
+			// ignore. the placeholder will have no size
+		}
+		setLayout(new BorderLayout());
+		removeAll();
+		add(placeholder, BorderLayout.CENTER);
+
+		m_deferred_listener = new HierarchyListener() {
+			public void hierarchyChanged(HierarchyEvent evt) {
+				/**
+				 * GridComponent overrides isShowing, so check the parent
+				 * instead.
+				 */
+				Container parent = getParent();
+				if (m_deferred_state != null && isVisible() && parent != null && parent.isShowing()) {
+					try {
+						loadDeferredState();
+					} catch (FormException e) {
+						FormsLogger.severe(e);
+					}
+				}
+			}
+		};
+		addHierarchyListener(m_deferred_listener);
+	}
+
 	/**
 	 * Sets the flag used to indicate is this is the top-most form when saving
 	 * this form.
@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.form;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import javax.swing.JMenu;
+import javax.swing.JPopupMenu;
+
+/**
+ * An index of the named components in a form and its nested forms. The index
+ * is built with a single pass over the form's container hierarchy. After
+ * that, the GridView updates the index whenever a component is added to or
+ * removed from the form or any of its nested forms. If an update cannot be
+ * applied (e.g. a component with a duplicate name is removed), the GridView
+ * discards the index and a new one is built on the next request.
+ * 
+ * Other changes are not reported to the index: components added to or
+ * removed from containers that are not forms (e.g. a JPanel bean, a tab in a
+ * JTabbedPane or a scroll pane viewport) and renamed components or nested
+ * forms. These are detected when the index is queried. A component returned
+ * by a lookup is checked against its current name and position in the form.
+ * Misses and queries that return many names first check the whole index
+ * against the form (a single pass that does not allocate). If the index is
+ * out of date, it is rebuilt before the query is answered.
+ * 
+ * Components are indexed by their simple name (the 'name' property) and by
+ * their qualified name. The qualified name is the name of each enclosing
+ * nested form followed by the component name, separated by periods (e.g.
+ * address.street). Nested forms that do not have a name are not included in
+ * the qualified name. Components in the top level form have the same simple
+ * and qualified names.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormNameIndex {
+	/**
+	 * A map of simple names to components. If more than one component has the
+	 * same name, the value is a LinkedList of those components (in container
+	 * order). m_names<String,Object>
+	 */
+	private HashMap m_names = new HashMap();
+
+	/**
+	 * A map of qualified names to components. If more than one component has
+	 * the same qualified name, the first is stored.
+	 * m_qualified_names<String,Component>
+	 */
+	private HashMap m_qualified_names = new HashMap();
+
+	/**
+	 * The qualified names in sorted order. Used for prefix queries. Created on
+	 * demand and cleared when the index changes.
+	 */
+	private String[] m_sorted_names;
+
+	/**
+	 * Simple and qualified names that are used by more than one component.
+	 * m_duplicates<String>
+	 */
+	private HashSet m_duplicates = new HashSet();
+
+	/**
+	 * The number of named components in this index.
+	 */
+	private int m_size = 0;
+
+	/**
+	 * The form this index was created for.
+	 */
+	private GridView m_root;
+
+	/**
+	 * Creates a <code>FormNameIndex</code> for the given form.
+	 * 
+	 * @param view
+	 *            the form to index
+	 */
+	FormNameIndex(GridView view) {
+		m_root = view;
+		visit(view, "", true);
+	}
+
+	/**
+	 * Discards all entries and indexes the form again.
+	 */
+	private void rebuild() {
+		m_names.clear();
+		m_qualified_names.clear();
+		m_duplicates.clear();
+		m_sorted_names = null;
+		m_size = 0;
+		visit(m_root, "", true);
+	}
+
+	/**
+	 * Rebuilds the index if it no longer matches the form.
+	 */
+	private void validate() {
+		if (check(m_root, "") != m_size)
+			rebuild();
+	}
+
+	/**
+	 * Recursively checks that every named component in the given hierarchy
+	 * is in this index under its current simple and qualified names.
+	 * 
+	 * @return the number of named components found or -1 if a component is
+	 *         not in the index.
+	 */
+	private int check(Component comp, String prefix) {
+		if (comp instanceof JMenu)
+			return check(((JMenu) comp).getPopupMenu(), prefix);
+
+		int count = 0;
+		String name = comp.getName();
+		if (name != null && name.length() > 0) {
+			if (!isIndexed(comp, name, (prefix.length() == 0) ? name : prefix + name))
+				return -1;
+			count++;
+		}
+
+		if (comp instanceof Container) {
+			Container container = (Container) comp;
+			if (container instanceof GridView && container != m_root && name != null && name.length() > 0)
+				prefix = prefix + name + ".";
+
+			int children = container.getComponentCount();
+			for (int index = 0; index < children; index++) {
+				int result = check(container.getComponent(index), prefix);
+				if (result < 0)
+					return -1;
+				count += result;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true if the given component is in this index under the given
+	 * simple and qualified names.
+	 */
+	private boolean isIndexed(Component comp, String name, String qualifiedName) {
+		Object value = m_names.get(name);
+		if (value != comp && !(value instanceof LinkedList && ((LinkedList) value).contains(comp)))
+			return false;
+
+		return m_qualified_names.get(qualifiedName) == comp || m_duplicates.contains(qualifiedName);
+	}
+
+	/**
+	 * Returns the current qualified name of a component in the form or null if
+	 * the component is no longer in the form or has no name.
+	 */
+	private String getQualifiedName(Component comp) {
+		String qualified_name = comp.getName();
+		if (qualified_name == null || qualified_name.length() == 0)
+			return null;
+
+		Component c = getParent(comp);
+		while (c != m_root) {
+			if (c == null)
+				return null;
+
+			if (c instanceof GridView) {
+				String name = c.getName();
+				if (name != null && name.length() > 0)
+					qualified_name = name + "." + qualified_name;
+			}
+			c = getParent(c);
+		}
+		return qualified_name;
+	}
+
+	/**
+	 * Returns the parent of a component. The parent of a JMenu's popup menu is
+	 * the menu.
+	 */
+	private static Component getParent(Component comp) {
+		if (comp instanceof JPopupMenu && ((JPopupMenu) comp).getInvoker() instanceof JMenu)
+			return ((JPopupMenu) comp).getInvoker();
+		return comp.getParent();
+	}
+
+	/**
+	 * Returns true if the component is still in the form and still has the
+	 * given simple name.
+	 */
+	private boolean isCurrent(Component comp, String name) {
+		return name.equals(comp.getName()) && getQualifiedName(comp) != null;
+	}
+
+	/**
+	 * Returns true if the given entry of the simple name map is current. An
+	 * entry for a duplicate name is current if all of its components are.
+	 * Missing entries are never current because the component may have been
+	 * added to a container that does not report changes to the index.
+	 */
+	private boolean isCurrent(Object value, String name) {
+		if (value instanceof Component)
+			return isCurrent((Component) value, name);
+
+		if (value instanceof LinkedList) {
+			Iterator iter = ((LinkedList) value).iterator();
+			while (iter.hasNext()) {
+				if (!isCurrent((Component) iter.next(), name))
+					return false;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds a component (and its children) that was added to the form or to one
+	 * of its nested forms.
+	 * 
+	 * @param comp
+	 *            the component that was added
+	 * @param prefix
+	 *            the qualified name of the nested form that contains the
+	 *            component followed by a period.
+	 */
+	void add(Component comp, String prefix) {
+		visit(comp, prefix, true);
+	}
+
+	/**
+	 * Removes a component (and its children) that was removed from the form or
+	 * from one of its nested forms.
+	 * 
+	 * @param comp
+	 *            the component that was removed
+	 * @param prefix
+	 *            the qualified name of the nested form that contained the
+	 *            component followed by a period.
+	 * @return false if the index could not be updated and must be discarded.
+	 */
+	boolean remove(Component comp, String prefix) {
+		return visit(comp, prefix, false);
+	}
+
+	/**
+	 * Recursively adds or removes the named components in the given component
+	 * hierarchy.
+	 * 
+	 * @param comp
+	 *            the component to search
+	 * @param prefix
+	 *            the qualified name of the enclosing nested form followed by a
+	 *            period. Empty for components in the top level form.
+	 * @param add
+	 *            true to add the components, false to remove them.
+	 * @return false if a component could not be removed
+	 */
+	private boolean visit(Component comp, String prefix, boolean add) {
+		if (comp instanceof JMenu)
+			return visit(((JMenu) comp).getPopupMenu(), prefix, add);
+
+		boolean result = add ? registerComponent(comp, prefix) : unregisterComponent(comp, prefix);
+		if (comp instanceof Container) {
+			Container container = (Container) comp;
+			if (container instanceof GridView && container != m_root) {
+				String name = container.getName();
+				if (name != null && name.length() > 0)
+					prefix = prefix + name + ".";
+			}
+
+			int count = container.getComponentCount();
+			for (int index = 0; index < count; index++) {
+				if (!visit(container.getComponent(index), prefix, add))
+					result = false;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the component with the given qualified name.
+	 * 
+	 * @param qualifiedName
+	 *            the qualified name (e.g. address.street)
+	 * @return the component or null if no component has the given name. If
+	 *         more than one component has the name, the first is returned.
+	 */
+	public Component getComponent(String qualifiedName) {
+		if (qualifiedName == null)
+			return null;
+
+		Component comp = (Component) m_qualified_names.get(qualifiedName);
+		if (comp == null || !qualifiedName.equals(getQualifiedName(comp))) {
+			validate();
+			comp = (Component) m_qualified_names.get(qualifiedName);
+		}
+		return comp;
+	}
+
+	/**
+	 * Returns the component with the given simple name.
+	 * 
+	 * @param name
+	 *            the name of the component
+	 * @return the component or null if no component has the given name or
+	 *         more than one component has the name.
+	 */
+	public Component getComponentByName(String name) {
+		if (name == null)
+			return null;
+
+		Object value = m_names.get(name);
+		if (!isCurrent(value, name)) {
+			validate();
+			value = m_names.get(name);
+		}
+		return (value instanceof Component) ? (Component) value : null;
+	}
+
+	/**
+	 * Returns the component with the given simple name or, if no component
+	 * has that simple name, the component with the given qualified name. This
+	 * is the same as calling getComponentByName and then getComponent, but a
+	 * miss checks the index against the form only once.
+	 * 
+	 * @param name
+	 *            the simple or qualified name of the component
+	 * @return the component or null if no component has the given name or
+	 *         more than one component has the simple name.
+	 */
+	public Component findComponent(String name) {
+		if (name == null)
+			return null;
+
+		Object value = m_names.get(name);
+		if (isCurrent(value, name))
+			return (value instanceof Component) ? (Component) value : null;
+
+		if (value == null) {
+			Component comp = (Component) m_qualified_names.get(name);
+			if (comp != null && name.equals(getQualifiedName(comp)))
+				return comp;
+		}
+
+		validate();
+		value = m_names.get(name);
+		if (value != null)
+			return (value instanceof Component) ? (Component) value : null;
+		return (Component) m_qualified_names.get(name);
+	}
+
+	/**
+	 * Returns all components that have the given simple name.
+	 * 
+	 * @param name
+	 *            the name of the components
+	 * @return a collection of Component objects. An empty collection is
+	 *         returned if no component has the given name.
+	 */
+	public Collection getComponentsByName(String name) {
+		if (name == null)
+			return Collections.EMPTY_LIST;
+
+		validate();
+		Object value = m_names.get(name);
+		if (value instanceof Component)
+			return Collections.singletonList(value);
+		else if (value instanceof LinkedList)
+			return Collections.unmodifiableList((LinkedList) value);
+		else
+			return Collections.EMPTY_LIST;
+	}
+
+	/**
+	 * Returns all components whose qualified names start with the given
+	 * prefix. For example, getComponentsByPrefix("address.") returns all named
+	 * components in the nested form named address.
+	 * 
+	 * @param prefix
+	 *            the start of the qualified name
+	 * @return a collection of Component objects ordered by qualified name.
+	 */
+	public Collection getComponentsByPrefix(String prefix) {
+		if (prefix == null)
+			prefix = "";
+
+		validate();
+		String[] names = getSortedNames();
+		int pos = Arrays.binarySearch(names, prefix);
+		if (pos < 0)
+			pos = -(pos + 1);
+
+		LinkedList result = new LinkedList();
+		while (pos < names.length && names[pos].startsWith(prefix)) {
+			result.add(m_qualified_names.get(names[pos]));
+			pos++;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the simple and qualified names that are used by more than one
+	 * component.
+	 * 
+	 * @return a collection of String objects
+	 */
+	public Collection getDuplicateNames() {
+		validate();
+		return Collections.unmodifiableSet(m_duplicates);
+	}
+
+	/**
+	 * Returns the qualified names of all named components in sorted order.
+	 * 
+	 * @return a collection of String objects
+	 */
+	public Collection getQualifiedNames() {
+		validate();
+		return Collections.unmodifiableList(Arrays.asList(getSortedNames()));
+	}
+
+	/**
+	 * Returns the qualified names in sorted order.
+	 */
+	private String[] getSortedNames() {
+		if (m_sorted_names == null) {
+			String[] names = (String[]) m_qualified_names.keySet().toArray(new String[m_qualified_names.size()]);
+			Arrays.sort(names);
+			m_sorted_names = names;
+		}
+		return m_sorted_names;
+	}
+
+	/**
+	 * Returns true if more than one component has the given simple or
+	 * qualified name.
+	 */
+	public boolean isDuplicate(String name) {
+		Object value = m_names.get(name);
+		if (value instanceof LinkedList && isCurrent(value, name))
+			return true;
+
+		validate();
+		return m_duplicates.contains(name);
+	}
+
+	/**
+	 * Adds the component to this index if it has a name.
+	 */
+	private boolean registerComponent(Component comp, String prefix) {
+		String name = comp.getName();
+		if (name == null || name.length() == 0)
+			return true;
+
+		m_size++;
+		Object value = m_names.get(name);
+		if (value == null) {
+			m_names.put(name, comp);
+		}
+		else {
+			LinkedList list;
+			if (value instanceof LinkedList) {
+				list = (LinkedList) value;
+			}
+			else {
+				list = new LinkedList();
+				list.add(value);
+				m_names.put(name, list);
+			}
+			list.add(comp);
+			m_duplicates.add(name);
+		}
+
+		String qualified_name = (prefix.length() == 0) ? name : prefix + name;
+		if (m_qualified_names.containsKey(qualified_name)) {
+			m_duplicates.add(qualified_name);
+		}
+		else {
+			m_qualified_names.put(qualified_name, comp);
+			m_sorted_names = null;
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the component from this index if it has a name.
+	 * 
+	 * @return false if the component has a duplicate name or is not in the
+	 *         index.
+	 */
+	private boolean unregisterComponent(Component comp, String prefix) {
+		String name = comp.getName();
+		if (name == null || name.length() == 0)
+			return true;
+
+		String qualified_name = (prefix.length() == 0) ? name : prefix + name;
+		if (m_names.get(name) != comp || m_qualified_names.get(qualified_name) != comp)
+			return false;
+
+		m_names.remove(name);
+		m_qualified_names.remove(qualified_name);
+		m_sorted_names = null;
+		m_size--;
+		return true;
+	}
+
+	/**
+	 * Returns the number of named components in this index.
+	 */
+	public int size() {
+		validate();
+		return m_size;
+	}
+}
@@ -49,11 +49,17 @@ import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.gui.components.ComponentFactory;
 import com.jeta.forms.gui.components.ComponentSource;
 import com.jeta.forms.gui.components.EmptyComponentFactory;
+import com.jeta.forms.gui.effects.LinearGradientPainter;
 import com.jeta.forms.gui.effects.Paintable;
 import com.jeta.forms.gui.effects.Painter;
+import com.jeta.forms.gui.effects.RadialGradientPainter;
+import com.jeta.forms.gui.effects.TexturePainter;
 import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.store.memento.FormGroupSet;
+import com.jeta.forms.store.properties.effects.GradientProperty;
 import com.jeta.forms.store.properties.effects.PaintProperty;
+import com.jeta.forms.store.properties.effects.RadialGradientProperty;
+import com.jeta.forms.store.properties.effects.TextureProperty;
 import com.jeta.forms.store.support.Matrix;
 import com.jeta.open.gui.framework.JETAPanel;
 import com.jeta.open.registry.JETARegistry;
@@ -149,6 +155,14 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 */
 	private Matrix m_cell_painters = new Matrix(0, 0);
 
+	/**
+	 * A matrix of RetainedPainter objects parallel to m_cell_painters. We keep
+	 * a Painter for each cell between repaints because painters cache their
+	 * Paint objects (e.g. gradients). The painters check the property values
+	 * on every paint, so in-place edits are not painted with stale colors.
+	 */
+	private Matrix m_painters = new Matrix(0, 0);
+
 	/**
 	 * Defines the the column groups for this form See:
 	 * {@link com.jgoodies.forms.layout.FormLayout#.setColumnGroups}
@@ -167,6 +181,13 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 */
 	private long m_nested_mod_stamp = -1;
 
+	/**
+	 * An index of the named components in this form and its nested forms.
+	 * Created on demand and updated whenever a component is added to or
+	 * removed from this form or any nested form.
+	 */
+	private FormNameIndex m_name_index;
+
 	/**
 	 * Flag that indicates if GridViewEvents should be fired.
 	 */
@@ -512,6 +533,19 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		return getName();
 	}
 
+	/**
+	 * FormAccessor implementation. Returns an index of the named components in
+	 * this form and its nested forms.
+	 * 
+	 * @return the name index for this form
+	 */
+	public FormNameIndex getNameIndex() {
+		if (m_name_index == null)
+			m_name_index = new FormNameIndex(this);
+
+		return m_name_index;
+	}
+
 	/**
 	 * Returns the timestamp of the last time a child component was added or
 	 * removed from the form associated with this view. This is primarily used
@@ -654,6 +688,38 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 	}
 
+	/**
+	 * Returns the painter for the fill effect of the given cell. The painter
+	 * is created from the cell's PaintProperty the first time it is needed
+	 * and retained until the property changes.
+	 * 
+	 * @param col
+	 *            the 1-based column
+	 * @param row
+	 *            the 1-based row
+	 * @return the painter for the given cell. Null is returned if the cell
+	 *         has no fill effect.
+	 */
+	public Painter getPainter(int col, int row) {
+		PaintProperty pp = getPaintProperty(col, row);
+		if (pp == null)
+			return null;
+
+		if (m_painters.getRowCount() != m_cell_painters.getRowCount() || m_painters.getColumnCount() != m_cell_painters.getColumnCount())
+			m_painters = new Matrix(m_cell_painters.getRowCount(), m_cell_painters.getColumnCount());
+
+		RetainedPainter retained = (RetainedPainter) m_painters.getValue(row - 1, col - 1);
+		/**
+		 * the paint delegate can be changed without calling setPaintProperty,
+		 * so check it as well
+		 */
+		if (retained == null || retained.m_property != pp || retained.m_delegate != pp.getPaintDelegate()) {
+			retained = new RetainedPainter(pp);
+			m_painters.setValue(row - 1, col - 1, retained);
+		}
+		return retained.m_painter;
+	}
+
 	/**
 	 * Returns the FormComponent that contains this GridView. Since the parent
 	 * of this view is not a FormComponent, the component heirarhcy must be
@@ -823,6 +889,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 		initialize(colspec.toString(), rowspec.toString());
 		m_cell_painters = new Matrix(getRowCount(), getColumnCount());
+		m_painters = new Matrix(getRowCount(), getColumnCount());
 	}
 
 	/**
@@ -938,6 +1005,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 
 		m_cell_painters.insertColumn(col - 1);
+		m_painters.insertColumn(col - 1);
 
 		FormUtils.safeAssert(getColumnCount() == (old_col_count + 1));
 		FormUtils.safeAssert(getGridComponentCount() == getColumnCount() * getRowCount());
@@ -999,6 +1067,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 
 		m_cell_painters.insertRow(row - 1);
+		m_painters.insertRow(row - 1);
 
 		FormUtils.safeAssert(getRowCount() == (old_row_count + 1));
 		FormUtils.safeAssert(getGridComponentCount() == getColumnCount() * getRowCount());
@@ -1075,6 +1144,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 			return;
 		}
 		m_cell_painters.removeColumn(column - 1);
+		m_painters.removeColumn(column - 1);
 
 		LinkedList comps = new LinkedList();
 		Iterator iter = gridIterator();
@@ -1122,6 +1192,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 
 		m_cell_painters.removeRow(row - 1);
+		m_painters.removeRow(row - 1);
 
 		LinkedList comps = new LinkedList();
 		Iterator iter = gridIterator();
@@ -1198,6 +1269,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 			if ((painters.getRowCount() != getRowCount()) || (painters.getColumnCount()) != (getColumnCount()))
 				m_cell_painters = new Matrix(getRowCount(), getColumnCount());
 		}
+		m_painters = new Matrix(getRowCount(), getColumnCount());
 	}
 
 	/**
@@ -1301,6 +1373,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 */
 	public void setPaintProperty(int col, int row, PaintProperty pp) {
 		m_cell_painters.setValue(row - 1, col - 1, pp);
+		m_painters.setValue(row - 1, col - 1, null);
 		repaint();
 	}
 
@@ -1710,6 +1783,58 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 	}
 
+	/**
+	 * Discards the name index of every form that contains the given component.
+	 * This is needed when the components in a form are changed without going
+	 * through the form container (e.g. when a deferred form is created).
+	 * 
+	 * @param c
+	 *            the component whose parent containment hiearchy to traverse
+	 */
+	static void invalidateNameIndexes(Component c) {
+		while (c != null) {
+			if (c instanceof GridView)
+				((GridView) c).m_name_index = null;
+
+			if (c instanceof java.awt.Window || c instanceof javax.swing.JInternalFrame)
+				break;
+			c = c.getParent();
+		}
+	}
+
+	/**
+	 * Updates the name index of this form and every form that contains this
+	 * form after a component is added to or removed from this form.
+	 * 
+	 * @param comp
+	 *            the component that was added or removed
+	 * @param added
+	 *            true if the component was added
+	 */
+	private void updateNameIndexes(Component comp, boolean added) {
+		String prefix = "";
+		Container c = this;
+		while (c != null) {
+			if (c instanceof GridView) {
+				GridView gv = (GridView) c;
+				if (gv.m_name_index != null) {
+					if (added)
+						gv.m_name_index.add(comp, prefix);
+					else if (!gv.m_name_index.remove(comp, prefix))
+						gv.m_name_index = null;
+				}
+
+				String name = gv.getName();
+				if (name != null && name.length() > 0)
+					prefix = name + "." + prefix;
+			}
+
+			if (c instanceof java.awt.Window || c instanceof javax.swing.JInternalFrame)
+				break;
+			c = c.getParent();
+		}
+	}
+
 	/**
 	 * Used for iterating over the GridComponents in this view. This iterator
 	 * accesses all child components of the form container. Only components that
@@ -1763,18 +1888,22 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		protected void addImpl(Component comp, Object constraints, int index) {
 			super.addImpl(comp, constraints, index);
 			m_mod_stamp = System.currentTimeMillis();
+			updateNameIndexes(comp, true);
 			updateParentModicationStamps(GridView.this.getParent(), m_mod_stamp);
 		}
 
 		public void remove(int index) {
+			Component comp = getComponent(index);
 			super.remove(index);
 			m_mod_stamp = System.currentTimeMillis();
+			updateNameIndexes(comp, false);
 			updateParentModicationStamps(GridView.this.getParent(), m_mod_stamp);
 		}
 
 		public void removeAll() {
 			super.removeAll();
 			m_mod_stamp = System.currentTimeMillis();
+			invalidateNameIndexes(GridView.this);
 			updateParentModicationStamps(GridView.this.getParent(), m_mod_stamp);
 		}
 
@@ -1788,4 +1917,28 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 	}
 
+	/**
+	 * A painter and the property it was created from. Gradient and texture
+	 * painters are created for the cell rather than shared with the property,
+	 * so cells with the same property but different sizes don't replace each
+	 * other's cached paint.
+	 */
+	private static class RetainedPainter {
+		private PaintProperty m_property;
+		private Object m_delegate;
+		private Painter m_painter;
+
+		RetainedPainter(PaintProperty pp) {
+			m_property = pp;
+			m_delegate = pp.getPaintDelegate();
+			if (m_delegate instanceof GradientProperty)
+				m_painter = new LinearGradientPainter((GradientProperty) m_delegate);
+			else if (m_delegate instanceof RadialGradientProperty)
+				m_painter = new RadialGradientPainter((RadialGradientProperty) m_delegate);
+			else if (m_delegate instanceof TextureProperty)
+				m_painter = new TexturePainter((TextureProperty) m_delegate);
+			else
+				m_painter = pp.createPainter();
+		}
+	}
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An InputStream that reads directly from a ByteBuffer. This allows a form
+ * file that is mapped or read in a single operation from a FileChannel to be
+ * handed to the form parsers without copying it again.
+ * 
+ * @author Jeff Tassin
+ */
+class ByteBufferInputStream extends InputStream {
+	/**
+	 * The underlying buffer
+	 */
+	private ByteBuffer m_buffer;
+
+	/**
+	 * The marked position in the buffer
+	 */
+	private int m_mark = 0;
+
+	/**
+	 * Creates a <code>ByteBufferInputStream</code> that reads the remaining
+	 * bytes in the given buffer.
+	 */
+	ByteBufferInputStream(ByteBuffer buffer) {
+		m_buffer = buffer;
+		m_mark = buffer.position();
+	}
+
+	public int available() {
+		return m_buffer.remaining();
+	}
+
+	public void mark(int readlimit) {
+		m_mark = m_buffer.position();
+	}
+
+	public boolean markSupported() {
+		return true;
+	}
+
+	public int read() {
+		if (!m_buffer.hasRemaining())
+			return -1;
+
+		return m_buffer.get() & 0xFF;
+	}
+
+	public int read(byte[] b, int off, int len) {
+		if (len == 0)
+			return 0;
+
+		int remaining = m_buffer.remaining();
+		if (remaining == 0)
+			return -1;
+
+		len = Math.min(len, remaining);
+		m_buffer.get(b, off, len);
+		return len;
+	}
+
+	public void reset() {
+		m_buffer.position(m_mark);
+	}
+
+	public long skip(long n) {
+		if (n <= 0)
+			return 0;
+
+		int count = (int) Math.min(n, m_buffer.remaining());
+		m_buffer.position(m_buffer.position() + count);
+		return count;
+	}
+}
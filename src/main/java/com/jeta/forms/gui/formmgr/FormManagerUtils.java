@@ -29,14 +29,17 @@
 
 package com.jeta.forms.gui.formmgr;
 
+import java.beans.Introspector;
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashSet;
+import java.util.Iterator;
 
 import com.jeta.forms.beanmgr.BeanManager;
 import com.jeta.forms.gui.common.FormException;
@@ -44,12 +47,17 @@ import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.gui.form.FormComponent;
 import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.project.ProjectManager;
+import com.jeta.forms.store.binary.BinaryFormat;
+import com.jeta.forms.store.binary.BinaryUtils;
 import com.jeta.forms.store.jml.JMLException;
 import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.memento.BeanMemento;
+import com.jeta.forms.store.memento.ComponentMemento;
 import com.jeta.forms.store.memento.FormMemento;
 import com.jeta.forms.store.memento.FormPackage;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
 import com.jeta.open.resources.ResourceLoader;
 
 /**
@@ -58,82 +66,140 @@ import com.jeta.open.resources.ResourceLoader;
  * @author Jeff Tassin
  */
 public class FormManagerUtils {
+	/**
+	 * Handles to the registered services used by this class
+	 */
+	private static final ServiceHandle m_project_mgr = JETARegistry.getHandle(ProjectManager.COMPONENT_ID);
+	private static final ServiceHandle m_resource_loader = JETARegistry.getHandle(ResourceLoader.COMPONENT_ID);
+	private static final ServiceHandle m_bean_mgr = JETARegistry.getHandle(BeanManager.COMPONENT_ID);
+
 	private static final int DEFAULT_BUFFER_SIZE = 1024 * 20;
 
+	/**
+	 * Files at least this large are memory mapped when loaded outside the
+	 * designer. Smaller files are read into a single buffer.
+	 */
+	private static final long MAPPED_FILE_THRESHOLD = 1024 * 256;
+
+	/**
+	 * The serialization header for a binary FormPackage. This tag starts at
+	 * BINARY_TAG_OFFSET in a binary form file (after the stream magic and
+	 * version).
+	 */
+	private static final String BINARY_TAG = "sr\0(com.jeta.forms.store.memento.FormPackage";
+	private static final int BINARY_TAG_OFFSET = 4;
+
 	public static FormMemento loadForm(InputStream is) throws ClassNotFoundException, IOException, JMLException {
 		/**
 		 * If the input stream is an instanceof ObjectInputStream, we
 		 * automatically assume it is binary.
 		 */
 		if (is instanceof ObjectInputStream) {
-			FormMemento memento = null;
-			Object obj = ((ObjectInputStream) is).readObject();
-			if (obj instanceof FormPackage) {
-				memento = ((FormPackage) obj).getMemento();
-			}
-			else {
-				memento = (FormMemento) obj;
-			}
-			return memento;
-
+			return readBinaryForm((ObjectInputStream) is);
 		}
 		else {
 
 			/**
 			 * If we are here, the file format is unknown. It could be binary or
-			 * XML. We need to inspect the file contents and try to make a
-			 * determination.
+			 * XML. Peek at the first few bytes in the stream to make a
+			 * determination and then hand the stream directly to the
+			 * appropriate reader.
 			 */
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			byte[] first_read = new byte[1024];
-			byte[] data = new byte[DEFAULT_BUFFER_SIZE];
-			int nread = is.read(first_read);
-
-			if (nread > 0) {
-				baos.write(first_read, 0, nread);
-				nread = is.read(data);
-			}
-
-			while (nread > 0) {
-				baos.write(data, 0, nread);
-				nread = is.read(data);
-			}
+			if (!is.markSupported())
+				is = new BufferedInputStream(is, DEFAULT_BUFFER_SIZE);
 
-			/**
-			 * Read the first 50 or so bytes in the file and try to determine if
-			 * it is a binary or xml file.
-			 */
-			boolean found_binary = true;
-			int BINARY_TAG_OFFSET = 4;
-			String binary_tag = "sr\0(com.jeta.forms.store.memento.FormPackage";
-			for (int index = 0; index < binary_tag.length(); index++) {
-				if (first_read[index + BINARY_TAG_OFFSET] != (byte) binary_tag.charAt(index)) {
-					found_binary = false;
+			byte[] header = new byte[BINARY_TAG_OFFSET + BINARY_TAG.length()];
+			is.mark(header.length);
+			int nread = 0;
+			while (nread < header.length) {
+				int count = is.read(header, nread, header.length - nread);
+				if (count < 0)
 					break;
-				}
+				nread += count;
 			}
+			is.reset();
 
-			FormMemento memento = null;
-			if (found_binary) {
-				// assume the file is binary
-				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
-				Object obj = ois.readObject();
-				if (obj instanceof FormPackage) {
-					memento = ((FormPackage) obj).getMemento();
-				}
-				else {
-					memento = (FormMemento) obj;
-				}
+			if (BinaryFormat.isBinaryForm(header, nread)) {
+				// compact binary format (.jfrmb)
+				FormPackage fp = (FormPackage) BinaryUtils.readObject(is);
+				return fp.getMemento();
+			}
+			else if (isBinaryForm(header, nread)) {
+				return readBinaryForm(new ObjectInputStream(is));
 			}
 			else {
 				// assume the file is in XML format
-				FormPackage fp = (FormPackage) JMLUtils.readObject(new ByteArrayInputStream(baos.toByteArray()));
-				memento = fp.getMemento();
+				FormPackage fp = (FormPackage) JMLUtils.readObject(is);
+				return fp.getMemento();
 			}
-			return memento;
 		}
 	}
 
+	/**
+	 * Loads a form from the given file. The file is read through a FileChannel
+	 * without any intermediate copies. Large files are memory mapped when
+	 * running outside the designer. We don't map files in the designer because
+	 * some platforms lock mapped files and the user might want to save the
+	 * form.
+	 *
+	 * @param f
+	 *            the form file
+	 * @return the parsed form
+	 */
+	public static FormMemento loadForm(File f) throws ClassNotFoundException, IOException, JMLException {
+		FileInputStream fis = new FileInputStream(f);
+		try {
+			FileChannel channel = fis.getChannel();
+			long size = channel.size();
+			ByteBuffer buffer = null;
+			if (size >= MAPPED_FILE_THRESHOLD && size <= Integer.MAX_VALUE && FormUtils.isRuntime()) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+			else if (size <= Integer.MAX_VALUE) {
+				buffer = ByteBuffer.allocate((int) size);
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0)
+						break;
+				}
+				buffer.flip();
+			}
+
+			if (buffer == null)
+				return loadForm(new BufferedInputStream(fis, DEFAULT_BUFFER_SIZE));
+			else
+				return loadForm(new ByteBufferInputStream(buffer));
+		} finally {
+			fis.close();
+		}
+	}
+
+	/**
+	 * Returns true if the given file header matches the header of a FormPackage
+	 * stored with standard Java serialization.
+	 */
+	private static boolean isBinaryForm(byte[] header, int length) {
+		if (length < BINARY_TAG_OFFSET + BINARY_TAG.length())
+			return false;
+
+		for (int index = 0; index < BINARY_TAG.length(); index++) {
+			if (header[index + BINARY_TAG_OFFSET] != (byte) BINARY_TAG.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads a binary form from the given object stream.
+	 */
+	private static FormMemento readBinaryForm(ObjectInputStream ois) throws ClassNotFoundException, IOException {
+		Object obj = ois.readObject();
+		if (obj instanceof FormPackage)
+			return ((FormPackage) obj).getMemento();
+		else
+			return (FormMemento) obj;
+	}
+
 	/**
 	 * Opens a form from the given input stream. The input stream should refer
 	 * to a valid form file.
@@ -145,14 +211,7 @@ public class FormManagerUtils {
 	 */
 	public static FormComponent openForm(InputStream istream) throws FormException {
 		try {
-			FormMemento memento = loadForm(istream);
-			FormComponent fc = FormComponent.create();
-			fc.setState(memento);
-			/**
-			 * we don't need to set the form path here because we are in
-			 * run-mode and linked vs. embedded has no meaning
-			 */
-			return fc;
+			return openForm(loadForm(istream));
 		} catch (Exception e) {
 			if (e instanceof FormException)
 				throw (FormException) e;
@@ -161,6 +220,24 @@ public class FormManagerUtils {
 		}
 	}
 
+	/**
+	 * Creates a form from the given memento. The memento is not modified, so
+	 * it is safe to pass a template from the FormTemplateCache.
+	 *
+	 * @param memento
+	 *            the parsed form
+	 * @return a FormComponent object that is initialized from the memento.
+	 */
+	public static FormComponent openForm(FormMemento memento) throws FormException {
+		FormComponent fc = FormComponent.create();
+		fc.setState(memento);
+		/**
+		 * we don't need to set the form path here because we are in run-mode
+		 * and linked vs. embedded has no meaning
+		 */
+		return fc;
+	}
+
 	/**
 	 * Opens a linked form.
 	 * 
@@ -170,6 +247,20 @@ public class FormManagerUtils {
 	 * @return an initialized FormComponent object.
 	 */
 	public static FormComponent openPackagedForm(String relativePath) throws FormException {
+		return openForm(loadPackagedForm(relativePath));
+	}
+
+	/**
+	 * Loads the state of a linked form without creating any components. The
+	 * returned memento is shared with the FormTemplateCache and must not be
+	 * modified.
+	 * 
+	 * @param relativePath
+	 *            the path of the linked form relative to the CLASSPATH when in
+	 *            run mode or the source paths when in design mode.
+	 * @return the parsed form
+	 */
+	public static FormMemento loadPackagedForm(String relativePath) throws FormException {
 		FormUtils.safeAssert(!FormUtils.isDesignMode());
 		FormUtils.safeAssert(relativePath != null);
 		FormUtils.safeAssert(relativePath.length() > 0);
@@ -182,14 +273,22 @@ public class FormManagerUtils {
 			 * yet stored back to disk. Design mode can be false in the design
 			 * when doing a 'preview'
 			 */
-			ProjectManager pmgr = (ProjectManager) JETARegistry.lookup(ProjectManager.COMPONENT_ID);
+			ProjectManager pmgr = (ProjectManager) m_project_mgr.get();
 			FormUtils.safeAssert(pmgr != null);
 			if (pmgr != null) {
 				String abspath = pmgr.getAbsolutePath(relativePath);
 				if (abspath != null) {
 					File f = new File(abspath);
 					if (f.isFile()) {
-						return openForm(new FileInputStream(f));
+						/** the designer invalidates saved forms by their canonical path */
+						String key = f.getCanonicalPath();
+						Long stamp = Long.valueOf(f.lastModified());
+						FormMemento memento = FormTemplateCache.get(key, stamp);
+						if (memento == null) {
+							memento = loadForm(f);
+							FormTemplateCache.put(key, stamp, memento);
+						}
+						return memento;
 					}
 				}
 			}
@@ -202,29 +301,29 @@ public class FormManagerUtils {
 			 */
 			relativePath = relativePath.replace('\\', '/');
 
-			ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
-			BufferedInputStream bis = new BufferedInputStream(loader.getResourceAsStream(relativePath), DEFAULT_BUFFER_SIZE);
-
-			FormMemento memento = loadForm(bis);
-			FormComponent fc = FormComponent.create();
-			fc.setState(memento);
-			bis.close();
-
-			/**
-			 * we don't need to set the form path here because we are in
-			 * run-mode and linked vs. embedded has no meaning
-			 */
-			return fc;
+			ResourceLoader loader = (ResourceLoader) m_resource_loader.get();
+			ClassLoader stamp = loader.getClassLoader();
+			FormMemento memento = FormTemplateCache.get(relativePath, stamp);
+			if (memento == null) {
+				BufferedInputStream bis = new BufferedInputStream(loader.getResourceAsStream(relativePath), DEFAULT_BUFFER_SIZE);
+				try {
+					memento = loadForm(bis);
+				} finally {
+					bis.close();
+				}
+				FormTemplateCache.put(relativePath, stamp, memento);
+			}
+			return memento;
 		} catch (Exception e) {
 			try {
 				/**
 				 * if we are here then it is probably a situation where the form
 				 * is embedded in a custom bean
 				 */
-				BeanManager bm = (BeanManager) JETARegistry.lookup(BeanManager.COMPONENT_ID);
+				BeanManager bm = (BeanManager) m_bean_mgr.get();
 				if (bm != null) {
 					ClassLoader loader = bm.getClassLoader();
-					return openForm(loader.getResourceAsStream(relativePath));
+					return loadForm(loader.getResourceAsStream(relativePath));
 				}
 			} catch (Exception bme) {
 				// ignore
@@ -239,4 +338,65 @@ public class FormManagerUtils {
 			throw new FormException(e);
 		}
 	}
+
+	/**
+	 * Loads everything a form needs that does not involve creating Swing
+	 * components: the state of any linked forms, the bean classes and their
+	 * introspection data. None of this work touches the component hierarchy,
+	 * so it can be done on a background thread before the form is created on
+	 * the event dispatch thread. Failures are ignored here because the same
+	 * errors are reported when the form is actually opened.
+	 * 
+	 * @param memento
+	 *            the parsed form
+	 */
+	public static void prepareForm(FormMemento memento) {
+		BeanManager bm = (BeanManager) m_bean_mgr.get();
+		prepareForm(memento, bm, new HashSet());
+	}
+
+	/**
+	 * Recursively prepares the given form and any nested or linked forms.
+	 * 
+	 * @param visited
+	 *            the relative paths of the linked forms that were already
+	 *            prepared. Set<String>
+	 */
+	private static void prepareForm(FormMemento memento, BeanManager bm, HashSet visited) {
+		Iterator iter = memento.iterator();
+		while (iter.hasNext()) {
+			ComponentMemento cm = (ComponentMemento) iter.next();
+			if (cm instanceof FormMemento) {
+				FormMemento fm = (FormMemento) cm;
+				String path = fm.getRelativePath();
+				if (path != null) {
+					if (!visited.add(path))
+						continue;
+
+					try {
+						fm = loadPackagedForm(path);
+					} catch (Exception e) {
+						continue;
+					}
+				}
+				prepareForm(fm, bm, visited);
+			}
+			else if (cm instanceof BeanMemento) {
+				String beanClass = ((BeanMemento) cm).getBeanClass();
+				if (beanClass == null)
+					continue;
+
+				try {
+					Class c = null;
+					if (bm != null)
+						c = bm.getBeanClass(beanClass);
+					if (c == null)
+						c = Class.forName(beanClass);
+					Introspector.getBeanInfo(c);
+				} catch (Throwable e) {
+					// ignore
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jeta.forms.store.memento.FormMemento;
+
+/**
+ * A process-wide cache of parsed form templates. Opening a form requires
+ * reading the form file and parsing it into a FormMemento. Applications
+ * typically open the same handful of forms many times, so we keep the parsed
+ * mementos around and build new FormComponents directly from them.
+ * 
+ * Templates are keyed by the path used to load the form. Each entry also
+ * stores a stamp that identifies the version of the resource that was parsed.
+ * For files, the stamp is the last modified time. For classpath resources, the
+ * stamp is the ClassLoader that provided the resource. If the stamp no longer
+ * matches, the entry is discarded and the form is parsed again.
+ * 
+ * The cache is bounded and evicts the least recently used templates first.
+ * Cached mementos are shared, so callers must treat them as read-only.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormTemplateCache {
+	/**
+	 * The default maximum number of templates held by the cache.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	/**
+	 * The maximum number of templates held by the cache.
+	 */
+	private static int m_max_size = DEFAULT_MAX_SIZE;
+
+	/**
+	 * An access ordered map of paths to cache entries
+	 * m_templates<String,TemplateEntry>
+	 */
+	private static LinkedHashMap m_templates = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > m_max_size;
+		}
+	};
+
+	/**
+	 * Flag that indicates if the cache is enabled.
+	 */
+	private static boolean m_enabled = true;
+
+	/**
+	 * Cache statistics
+	 */
+	private static long m_hits = 0;
+	private static long m_misses = 0;
+
+	/**
+	 * Creates a <code>FormTemplateCache</code> instance. All methods are
+	 * static.
+	 */
+	private FormTemplateCache() {
+
+	}
+
+	/**
+	 * Removes all templates from the cache. The hit and miss counters are not
+	 * changed.
+	 */
+	public static synchronized void clear() {
+		m_templates.clear();
+	}
+
+	/**
+	 * Returns the cached template for the given path. Null is returned if the
+	 * template is not in the cache or if the cached template was created from a
+	 * different version of the resource.
+	 * 
+	 * @param path
+	 *            the path used to load the form
+	 * @param stamp
+	 *            identifies the version of the resource. This is either a Long
+	 *            (file modification time) or a ClassLoader.
+	 * @return the cached form memento or null
+	 */
+	public static synchronized FormMemento get(String path, Object stamp) {
+		if (!m_enabled || path == null) {
+			return null;
+		}
+
+		TemplateEntry entry = (TemplateEntry) m_templates.get(path);
+		if (entry != null) {
+			if (entry.isValid(stamp)) {
+				m_hits++;
+				return entry.getTemplate();
+			}
+			m_templates.remove(path);
+		}
+		m_misses++;
+		return null;
+	}
+
+	/**
+	 * Returns the number of successful lookups since the counters were last
+	 * reset.
+	 */
+	public static synchronized long getHitCount() {
+		return m_hits;
+	}
+
+	/**
+	 * Returns the maximum number of templates held by this cache.
+	 */
+	public static synchronized int getMaxSize() {
+		return m_max_size;
+	}
+
+	/**
+	 * Returns the number of failed lookups since the counters were last reset.
+	 */
+	public static synchronized long getMissCount() {
+		return m_misses;
+	}
+
+	/**
+	 * Removes the template for the given path from the cache.
+	 * 
+	 * @param path
+	 *            the path used to load the form. For forms on the local file
+	 *            system this is the canonical path. Otherwise, it is the path
+	 *            relative to the classpath.
+	 */
+	public static synchronized void invalidate(String path) {
+		if (path != null) {
+			m_templates.remove(path);
+			m_templates.remove(path.replace('\\', '/'));
+		}
+	}
+
+	/**
+	 * Returns true if the cache is enabled.
+	 */
+	public static synchronized boolean isEnabled() {
+		return m_enabled;
+	}
+
+	/**
+	 * Stores a parsed template in the cache.
+	 * 
+	 * @param path
+	 *            the path used to load the form
+	 * @param stamp
+	 *            identifies the version of the resource that was parsed.
+	 * @param template
+	 *            the parsed form. This object must not be modified after it is
+	 *            added to the cache.
+	 */
+	public static synchronized void put(String path, Object stamp, FormMemento template) {
+		if (m_enabled && path != null && template != null) {
+			m_templates.put(path, new TemplateEntry(stamp, template));
+		}
+	}
+
+	/**
+	 * Resets the hit and miss counters.
+	 */
+	public static synchronized void resetStatistics() {
+		m_hits = 0;
+		m_misses = 0;
+	}
+
+	/**
+	 * Enables or disables the cache. Disabling the cache also clears it.
+	 */
+	public static synchronized void setEnabled(boolean enabled) {
+		m_enabled = enabled;
+		if (!enabled)
+			m_templates.clear();
+	}
+
+	/**
+	 * Sets the maximum number of templates held by this cache. If the cache
+	 * currently holds more templates, the least recently used are evicted.
+	 */
+	public static synchronized void setMaxSize(int maxSize) {
+		m_max_size = Math.max(0, maxSize);
+		Iterator iter = m_templates.keySet().iterator();
+		while (m_templates.size() > m_max_size && iter.hasNext()) {
+			iter.next();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Returns the number of templates currently in the cache.
+	 */
+	public static synchronized int size() {
+		return m_templates.size();
+	}
+
+	/**
+	 * A parsed form and the stamp of the resource it was parsed from.
+	 */
+	private static class TemplateEntry {
+		/**
+		 * The file modification time (Long) or a weak reference to the
+		 * ClassLoader that loaded the resource.
+		 */
+		private Object m_stamp;
+
+		private FormMemento m_template;
+
+		TemplateEntry(Object stamp, FormMemento template) {
+			if (stamp instanceof ClassLoader)
+				m_stamp = new WeakReference(stamp);
+			else
+				m_stamp = stamp;
+			m_template = template;
+		}
+
+		FormMemento getTemplate() {
+			return m_template;
+		}
+
+		boolean isValid(Object stamp) {
+			if (m_stamp instanceof WeakReference)
+				return ((WeakReference) m_stamp).get() == stamp;
+			else if (m_stamp == null)
+				return stamp == null;
+			else
+				return m_stamp.equals(stamp);
+		}
+	}
+}
@@ -31,7 +31,9 @@ package com.jeta.forms.project;
 
 import javax.swing.ImageIcon;
 
+import com.jeta.forms.gui.formmgr.FormTemplateCache;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.resources.ImageCache;
 import com.jeta.open.resources.ResourceLoader;
 
 /**
@@ -50,11 +52,11 @@ public class RuntimeProjectManager implements ProjectManager {
 	}
 
 	/**
-	 * Clears any cached resources such as images. No op for this
-	 * implementation.
+	 * Clears any cached resources such as parsed form templates and images.
 	 */
 	public void clearResourceCache() {
-
+		FormTemplateCache.clear();
+		ImageCache.clear();
 	}
 
 	/**
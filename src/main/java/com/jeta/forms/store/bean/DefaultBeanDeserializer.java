@@ -45,6 +45,7 @@ import com.jeta.forms.store.memento.PropertiesMemento;
 import com.jeta.forms.store.properties.ColorHolder;
 import com.jeta.forms.store.properties.FontProperty;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
 
 /**
  * An implementation of BeanDeserializer that defines how a bean is instantiated
@@ -54,6 +55,11 @@ import com.jeta.open.registry.JETARegistry;
  * @author Jeff Tassin
  */
 public class DefaultBeanDeserializer implements BeanDeserializer {
+	/**
+	 * Handles to the registered services used by this class
+	 */
+	private static final ServiceHandle m_bean_mgr = JETARegistry.getHandle(BeanManager.COMPONENT_ID);
+
 	/**
 	 * The properties that are used as a basis for creating and initializing a
 	 * JETABean.
@@ -97,7 +103,7 @@ public class DefaultBeanDeserializer implements BeanDeserializer {
 				 * first, try the bean manager. This is for Java beans that were
 				 * imported in the designer
 				 */
-				BeanManager bmgr = (BeanManager) JETARegistry.lookup(BeanManager.COMPONENT_ID);
+				BeanManager bmgr = (BeanManager) m_bean_mgr.get();
 				if (bmgr != null) {
 					bean_class = bmgr.getBeanClass(m_memento.getBeanClassName());
 				}
@@ -0,0 +1,218 @@
+package com.jeta.forms.store.binary;
+
+import java.awt.Insets;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.jeta.forms.store.JETAPersistable;
+import com.jeta.forms.store.support.PropertyMap;
+
+/**
+ * Reads values in the compact binary form format. See {@link BinaryFormat}.
+ * 
+ * @author Jeff Tassin
+ */
+class BinaryDecoder {
+	private DataInputStream m_in;
+
+	/**
+	 * The interned strings read so far. The string index in the file is one
+	 * greater than the index in this list.
+	 */
+	private ArrayList m_strings = new ArrayList();
+
+	/**
+	 * Classes that have been resolved for this stream m_classes<String,Class>
+	 */
+	private HashMap m_classes = new HashMap();
+
+	BinaryDecoder(InputStream in) {
+		m_in = new DataInputStream(in);
+	}
+
+	/**
+	 * Reads and verifies the file header.
+	 */
+	void readHeader() throws IOException {
+		byte[] magic = new byte[BinaryFormat.MAGIC.length];
+		m_in.readFully(magic);
+		if (!BinaryFormat.isBinaryForm(magic, magic.length))
+			throw new IOException("Invalid binary form file.");
+
+		int version = readVarInt();
+		if (version > BinaryFormat.FORMAT_VERSION)
+			throw new IOException("Unsupported binary form file version: " + version);
+	}
+
+	/**
+	 * Reads the entries of a record up to and including the END marker.
+	 */
+	BinaryRecord readRecord() throws ClassNotFoundException, IOException {
+		BinaryRecord record = new BinaryRecord();
+		while (true) {
+			int entry = m_in.readUnsignedByte();
+			if (entry == BinaryFormat.END) {
+				return record;
+			}
+			else if (entry == BinaryFormat.FIELD) {
+				String name = readString();
+				record.put(name, readValue());
+			}
+			else if (entry == BinaryFormat.VERSION) {
+				record.setVersion(readVarInt());
+			}
+			else if (entry == BinaryFormat.SUPER) {
+				record.setSuperRecord(readRecord());
+			}
+			else {
+				throw new IOException("Invalid record entry in binary form file: " + entry);
+			}
+		}
+	}
+
+	String readString() throws IOException {
+		int index = readVarInt();
+		if (index == 0) {
+			byte[] utf = new byte[readVarInt()];
+			m_in.readFully(utf);
+			String value = new String(utf, "UTF-8");
+			m_strings.add(value);
+			return value;
+		}
+		else {
+			if (index > m_strings.size())
+				throw new IOException("Invalid string reference in binary form file: " + index);
+			return (String) m_strings.get(index - 1);
+		}
+	}
+
+	int readVarInt() throws IOException {
+		int value = 0;
+		int shift = 0;
+		while (shift < 35) {
+			int b = m_in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+			shift += 7;
+		}
+		throw new IOException("Invalid integer in binary form file.");
+	}
+
+	int readSignedVarInt() throws IOException {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads a type code and its value.
+	 */
+	Object readValue() throws ClassNotFoundException, IOException {
+		int type = readVarInt();
+		switch (type) {
+		case BinaryFormat.T_NULL:
+			return null;
+		case BinaryFormat.T_TRUE:
+			return Boolean.TRUE;
+		case BinaryFormat.T_FALSE:
+			return Boolean.FALSE;
+		case BinaryFormat.T_BYTE:
+			return Byte.valueOf(m_in.readByte());
+		case BinaryFormat.T_SHORT:
+			return Short.valueOf(m_in.readShort());
+		case BinaryFormat.T_CHAR:
+			return Character.valueOf(m_in.readChar());
+		case BinaryFormat.T_INT:
+			return Integer.valueOf(readSignedVarInt());
+		case BinaryFormat.T_LONG:
+			return Long.valueOf(m_in.readLong());
+		case BinaryFormat.T_FLOAT:
+			return Float.valueOf(m_in.readFloat());
+		case BinaryFormat.T_DOUBLE:
+			return Double.valueOf(m_in.readDouble());
+		case BinaryFormat.T_STRING:
+			return readString();
+		case BinaryFormat.T_BYTES: {
+			byte[] bytes = new byte[readVarInt()];
+			m_in.readFully(bytes);
+			return bytes;
+		}
+		case BinaryFormat.T_INSETS: {
+			int top = readSignedVarInt();
+			int left = readSignedVarInt();
+			int bottom = readSignedVarInt();
+			int right = readSignedVarInt();
+			return new Insets(top, left, bottom, right);
+		}
+		case BinaryFormat.T_LINKED_LIST:
+			return readList(new LinkedList());
+		case BinaryFormat.T_ARRAY_LIST:
+			return readList(new ArrayList());
+		case BinaryFormat.T_HASH_MAP:
+			return readMap(new HashMap());
+		case BinaryFormat.T_PROPERTY_MAP:
+			return readMap(new PropertyMap());
+		case BinaryFormat.T_OBJECT_ARRAY: {
+			Object[] items = new Object[readVarInt()];
+			for (int index = 0; index < items.length; index++) {
+				items[index] = readValue();
+			}
+			return items;
+		}
+		case BinaryFormat.T_PERSISTABLE:
+			return readPersistable();
+		case BinaryFormat.T_SERIALIZED: {
+			byte[] bytes = new byte[readVarInt()];
+			m_in.readFully(bytes);
+			ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+			return ois.readObject();
+		}
+		default:
+			throw new IOException("Invalid value type in binary form file: " + type);
+		}
+	}
+
+	private List readList(List list) throws ClassNotFoundException, IOException {
+		int count = readVarInt();
+		for (int index = 0; index < count; index++) {
+			list.add(readValue());
+		}
+		return list;
+	}
+
+	private Map readMap(Map map) throws ClassNotFoundException, IOException {
+		int count = readVarInt();
+		for (int index = 0; index < count; index++) {
+			Object key = readValue();
+			map.put(key, readValue());
+		}
+		return map;
+	}
+
+	private Object readPersistable() throws ClassNotFoundException, IOException {
+		String classname = readString();
+		Class c = (Class) m_classes.get(classname);
+		if (c == null) {
+			c = Class.forName(classname);
+			m_classes.put(classname, c);
+		}
+
+		BinaryRecord record = readRecord();
+		JETAPersistable obj = null;
+		try {
+			obj = (JETAPersistable) c.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IOException("Unable to create " + classname + ": " + e.getMessage());
+		}
+		obj.read(new BinaryObjectInput(record));
+		return obj;
+	}
+}
@@ -0,0 +1,218 @@
+package com.jeta.forms.store.binary;
+
+import java.awt.Insets;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.jeta.forms.store.JETAPersistable;
+import com.jeta.forms.store.jml.PrimitiveHolder;
+import com.jeta.forms.store.support.PropertyMap;
+
+/**
+ * Writes values in the compact binary form format. See {@link BinaryFormat}.
+ * 
+ * @author Jeff Tassin
+ */
+class BinaryEncoder {
+	private DataOutputStream m_out;
+
+	/**
+	 * The interned strings written so far m_strings<String,Integer>
+	 */
+	private HashMap m_strings = new HashMap();
+
+	BinaryEncoder(OutputStream out) {
+		m_out = new DataOutputStream(out);
+	}
+
+	void flush() throws IOException {
+		m_out.flush();
+	}
+
+	void writeByte(int value) throws IOException {
+		m_out.writeByte(value);
+	}
+
+	/**
+	 * Writes the file header.
+	 */
+	void writeHeader() throws IOException {
+		m_out.write(BinaryFormat.MAGIC);
+		writeVarInt(BinaryFormat.FORMAT_VERSION);
+	}
+
+	/**
+	 * Writes an interned string. A zero index is followed by the string
+	 * contents. Otherwise, the index refers to a string that was already
+	 * written.
+	 */
+	void writeString(String value) throws IOException {
+		Integer index = (Integer) m_strings.get(value);
+		if (index == null) {
+			m_strings.put(value, Integer.valueOf(m_strings.size() + 1));
+			writeVarInt(0);
+			byte[] utf = value.getBytes("UTF-8");
+			writeVarInt(utf.length);
+			m_out.write(utf);
+		}
+		else {
+			writeVarInt(index.intValue());
+		}
+	}
+
+	/**
+	 * Writes an unsigned variable length integer.
+	 */
+	void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			m_out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		m_out.writeByte(value);
+	}
+
+	/**
+	 * Writes a signed variable length integer. Small negative values take a
+	 * single byte.
+	 */
+	void writeSignedVarInt(int value) throws IOException {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Writes a type code followed by the given value.
+	 */
+	void writeValue(Object value) throws IOException {
+		if (value instanceof PrimitiveHolder)
+			value = ((PrimitiveHolder) value).getPrimitive();
+
+		if (value == null) {
+			writeVarInt(BinaryFormat.T_NULL);
+		}
+		else if (value instanceof String) {
+			writeVarInt(BinaryFormat.T_STRING);
+			writeString((String) value);
+		}
+		else if (value instanceof Boolean) {
+			writeVarInt(((Boolean) value).booleanValue() ? BinaryFormat.T_TRUE : BinaryFormat.T_FALSE);
+		}
+		else if (value instanceof Integer) {
+			writeVarInt(BinaryFormat.T_INT);
+			writeSignedVarInt(((Integer) value).intValue());
+		}
+		else if (value instanceof Float) {
+			writeVarInt(BinaryFormat.T_FLOAT);
+			m_out.writeFloat(((Float) value).floatValue());
+		}
+		else if (value instanceof Byte) {
+			writeVarInt(BinaryFormat.T_BYTE);
+			m_out.writeByte(((Byte) value).byteValue());
+		}
+		else if (value instanceof Short) {
+			writeVarInt(BinaryFormat.T_SHORT);
+			m_out.writeShort(((Short) value).shortValue());
+		}
+		else if (value instanceof Character) {
+			writeVarInt(BinaryFormat.T_CHAR);
+			m_out.writeChar(((Character) value).charValue());
+		}
+		else if (value instanceof Long) {
+			writeVarInt(BinaryFormat.T_LONG);
+			m_out.writeLong(((Long) value).longValue());
+		}
+		else if (value instanceof Double) {
+			writeVarInt(BinaryFormat.T_DOUBLE);
+			m_out.writeDouble(((Double) value).doubleValue());
+		}
+		else if (value instanceof byte[]) {
+			byte[] bytes = (byte[]) value;
+			writeVarInt(BinaryFormat.T_BYTES);
+			writeVarInt(bytes.length);
+			m_out.write(bytes);
+		}
+		else if (value instanceof JETAPersistable) {
+			writeVarInt(BinaryFormat.T_PERSISTABLE);
+			writeString(value.getClass().getName());
+			BinaryObjectOutput out = new BinaryObjectOutput(this);
+			((JETAPersistable) value).write(out);
+			out.close();
+		}
+		else if (value.getClass() == Insets.class) {
+			Insets insets = (Insets) value;
+			writeVarInt(BinaryFormat.T_INSETS);
+			writeSignedVarInt(insets.top);
+			writeSignedVarInt(insets.left);
+			writeSignedVarInt(insets.bottom);
+			writeSignedVarInt(insets.right);
+		}
+		else if (value.getClass() == LinkedList.class) {
+			writeVarInt(BinaryFormat.T_LINKED_LIST);
+			writeList((List) value);
+		}
+		else if (value.getClass() == ArrayList.class) {
+			writeVarInt(BinaryFormat.T_ARRAY_LIST);
+			writeList((List) value);
+		}
+		else if (value.getClass() == HashMap.class) {
+			writeVarInt(BinaryFormat.T_HASH_MAP);
+			writeMap((Map) value);
+		}
+		else if (value.getClass() == PropertyMap.class) {
+			writeVarInt(BinaryFormat.T_PROPERTY_MAP);
+			writeMap((Map) value);
+		}
+		else if (value.getClass() == Object[].class) {
+			Object[] items = (Object[]) value;
+			writeVarInt(BinaryFormat.T_OBJECT_ARRAY);
+			writeVarInt(items.length);
+			for (int index = 0; index < items.length; index++) {
+				writeValue(items[index]);
+			}
+		}
+		else if (value instanceof Serializable) {
+			/**
+			 * Fall back to standard Java serialization for any type we don't
+			 * know about.
+			 */
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ObjectOutputStream oos = new ObjectOutputStream(bos);
+			oos.writeObject(value);
+			oos.close();
+			byte[] bytes = bos.toByteArray();
+			writeVarInt(BinaryFormat.T_SERIALIZED);
+			writeVarInt(bytes.length);
+			m_out.write(bytes);
+		}
+		else {
+			throw new IOException("BinaryEncoder cannot store object of type: " + value.getClass().getName());
+		}
+	}
+
+	private void writeList(List list) throws IOException {
+		writeVarInt(list.size());
+		Iterator iter = list.iterator();
+		while (iter.hasNext()) {
+			writeValue(iter.next());
+		}
+	}
+
+	private void writeMap(Map map) throws IOException {
+		writeVarInt(map.size());
+		Iterator iter = map.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry entry = (Map.Entry) iter.next();
+			writeValue(entry.getKey());
+			writeValue(entry.getValue());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.jeta.forms.store.binary;
+
+/**
+ * Constants for the compact binary form format (.jfrmb). A file starts with
+ * the MAGIC bytes followed by the FORMAT_VERSION and a single encoded value
+ * (normally a FormPackage).
+ * 
+ * JETAPersistable objects are stored as tagged records. Each record is a
+ * sequence of FIELD, VERSION and SUPER entries terminated by END. Field names,
+ * class names and string values are interned: the first occurrence of a
+ * string is stored inline and assigned the next index in the string table.
+ * Later occurrences only store the index.
+ * 
+ * @author Jeff Tassin
+ */
+public class BinaryFormat {
+	/**
+	 * The first bytes of every compact binary form file.
+	 */
+	public static final byte[] MAGIC = { 'J', 'F', 'R', 'M', 'B' };
+
+	/**
+	 * The version of the encoding (not the version of the objects stored in
+	 * the file).
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The recommended file extension for this format.
+	 */
+	public static final String FILE_EXTENSION = ".jfrmb";
+
+	/** record entries */
+	static final int END = 0;
+	static final int FIELD = 1;
+	static final int VERSION = 2;
+	static final int SUPER = 3;
+
+	/** value types */
+	static final int T_NULL = 0;
+	static final int T_TRUE = 1;
+	static final int T_FALSE = 2;
+	static final int T_BYTE = 3;
+	static final int T_SHORT = 4;
+	static final int T_CHAR = 5;
+	static final int T_INT = 6;
+	static final int T_LONG = 7;
+	static final int T_FLOAT = 8;
+	static final int T_DOUBLE = 9;
+	static final int T_STRING = 10;
+	static final int T_BYTES = 11;
+	static final int T_INSETS = 12;
+	static final int T_LINKED_LIST = 13;
+	static final int T_ARRAY_LIST = 14;
+	static final int T_HASH_MAP = 15;
+	static final int T_PROPERTY_MAP = 16;
+	static final int T_OBJECT_ARRAY = 17;
+	static final int T_PERSISTABLE = 18;
+	static final int T_SERIALIZED = 19;
+
+	private BinaryFormat() {
+
+	}
+
+	/**
+	 * Returns true if the given bytes start with the magic number for this
+	 * format.
+	 * 
+	 * @param header
+	 *            the first bytes of a file
+	 * @param length
+	 *            the number of valid bytes in the header
+	 */
+	public static boolean isBinaryForm(byte[] header, int length) {
+		if (header == null || length < MAGIC.length)
+			return false;
+
+		for (int index = 0; index < MAGIC.length; index++) {
+			if (header[index] != MAGIC[index])
+				return false;
+		}
+		return true;
+	}
+}
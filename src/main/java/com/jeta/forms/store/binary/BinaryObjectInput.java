@@ -0,0 +1,73 @@
+package com.jeta.forms.store.binary;
+
+import java.io.IOException;
+
+import com.jeta.forms.store.JETAObjectInput;
+
+/**
+ * A JETAObjectInput implementation that reads values from a record that was
+ * written by {@link BinaryObjectOutput}. Values are looked up by name, so
+ * missing values return the defaults.
+ * 
+ * @author Jeff Tassin
+ */
+public class BinaryObjectInput implements JETAObjectInput {
+	private BinaryRecord m_record;
+
+	BinaryObjectInput(BinaryRecord record) {
+		m_record = (record == null ? new BinaryRecord() : record);
+	}
+
+	public JETAObjectInput getSuperClassInput() {
+		return new BinaryObjectInput(m_record.getSuperRecord());
+	}
+
+	public boolean readBoolean(String tagName) throws IOException {
+		return readBoolean(tagName, false);
+	}
+
+	public boolean readBoolean(String tagName, boolean defaultValue) throws IOException {
+		Object pvalue = m_record.get(tagName);
+		if (pvalue instanceof Boolean)
+			return ((Boolean) pvalue).booleanValue();
+
+		return (pvalue == null ? defaultValue : Boolean.valueOf(pvalue.toString()).booleanValue());
+	}
+
+	public float readFloat(String tagName) throws IOException {
+		return readFloat(tagName, 0.0f);
+	}
+
+	public float readFloat(String tagName, float defaultValue) throws IOException {
+		Object pvalue = m_record.get(tagName);
+		if (pvalue instanceof Number)
+			return ((Number) pvalue).floatValue();
+
+		return (pvalue == null ? defaultValue : Float.parseFloat(pvalue.toString()));
+	}
+
+	public int readInt(String tagName) throws IOException {
+		return readInt(tagName, 0);
+	}
+
+	public int readInt(String tagName, int defaultValue) throws IOException {
+		Object pvalue = m_record.get(tagName);
+		if (pvalue instanceof Number)
+			return ((Number) pvalue).intValue();
+
+		return (pvalue == null ? defaultValue : Integer.parseInt(pvalue.toString()));
+	}
+
+	public Object readObject(String tagName) throws ClassNotFoundException, IOException {
+		return m_record.get(tagName);
+	}
+
+	public String readString(String tagName) throws IOException {
+		Object pvalue = m_record.get(tagName);
+		return (pvalue == null ? null : pvalue.toString());
+	}
+
+	public int readVersion() throws IOException {
+		return m_record.getVersion();
+	}
+}
@@ -0,0 +1,121 @@
+package com.jeta.forms.store.binary;
+
+import java.io.IOException;
+
+import com.jeta.forms.store.JETAObjectOutput;
+
+/**
+ * A JETAObjectOutput implementation that writes a JETAPersistable object as a
+ * tagged record in the compact binary form format. See {@link BinaryFormat}.
+ * 
+ * Like the XML format, each value is stored with its name and values that are
+ * equal to their defaults are omitted. Super classes are stored in nested
+ * records so that a class and its super class can use the same names.
+ * 
+ * @author Jeff Tassin
+ */
+public class BinaryObjectOutput implements JETAObjectOutput {
+	private BinaryEncoder m_encoder;
+
+	/**
+	 * The record for the super class if one is currently open. The super class
+	 * record is closed as soon as we write anything else to this record.
+	 */
+	private BinaryObjectOutput m_super;
+
+	/**
+	 * Set to true when the END marker for this record has been written.
+	 */
+	private boolean m_closed = false;
+
+	BinaryObjectOutput(BinaryEncoder encoder) {
+		m_encoder = encoder;
+	}
+
+	/**
+	 * Prepares the stream for a new entry in this record.
+	 */
+	private void beginEntry() throws IOException {
+		if (m_closed)
+			throw new IOException("BinaryObjectOutput record is already closed.");
+
+		if (m_super != null) {
+			m_super.close();
+			m_super = null;
+		}
+	}
+
+	private void beginField(String tagName) throws IOException {
+		beginEntry();
+		m_encoder.writeByte(BinaryFormat.FIELD);
+		m_encoder.writeString(tagName);
+	}
+
+	/**
+	 * Writes the END marker for this record and any open super class records.
+	 */
+	void close() throws IOException {
+		if (!m_closed) {
+			if (m_super != null) {
+				m_super.close();
+				m_super = null;
+			}
+			m_encoder.writeByte(BinaryFormat.END);
+			m_closed = true;
+		}
+	}
+
+	public JETAObjectOutput getSuperClassOutput(Class superClass) {
+		try {
+			beginEntry();
+			m_encoder.writeByte(BinaryFormat.SUPER);
+			m_super = new BinaryObjectOutput(m_encoder);
+			return m_super;
+		} catch (IOException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+
+	public void writeBoolean(String tagName, boolean bval) throws IOException {
+		beginField(tagName);
+		m_encoder.writeValue(Boolean.valueOf(bval));
+	}
+
+	public void writeBoolean(String tagName, boolean bval, boolean defaultValue) throws IOException {
+		if (bval != defaultValue)
+			writeBoolean(tagName, bval);
+	}
+
+	public void writeFloat(String tagName, float fval) throws IOException {
+		beginField(tagName);
+		m_encoder.writeValue(Float.valueOf(fval));
+	}
+
+	public void writeFloat(String tagName, float value, float defaultValue) throws IOException {
+		if (value != defaultValue)
+			writeFloat(tagName, value);
+	}
+
+	public void writeInt(String tagName, int value) throws IOException {
+		beginField(tagName);
+		m_encoder.writeValue(Integer.valueOf(value));
+	}
+
+	public void writeInt(String tagName, int value, int defaultValue) throws IOException {
+		if (value != defaultValue)
+			writeInt(tagName, value);
+	}
+
+	public void writeObject(String tagName, Object obj) throws IOException {
+		if (obj != null) {
+			beginField(tagName);
+			m_encoder.writeValue(obj);
+		}
+	}
+
+	public void writeVersion(int version) throws IOException {
+		beginEntry();
+		m_encoder.writeByte(BinaryFormat.VERSION);
+		m_encoder.writeVarInt(version);
+	}
+}
@@ -0,0 +1,50 @@
+package com.jeta.forms.store.binary;
+
+import java.util.HashMap;
+
+/**
+ * The decoded contents of a single record in the compact binary form format.
+ * 
+ * @author Jeff Tassin
+ */
+class BinaryRecord {
+	/**
+	 * The named values in this record m_fields<String,Object>
+	 */
+	private HashMap m_fields = new HashMap();
+
+	/**
+	 * The class version. If the version was not stored, we assume the latest
+	 * version (this is the same behavior as the XML format).
+	 */
+	private int m_version = Integer.MAX_VALUE;
+
+	/**
+	 * The record for the super class. Can be null.
+	 */
+	private BinaryRecord m_super;
+
+	Object get(String name) {
+		return m_fields.get(name);
+	}
+
+	BinaryRecord getSuperRecord() {
+		return m_super;
+	}
+
+	int getVersion() {
+		return m_version;
+	}
+
+	void put(String name, Object value) {
+		m_fields.put(name, value);
+	}
+
+	void setSuperRecord(BinaryRecord superRecord) {
+		m_super = superRecord;
+	}
+
+	void setVersion(int version) {
+		m_version = version;
+	}
+}
@@ -0,0 +1,41 @@
+package com.jeta.forms.store.binary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Utility methods for reading and writing objects in the compact binary form
+ * format (.jfrmb). This format stores the same JETAPersistable object graph as
+ * the XML format, but uses a tagged binary encoding with an interned string
+ * table. It is much smaller than XML and faster to read than both XML and
+ * Java serialization.
+ * 
+ * @author Jeff Tassin
+ */
+public class BinaryUtils {
+
+	/**
+	 * Reads an object (normally a FormPackage) from the given stream. The
+	 * stream is not closed.
+	 */
+	public static Object readObject(InputStream istream) throws ClassNotFoundException, IOException {
+		BinaryDecoder decoder = new BinaryDecoder(new BufferedInputStream(istream));
+		decoder.readHeader();
+		return decoder.readValue();
+	}
+
+	/**
+	 * Writes an object (normally a FormPackage) to the given stream. The
+	 * stream is flushed but not closed.
+	 */
+	public static void writeObject(OutputStream ostream, Object obj) throws IOException {
+		BufferedOutputStream bos = new BufferedOutputStream(ostream);
+		BinaryEncoder encoder = new BinaryEncoder(bos);
+		encoder.writeHeader();
+		encoder.writeValue(obj);
+		encoder.flush();
+	}
+}
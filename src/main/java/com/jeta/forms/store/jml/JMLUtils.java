@@ -14,9 +14,21 @@ import com.jeta.forms.store.jml.dom.JMLDocument;
 import com.jeta.forms.store.jml.dom.JMLNode;
 import com.jeta.forms.store.xml.parser.CustomSAXException;
 import com.jeta.forms.store.xml.parser.MainHandler;
+import com.jeta.forms.store.xml.parser.StreamParser;
 
 public class JMLUtils {
 
+	/**
+	 * System property that selects the parser used by readObject. Set to
+	 * "stax" to read forms with the StAX pull parser.
+	 */
+	public static final String XML_PARSER_PROPERTY = "jeta.forms.xml.parser";
+
+	/**
+	 * Created on first use. Access must be synchronized on JMLUtils.class
+	 */
+	private static SAXParserFactory m_saxFactory;
+
 	public static void verifyObjectType(Object obj, Class cls) throws JMLException {
 		if (obj != null && obj.getClass() != cls) {
 			throw new JMLException("Verify object class failed.  Expecting: " + cls + "  but got: " + obj.getClass());
@@ -34,9 +46,34 @@ public class JMLUtils {
 		}
 	}
 
+	/**
+	 * Reads a JML document from the given stream. The document is parsed with
+	 * SAX unless the system property jeta.forms.xml.parser is set to "stax".
+	 */
 	public static Object readObject(InputStream istream) throws JMLException {
+		return readObject(istream, "stax".equalsIgnoreCase(System.getProperty(XML_PARSER_PROPERTY)));
+	}
+
+	/**
+	 * Reads a JML document from the given stream.
+	 * 
+	 * @param istream
+	 *            the stream to read
+	 * @param pullParser
+	 *            if true, the document is read with the StAX StreamParser.
+	 *            Otherwise, it is read with SAX. Both return the same object.
+	 */
+	public static Object readObject(InputStream istream, boolean pullParser) throws JMLException {
 		try {
-			SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+			if (pullParser)
+				return StreamParser.readObject(istream);
+
+			SAXParser parser = null;
+			synchronized (JMLUtils.class) {
+				if (m_saxFactory == null)
+					m_saxFactory = SAXParserFactory.newInstance();
+				parser = m_saxFactory.newSAXParser();
+			}
 			MainHandler handler = new MainHandler();
 			parser.parse(istream, handler);
 			return handler.getObject();
@@ -40,6 +40,7 @@ import javax.swing.ImageIcon;
 import com.jeta.forms.store.AbstractJETAPersistable;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.open.resources.AsyncImageLoader;
 
 /**
  * Represents a storable icon. This class takes the raw bytes from an image file
@@ -96,11 +97,13 @@ public class IconMemento extends AbstractJETAPersistable implements Cloneable {
 	}
 
 	/**
-	 * Returns an image icon based on the image data in this memento.
+	 * Returns an image icon based on the image data in this memento. If the
+	 * image is being decoded in the background, this method waits for the
+	 * decode to finish.
 	 * 
 	 * @return the image icon based on the image of this memento
 	 */
-	public ImageIcon getImageIcon() {
+	public synchronized ImageIcon getImageIcon() {
 		if (m_icon == null && m_image_bytes != null)
 			m_icon = new ImageIcon(m_image_bytes);
 
@@ -157,6 +160,19 @@ public class IconMemento extends AbstractJETAPersistable implements Cloneable {
 	public void read(JETAObjectInput in) throws ClassNotFoundException, IOException {
 		int version = in.readVersion();
 		m_image_bytes = (byte[]) in.readObject("imagebytes");
+		m_icon = null;
+
+		/**
+		 * Start decoding the image now so it is usually ready by the time
+		 * the icon is needed.
+		 */
+		if (m_image_bytes != null && AsyncImageLoader.isEnabled()) {
+			AsyncImageLoader.submit(new AsyncImageLoader.Request() {
+				protected void load() {
+					getImageIcon();
+				}
+			});
+		}
 	}
 
 	/**
@@ -303,7 +303,7 @@ public class BevelBorderProperty extends BorderProperty {
 		}
 		else {
 			m_highlightOuter = (ColorProperty) in.readObject("highlightouter");
-			m_highlightInner = (ColorProperty) in.readObject("ightlightinner");
+			m_highlightInner = (ColorProperty) in.readObject("highlightinner");
 			m_shadowOuter = (ColorProperty) in.readObject("shadowouter");
 			m_shadowInner = (ColorProperty) in.readObject("shadowinner");
 		}
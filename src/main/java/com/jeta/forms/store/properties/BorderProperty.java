@@ -419,7 +419,7 @@ public class BorderProperty extends JETAProperty {
 			m_title = bp.m_title;
 			m_justification = bp.m_justification;
 			m_position = bp.m_position;
-			m_text_color = bp.m_text_color;
+			m_text_color = (ColorProperty) copyOf(bp.m_text_color);
 			m_top = bp.m_top;
 			m_left = bp.m_left;
 			m_bottom = bp.m_bottom;
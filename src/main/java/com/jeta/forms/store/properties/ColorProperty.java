@@ -32,11 +32,13 @@ package com.jeta.forms.store.properties;
 import java.awt.Color;
 import java.io.IOException;
 
+import com.jeta.forms.colormgr.ColorCache;
 import com.jeta.forms.colormgr.ColorManager;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
 
 /**
  * A <code>ColorProperty</code> object defines a 'dynamic' color value for
@@ -53,6 +55,11 @@ import com.jeta.open.registry.JETARegistry;
  * @author Jeff Tassin
  */
 public class ColorProperty extends JETAProperty {
+	/**
+	 * Handles to the registered services used by this class
+	 */
+	private static final ServiceHandle m_color_mgr = JETARegistry.getHandle(ColorManager.COMPONENT_ID);
+
 	static final long serialVersionUID = -4907629297184715948L;
 
 	/**
@@ -90,6 +97,13 @@ public class ColorProperty extends JETAProperty {
 
 	private float m_brightness_factor = 0.7f;
 
+	/**
+	 * The last resolved color and the ColorCache generation it was resolved
+	 * in.
+	 */
+	private transient Color m_resolved;
+	private transient int m_resolved_generation;
+
 	/**
 	 * The default brightness factor
 	 */
@@ -207,15 +221,47 @@ public class ColorProperty extends JETAProperty {
 	 * Otherwise, the color is retrieved from the color manager. Currently, the
 	 * color manager merely forwards the call to the UIManager.
 	 * 
+	 * Resolved colors are cached until the look and feel or the UIManager
+	 * defaults change. See {@link ColorCache}.
+	 * 
 	 * @return the color specified by this property.
 	 */
 	public Color getColor() {
+		Color result = m_resolved;
+		if (result != null && m_resolved_generation == ColorCache.getGeneration()) {
+			ColorCache.markAvoided();
+			return result;
+		}
+
+		boolean constant = isConstant();
+		if (constant && (m_brightness == 0 || m_constant_color instanceof ColorProxy)) {
+			/** nothing to resolve or the color can change at any time */
+			return resolveColor();
+		}
+
+		int generation = ColorCache.getGeneration();
+		Color constant_color = constant ? m_constant_color : null;
+		result = ColorCache.get(m_color_key, constant_color, m_brightness, m_brightness_factor);
+		if (result == null) {
+			result = resolveColor();
+			ColorCache.put(m_color_key, constant_color, m_brightness, m_brightness_factor, result, generation);
+		}
+		m_resolved = result;
+		m_resolved_generation = generation;
+		return result;
+	}
+
+	/**
+	 * Gets the color from the constant color or the color manager and applies
+	 * the brightness.
+	 */
+	private Color resolveColor() {
 		Color result = Color.white;
 		if (isConstant()) {
 			result = m_constant_color;
 		}
 		else {
-			ColorManager cmgr = (ColorManager) JETARegistry.lookup(ColorManager.COMPONENT_ID);
+			ColorManager cmgr = (ColorManager) m_color_mgr.get();
 			if (cmgr != null)
 				result = cmgr.getColor(m_color_key, null);
 		}
@@ -272,14 +318,17 @@ public class ColorProperty extends JETAProperty {
 	}
 
 	public void setBrightness(int ival) {
+		m_resolved = null;
 		m_brightness = ival;
 	}
 
 	public void setBrightnessFactor(float fval) {
+		m_resolved = null;
 		m_brightness_factor = fval;
 	}
 
 	public void setColorKey(String color_key) {
+		m_resolved = null;
 		m_color_key = color_key;
 	}
 
@@ -291,6 +340,7 @@ public class ColorProperty extends JETAProperty {
 	}
 
 	public void setConstantColor(Color c) {
+		m_resolved = null;
 		m_constant_color = c;
 		m_color_key = CONSTANT_COLOR;
 	}
@@ -299,6 +349,7 @@ public class ColorProperty extends JETAProperty {
 	 * Sets this property to that of another property.
 	 */
 	public void setValue(Object prop) {
+		m_resolved = null;
 		if (prop instanceof ColorProperty) {
 			ColorProperty cprop = (ColorProperty) prop;
 			m_color_key = cprop.m_color_key;
@@ -324,6 +375,7 @@ public class ColorProperty extends JETAProperty {
 	public void read(JETAObjectInput in) throws ClassNotFoundException, IOException {
 		super.read(in.getSuperClassInput());
 		int version = in.readVersion();
+		m_resolved = null;
 		m_color_key = (String) in.readObject("colorkey");
 		Object color = in.readObject("constantcolor");
 		if (color instanceof Color)
@@ -156,7 +156,9 @@ public class CompoundBorderProperty extends BorderProperty {
 		if (prop instanceof CompoundBorderProperty) {
 			CompoundBorderProperty cb = (CompoundBorderProperty) prop;
 			m_borders.clear();
-			m_borders.addAll(cb.m_borders);
+			Iterator iter = cb.m_borders.iterator();
+			while (iter.hasNext())
+				m_borders.add(copyOf((JETAProperty) iter.next()));
 		}
 	}
 
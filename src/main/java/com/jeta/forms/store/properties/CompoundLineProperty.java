@@ -183,7 +183,9 @@ public class CompoundLineProperty extends JETAProperty {
 		if (prop instanceof CompoundLineProperty) {
 			CompoundLineProperty cb = (CompoundLineProperty) prop;
 			m_lines.clear();
-			m_lines.addAll(cb.m_lines);
+			Iterator iter = cb.m_lines.iterator();
+			while (iter.hasNext())
+				m_lines.add(copyOf((JETAProperty) iter.next()));
 			m_position = cb.m_position;
 		}
 	}
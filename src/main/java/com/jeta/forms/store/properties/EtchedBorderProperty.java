@@ -199,8 +199,8 @@ public class EtchedBorderProperty extends BorderProperty {
 		if (prop instanceof EtchedBorderProperty) {
 			EtchedBorderProperty bp = (EtchedBorderProperty) prop;
 			m_type = bp.m_type;
-			m_highlightColor = bp.m_highlightColor;
-			m_shadowColor = bp.m_shadowColor;
+			m_highlightColor = (ColorProperty) copyOf(bp.m_highlightColor);
+			m_shadowColor = (ColorProperty) copyOf(bp.m_shadowColor);
 		}
 		else {
 			assert (false);
@@ -32,9 +32,14 @@ package com.jeta.forms.store.properties;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedList;
 
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
 
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.common.FormUtils;
@@ -42,6 +47,8 @@ import com.jeta.forms.project.ProjectManager;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
+import com.jeta.open.resources.AsyncImageLoader;
 
 /**
  * A class for handling handling icon properties in a Java bean. All icons are
@@ -53,6 +60,11 @@ import com.jeta.open.registry.JETARegistry;
  * @author Jeff Tassin
  */
 public class IconProperty extends JETAProperty implements Icon {
+	/**
+	 * Handles to the registered services used by this class
+	 */
+	private static final ServiceHandle m_project_mgr = JETARegistry.getHandle(ProjectManager.COMPONENT_ID);
+
 
 	static final long serialVersionUID = -7743120720855547949L;
 
@@ -77,7 +89,28 @@ public class IconProperty extends JETAProperty implements Icon {
 	/**
 	 * The actual image.
 	 */
-	private transient ImageIcon m_image;
+	private transient volatile ImageIcon m_image;
+
+	/**
+	 * A pending background load of the image. While the load is pending, this
+	 * property paints nothing and reports the width and height that were
+	 * stored in the form file.
+	 */
+	private transient volatile IconRequest m_request;
+
+	/**
+	 * The size of the image as stored in the form file.
+	 */
+	private transient int m_width;
+	private transient int m_height;
+
+	/**
+	 * Components that this icon was installed on or that painted this icon
+	 * while the load was pending. These are repainted when the image is
+	 * available, and revalidated if the image is not the size stored in the
+	 * form file. m_clients<WeakReference>
+	 */
+	private transient LinkedList m_clients;
 
 	/**
 	 * A description for the image. This is useful if the image is embedded.
@@ -103,30 +136,64 @@ public class IconProperty extends JETAProperty implements Icon {
 	}
 
 	/**
-	 * Returns the underlying image icon.
+	 * Returns the underlying image icon. If the image is being loaded in the
+	 * background, this method waits for the load to finish.
 	 * 
 	 * @return the underlying image icon;
 	 */
 	public ImageIcon imageIcon() {
+		IconRequest request = m_request;
+		if (request != null)
+			request.complete();
+
 		return m_image;
 	}
 
 	/**
-	 * Returns the width of the icon in pixels.
+	 * Returns the width of the icon in pixels. While the image is loading, the
+	 * width stored in the form file is returned if we know which components to
+	 * revalidate should the image turn out to be a different size. Otherwise,
+	 * this method waits for the load to finish.
 	 * 
 	 * @return the width of the image in pixels
 	 */
 	public int getIconWidth() {
-		return m_image == null ? 0 : m_image.getIconWidth();
+		ImageIcon image = m_image;
+		if (image == null) {
+			if (m_request == null)
+				return 0;
+			if (hasClients())
+				return m_width;
+			image = imageIcon();
+		}
+		return (image == null) ? 0 : image.getIconWidth();
 	}
 
 	/**
-	 * Returns the height of the icon in pixels.
+	 * Returns the height of the icon in pixels. See {@link #getIconWidth()}
 	 * 
 	 * @return the height of the image in pixels
 	 */
 	public int getIconHeight() {
-		return m_image == null ? 0 : m_image.getIconHeight();
+		ImageIcon image = m_image;
+		if (image == null) {
+			if (m_request == null)
+				return 0;
+			if (hasClients())
+				return m_height;
+			image = imageIcon();
+		}
+		return (image == null) ? 0 : image.getIconHeight();
+	}
+
+	/**
+	 * Records that this icon was installed on the given component (e.g. as
+	 * the icon of a label). If the image is still loading, the component is
+	 * revalidated and repainted when the load completes. Otherwise, this
+	 * method does nothing.
+	 */
+	public void installOn(Component comp) {
+		addClient(comp);
 	}
 
 	/**
@@ -154,8 +221,9 @@ public class IconProperty extends JETAProperty implements Icon {
 	 * ImageIcon.
 	 */
 	public void loadImage() {
+		m_request = null;
 		try {
-			ProjectManager pmgr = (ProjectManager) JETARegistry.lookup(ProjectManager.COMPONENT_ID);
+			ProjectManager pmgr = (ProjectManager) m_project_mgr.get();
 			if (pmgr != null && m_path != null && m_path.length() > 0) {
 				m_image = pmgr.loadImage(m_path);
 			}
@@ -164,13 +232,110 @@ public class IconProperty extends JETAProperty implements Icon {
 		}
 	}
 
+	/**
+	 * Loads the image on a background thread if the size of the image is
+	 * known. Otherwise, the image is loaded immediately. See
+	 * {@link com.jeta.open.resources.AsyncImageLoader}
+	 * 
+	 * @param width
+	 *            the expected width of the image
+	 * @param height
+	 *            the expected height of the image
+	 */
+	private void loadImageAsync(int width, int height) {
+		if (width <= 0 || height <= 0 || m_path == null || m_path.length() == 0 || !AsyncImageLoader.isEnabled()) {
+			loadImage();
+			return;
+		}
+
+		m_image = null;
+		m_width = width;
+		m_height = height;
+		IconRequest request = new IconRequest(this, m_path);
+		m_request = request;
+		AsyncImageLoader.submit(request);
+	}
+
+	/**
+	 * Called when a background load completes. Stores the image and repaints
+	 * the components that the icon was installed on or that painted the
+	 * placeholder. These are the only components that can have measured the
+	 * placeholder (see {@link #getIconWidth()}), so they are revalidated if
+	 * the image is not the expected size.
+	 */
+	private void loadComplete(IconRequest request, ImageIcon image) {
+		final LinkedList clients;
+		synchronized (this) {
+			if (m_request != request)
+				return;
+
+			m_image = image;
+			m_request = null;
+			clients = m_clients;
+			m_clients = null;
+		}
+
+		if (clients != null) {
+			final boolean resized = (image == null) || image.getIconWidth() != m_width || image.getIconHeight() != m_height;
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					Iterator iter = clients.iterator();
+					while (iter.hasNext()) {
+						Component comp = (Component) ((WeakReference) iter.next()).get();
+						if (comp != null) {
+							if (resized && comp instanceof JComponent)
+								((JComponent) comp).revalidate();
+							comp.repaint();
+						}
+					}
+				}
+			});
+		}
+	}
+
 	/**
 	 * Icon implementation. Renders the icon specified by this property on the
-	 * given graphics context.
+	 * given graphics context. If the image is still loading, nothing is
+	 * rendered and the load is moved ahead of images that are not visible.
 	 */
 	public void paintIcon(Component c, Graphics g, int x, int y) {
-		if (m_image != null)
-			m_image.paintIcon(c, g, x, y);
+		ImageIcon image = m_image;
+		if (image != null) {
+			image.paintIcon(c, g, x, y);
+		}
+		else {
+			IconRequest request = m_request;
+			if (request != null) {
+				addClient(c);
+				AsyncImageLoader.promote(request);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the image is loading and there is at least one
+	 * component to revalidate when it is loaded.
+	 */
+	private synchronized boolean hasClients() {
+		return m_clients != null;
+	}
+
+	/**
+	 * Adds a component that must be repainted when the image is loaded.
+	 */
+	private synchronized void addClient(Component comp) {
+		if (comp == null || m_request == null)
+			return;
+
+		if (m_clients == null)
+			m_clients = new LinkedList();
+
+		Iterator iter = m_clients.iterator();
+		while (iter.hasNext()) {
+			if (((WeakReference) iter.next()).get() == comp)
+				return;
+		}
+		m_clients.add(new WeakReference(comp));
 	}
 
 	/**
@@ -240,15 +405,20 @@ public class IconProperty extends JETAProperty implements Icon {
 			m_embedded = false;
 			m_path = iprop.m_path;
 			m_image = iprop.m_image;
+			m_request = null;
 			m_description = iprop.m_description;
 
 			if (!m_embedded && m_image == null) {
-				loadImage();
+				if (iprop.m_request != null)
+					loadImageAsync(iprop.m_width, iprop.m_height);
+				else
+					loadImage();
 			}
 		}
 		else if (prop == null) {
 			m_path = "";
 			m_image = null;
+			m_request = null;
 			m_description = "";
 		}
 		else {
@@ -280,7 +450,7 @@ public class IconProperty extends JETAProperty implements Icon {
 		int h = in.readInt("height");
 
 		m_embedded = false;
-		loadImage();
+		loadImageAsync(w, h);
 
 	}
 
@@ -294,12 +464,42 @@ public class IconProperty extends JETAProperty implements Icon {
 		out.writeObject("path", m_path);
 		out.writeObject("description", m_description);
 
-		int width = getIconWidth();
-		int height = getIconHeight();
+		/**
+		 * wait for a pending load. The size stored in the file might not
+		 * match the image, so the placeholder size is not written
+		 */
+		ImageIcon image = imageIcon();
+		int width = (image == null) ? 0 : image.getIconWidth();
+		int height = (image == null) ? 0 : image.getIconHeight();
 
 		out.writeInt("width", width);
 		out.writeInt("height", height);
 
 	}
 
+	/**
+	 * Loads the image for an IconProperty on a background thread.
+	 */
+	private static class IconRequest extends AsyncImageLoader.Request {
+		private IconProperty m_property;
+		private String m_path;
+
+		IconRequest(IconProperty prop, String path) {
+			m_property = prop;
+			m_path = path;
+		}
+
+		protected void load() {
+			ImageIcon image = null;
+			try {
+				ProjectManager pmgr = (ProjectManager) m_project_mgr.get();
+				if (pmgr != null)
+					image = pmgr.loadImage(m_path);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+			m_property.loadComplete(this, image);
+		}
+	}
+
 }
@@ -107,10 +107,17 @@ public class ItemsProperty extends JETAProperty {
 	 *            either Strings or ListItemProperty objects.
 	 */
 	private void setItems(Collection items) {
-		if (items == null)
+		if (items == null) {
 			m_items = null;
-		else
-			m_items = new java.util.LinkedList(items);
+		}
+		else {
+			m_items = new java.util.LinkedList();
+			Iterator iter = items.iterator();
+			while (iter.hasNext()) {
+				Object item = iter.next();
+				m_items.add((item instanceof JETAProperty) ? copyOf((JETAProperty) item) : item);
+			}
+		}
 	}
 
 	/**
@@ -35,6 +35,7 @@ import java.util.Iterator;
 
 import com.jeta.forms.components.panel.FormPanel;
 import com.jeta.forms.gui.beans.JETABean;
+import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.store.AbstractJETAPersistable;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
@@ -119,6 +120,32 @@ public abstract class JETAProperty extends AbstractJETAPersistable {
 		}
 	}
 
+	/**
+	 * Returns a new property of the same class with the same value as the
+	 * given property. Properties that hold other properties use this in
+	 * setValue, so they do not share the held properties with the source. The
+	 * source may be part of a cached form template (see FormTemplateCache) that
+	 * is used for every form created from the same file.
+	 * 
+	 * @param prop
+	 *            the property to copy
+	 * @return the copy or null if prop is null
+	 */
+	protected static JETAProperty copyOf(JETAProperty prop) {
+		if (prop == null)
+			return null;
+
+		try {
+			JETAProperty copy = (JETAProperty) prop.getClass().getDeclaredConstructor().newInstance();
+			copy.setValue(prop);
+			copy.m_name = prop.m_name;
+			return copy;
+		} catch (Exception e) {
+			FormsLogger.severe(e);
+			return prop;
+		}
+	}
+
 	/**
 	 * Returns the name of this property.
 	 * 
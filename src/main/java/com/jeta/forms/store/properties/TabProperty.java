@@ -241,6 +241,16 @@ public class TabProperty extends JETAProperty {
 			state_req = (StateRequest) obj;
 
 		try {
+			/**
+			 * a tab that was never shown still has the memento it was read
+			 * from, so there is no need to create its form. A deep copy must
+			 * create the form so that linked forms are embedded.
+			 */
+			if (m_form == null && m_memento != null && state_req.isShallowCopy()) {
+				out.writeObject("form", m_memento);
+				return;
+			}
+
 			getForm();
 			if (m_form != null) {
 				out.writeObject("form", m_form.getExternalState(state_req));
@@ -174,7 +174,14 @@ public class TabbedPaneProperties extends JETAProperty {
 					else {
 						try {
 							FormComponent fc = FormComponent.create();
-							fc.setState(tp.getFormMemento());
+							/**
+							 * with lazy loading, the tab contents are not
+							 * created until the tab is selected
+							 */
+							if (FormUtils.isLazyLoading() && FormUtils.isRuntime())
+								fc.setDeferredState(tp.getFormMemento());
+							else
+								fc.setState(tp.getFormMemento());
 							fc.setTopLevelForm(true);
 							tpane.addTab(tp.getTitle(), tp.icon(), fc);
 						} catch (FormException e) {
@@ -167,12 +167,24 @@ public class TransformOptionsProperty extends JETAProperty implements TransformP
 	 * @return the selected value
 	 */
 	public Object getCurrentItem() {
-		int pval = getPropertyValue();
+		return getOption(getPropertyValue());
+	}
+
+	/**
+	 * Returns the human readable string for the given property value. This
+	 * does not access the Java bean.
+	 * 
+	 * @param value
+	 *            the property value
+	 * @return the option for the value. Null is returned if no option has the
+	 *         given value.
+	 */
+	public Object getOption(int value) {
 		Iterator iter = m_options.keySet().iterator();
 		while (iter.hasNext()) {
 			String option = (String) iter.next();
 			Integer ival = (Integer) m_options.get(option);
-			if (ival.intValue() == pval)
+			if (ival.intValue() == value)
 				return option;
 		}
 		return null;
@@ -248,28 +260,12 @@ public class TransformOptionsProperty extends JETAProperty implements TransformP
 	public void setValue(Object option) {
 		try {
 			Integer ival = null;
-			if (option instanceof String) {
-				String sval = (String) option;
-				ival = (Integer) m_options.get(sval);
-				if (ival == null) {
-					/**
-					 * try to convert to an integer. this can happen when
-					 * storing forms to XML. The option value will be restored
-					 * as a String.
-					 */
-					try {
-						ival = Integer.valueOf((String) option);
-					} catch (Exception e) {
-						// ignore here
-					}
-				}
-			}
-			else if (option instanceof Integer) {
-				ival = (Integer) option;
-			}
-			else if (option instanceof TransformOptionsProperty) {
+			if (option instanceof TransformOptionsProperty) {
 				ival = ((TransformOptionsProperty) option).getPropertyValue();
 			}
+			else {
+				ival = toPropertyValue(option);
+			}
 
 			if (ival != null) {
 				m_setter.invoke(getBean().getDelegate(), new Object[] { ival });
@@ -282,6 +278,39 @@ public class TransformOptionsProperty extends JETAProperty implements TransformP
 		}
 	}
 
+	/**
+	 * Converts an option to its property value. This does not access the Java
+	 * bean.
+	 * 
+	 * @param option
+	 *            a human readable option (String) or a property value (Integer
+	 *            or String).
+	 * @return the property value. Null is returned if the option cannot be
+	 *         converted.
+	 */
+	public Integer toPropertyValue(Object option) {
+		Integer ival = null;
+		if (option instanceof String) {
+			String sval = (String) option;
+			ival = (Integer) m_options.get(sval);
+			if (ival == null) {
+				/**
+				 * try to convert to an integer. this can happen when storing
+				 * forms to XML. The option value will be restored as a String.
+				 */
+				try {
+					ival = Integer.valueOf((String) option);
+				} catch (Exception e) {
+					// ignore here
+				}
+			}
+		}
+		else if (option instanceof Integer) {
+			ival = (Integer) option;
+		}
+		return ival;
+	}
+
 	/**
 	 * Return the number of options in this property.
 	 * 
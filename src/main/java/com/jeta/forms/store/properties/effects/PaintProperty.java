@@ -109,7 +109,7 @@ public class PaintProperty extends JETAProperty implements PaintSupport {
 	 */
 	public void setValue(Object prop) {
 		if (prop instanceof PaintProperty) {
-			m_delegate = ((PaintProperty) prop).m_delegate;
+			m_delegate = copyOf(((PaintProperty) prop).m_delegate);
 		}
 		else if (prop == null) {
 			m_delegate = null;
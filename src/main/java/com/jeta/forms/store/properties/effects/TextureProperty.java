@@ -33,6 +33,8 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
+import javax.swing.ImageIcon;
+
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.effects.Paintable;
 import com.jeta.forms.gui.effects.Painter;
@@ -42,6 +44,7 @@ import com.jeta.forms.store.JETAObjectOutput;
 import com.jeta.forms.store.properties.IconProperty;
 import com.jeta.forms.store.properties.JETAProperty;
 import com.jeta.open.i18n.I18N;
+import com.jeta.open.resources.ImageCache;
 
 /**
  * Property for storing settings for a texture fill effect. A texture is an
@@ -92,18 +95,26 @@ public class TextureProperty extends JETAProperty implements PaintSupport {
 	}
 
 	/**
-	 * Returns a buffered image of the icon associated with this texture.
+	 * Returns a buffered image of the icon associated with this texture. The
+	 * buffered image is shared by all textures that use the same icon.
 	 * 
 	 * @return a bufferedimage of this property's icon.
 	 */
 	public BufferedImage getBufferedImage() {
 		if (m_buffered_image == null && m_icon != null) {
-			int width = m_icon.getIconWidth();
-			int height = m_icon.getIconHeight();
-			m_buffered_image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-			Graphics2D bg = m_buffered_image.createGraphics();
-			bg.drawImage(m_icon.imageIcon().getImage(), 0, 0, bg.getColor(), null);
-			bg.dispose();
+			ImageIcon icon = m_icon.imageIcon();
+			if (icon != null)
+				m_buffered_image = (BufferedImage) ImageCache.get(icon);
+
+			if (m_buffered_image == null) {
+				int width = m_icon.getIconWidth();
+				int height = m_icon.getIconHeight();
+				m_buffered_image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+				Graphics2D bg = m_buffered_image.createGraphics();
+				bg.drawImage(icon.getImage(), 0, 0, bg.getColor(), null);
+				bg.dispose();
+				ImageCache.put(icon, m_buffered_image);
+			}
 		}
 		return m_buffered_image;
 	}
@@ -138,7 +149,8 @@ public class TextureProperty extends JETAProperty implements PaintSupport {
 	public void setValue(Object prop) {
 		if (prop instanceof TextureProperty) {
 			TextureProperty tp = (TextureProperty) prop;
-			m_icon = tp.m_icon;
+			m_icon = (IconProperty) copyOf(tp.m_icon);
+			m_buffered_image = null;
 			m_painter = null;
 		}
 		else {
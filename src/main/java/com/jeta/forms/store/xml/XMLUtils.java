@@ -53,6 +53,9 @@ public class XMLUtils {
 		if (str == null)
 			return null;
 
+		if (str.indexOf('&') < 0)
+			return str;
+
 		StringBuffer sbuff = new StringBuffer();
 		for (int index = 0; index < str.length(); index++) {
 			char c = str.charAt(index);
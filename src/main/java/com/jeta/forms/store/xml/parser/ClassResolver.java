@@ -0,0 +1,164 @@
+package com.jeta.forms.store.xml.parser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches class lookups and no-arg constructor handles for the XML parser. Every
+ * <object> element in a form file names a class, and large forms name the same
+ * handful of classes thousands of times. Without this cache, every element
+ * requires a Class.forName call.
+ * 
+ * Classes that cannot be found are also cached so that we don't repeatedly
+ * search the classpath for the same missing class. Classes that fail to link
+ * or initialize are not cached, so the next lookup tries them again. Call {@link #clear()} if the set of available classes changes.
+ * 
+ * @author Jeff Tassin
+ */
+public class ClassResolver {
+	/**
+	 * Placeholder for classes that could not be found.
+	 */
+	private static final Object MISSING_CLASS = new Object();
+
+	/**
+	 * Placeholder for classes that don't have a public no-arg constructor.
+	 */
+	private static final Object NO_CONSTRUCTOR = new Object();
+
+	/**
+	 * The type of the constructor handles: ()Object
+	 */
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+	/**
+	 * A map of class names to Class objects (or MISSING_CLASS)
+	 * m_classes<String,Object>
+	 */
+	private static ConcurrentHashMap m_classes = new ConcurrentHashMap();
+
+	/**
+	 * A map of Class objects to their no-arg constructor handles (or
+	 * NO_CONSTRUCTOR) m_constructors<Class,Object>
+	 */
+	private static ConcurrentHashMap m_constructors = new ConcurrentHashMap();
+
+	private ClassResolver() {
+
+	}
+
+	/**
+	 * Removes all cached classes and constructors along with the handler
+	 * classes the XMLHandlerFactory resolved from them. The bean manager calls
+	 * this whenever the imported beans change.
+	 */
+	public static void clear() {
+		m_classes.clear();
+		m_constructors.clear();
+		XMLHandlerFactory.getInstance().clearCache();
+	}
+
+	/**
+	 * Returns the class for the given name. This is equivalent to
+	 * Class.forName but the result is cached.
+	 * 
+	 * @throws ClassNotFoundException
+	 *             if the class cannot be found
+	 */
+	public static Class forName(String className) throws ClassNotFoundException {
+		Class c = lookup(className);
+		if (c == null)
+			throw new ClassNotFoundException(className);
+		return c;
+	}
+
+	/**
+	 * Returns the class for the given name or null if the class cannot be
+	 * found. This method does not throw any exceptions on a miss.
+	 */
+	public static Class lookup(String className) {
+		if (className == null)
+			return null;
+
+		Object result = m_classes.get(className);
+		if (result == null) {
+			try {
+				result = Class.forName(className);
+			} catch (ClassNotFoundException e) {
+				result = MISSING_CLASS;
+			} catch (LinkageError e) {
+				/**
+				 * the class exists but could not be linked or initialized. Don't
+				 * cache this as a miss; the error might be transient
+				 */
+				return null;
+			}
+			m_classes.put(className, result);
+		}
+		return (result == MISSING_CLASS ? null : (Class) result);
+	}
+
+	/**
+	 * Returns the handle for the public no-arg constructor of the given class
+	 * adapted to ()Object, or NO_CONSTRUCTOR if there is none.
+	 */
+	private static Object getConstructor(Class c) {
+		Object ctor = m_constructors.get(c);
+		if (ctor == null) {
+			try {
+				ctor = MethodHandles.publicLookup().findConstructor(c, MethodType.methodType(void.class)).asType(FACTORY_TYPE);
+			} catch (Exception e) {
+				ctor = NO_CONSTRUCTOR;
+			}
+			m_constructors.put(c, ctor);
+		}
+		return ctor;
+	}
+
+	/**
+	 * Creates a new instance of the given class using the cached no-arg
+	 * constructor handle.
+	 */
+	public static Object newInstance(Class c) throws InstantiationException, IllegalAccessException {
+		Object ctor = getConstructor(c);
+		if (ctor == NO_CONSTRUCTOR) {
+			/**
+			 * no public no-arg constructor (or an abstract class). Let
+			 * reflection report the error
+			 */
+			try {
+				return c.getDeclaredConstructor().newInstance();
+			} catch (NoSuchMethodException e) {
+				throw new InstantiationException(c.getName());
+			} catch (InvocationTargetException e) {
+				throw createInstantiationException(c, e.getTargetException());
+			}
+		}
+
+		try {
+			return (Object) ((MethodHandle) ctor).invokeExact();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw createInstantiationException(c, t);
+		}
+	}
+
+	private static InstantiationException createInstantiationException(Class c, Throwable cause) {
+		InstantiationException ie = new InstantiationException(c.getName() + ": " + cause);
+		ie.initCause(cause);
+		return ie;
+	}
+
+	/**
+	 * Creates a new instance of the class with the given name.
+	 */
+	public static Object newInstance(String className) throws InstantiationException, IllegalAccessException, ClassNotFoundException {
+		return newInstance(forName(className));
+	}
+}
@@ -5,12 +5,15 @@ import java.util.HashMap;
 import org.xml.sax.SAXException;
 
 import com.jeta.forms.store.jml.dom.JMLAttributes;
-import com.jeta.forms.store.xml.XMLUtils;
 
-public class ObjectHandler implements XMLHandler {
+public class ObjectHandler implements XMLHandler, PropertySource {
 
 	private Object m_object = null;
-	private HashMap m_properties = new HashMap();
+	/**
+	 * The properties for the object. Created on demand because many handlers
+	 * (collections, inline objects) override setProperty and never use it.
+	 */
+	private HashMap m_properties;
 	/** for debugging */
 	private String m_classname;
 
@@ -21,7 +24,7 @@ public class ObjectHandler implements XMLHandler {
 	private ObjectHandler m_superClassHandler;
 
 	public Object getProperty(String propName) {
-		return m_properties.get(propName);
+		return m_properties == null ? null : m_properties.get(propName);
 	}
 
 	protected void setProperty(Object name, Object value, JMLAttributes attribs) throws SAXException {
@@ -34,7 +37,10 @@ public class ObjectHandler implements XMLHandler {
 			}
 		}
 
-		if (m_properties.containsKey(name)) {
+		if (m_properties == null) {
+			m_properties = new HashMap();
+		}
+		else if (m_properties.containsKey(name)) {
 			System.out.println("ObjectHandler already has property: " + name + "  oldvalue: " + m_properties.get(name));
 		}
 
@@ -53,7 +59,7 @@ public class ObjectHandler implements XMLHandler {
 			m_classname = ctx.getAttributes().getValue("classname");
 			ctx.push(this);
 			try {
-				m_object = instantiateObject(XMLUtils.toJMLAttributes(ctx.getAttributes()));
+				m_object = instantiateObject(ctx.getJMLAttributes());
 			} catch (Exception e) {
 				throw new SAXException(e.getMessage() + " - ObjectHandler unable to instantiate object for classname: "
 						+ ctx.getAttributes().getValue("classname"), e);
@@ -66,7 +72,7 @@ public class ObjectHandler implements XMLHandler {
 			// don't call start element for <super>
 		}
 		else if ("at".equalsIgnoreCase(ctx.getQualifiedName())) {
-			PropertyHandler phandler = new PropertyHandler(this);
+			PropertyHandler phandler = ctx.acquirePropertyHandler(this);
 			phandler.startElement(ctx);
 		}
 		else {
@@ -79,7 +85,7 @@ public class ObjectHandler implements XMLHandler {
 		if ("null".equalsIgnoreCase(value) || value.length() == 0)
 			return null;
 		else
-			return Class.forName(value).newInstance();
+			return ClassResolver.newInstance(value);
 	}
 
 	public void endElement(XMLNodeContext ctx) throws SAXException {
@@ -102,6 +108,10 @@ public class ObjectHandler implements XMLHandler {
 		return m_superClassHandler == null ? this : m_superClassHandler;
 	}
 
+	public PropertySource getSuperClassSource() {
+		return getSuperClassHandler();
+	}
+
 	public void characters(char[] ch, int start, int length) throws SAXException {
 		// ignore
 	}
@@ -5,9 +5,14 @@ import com.jeta.forms.store.jml.dom.JMLAttributes;
 public class PrimitiveHandler extends ObjectHandler {
 
 	protected Object instantiateObject(JMLAttributes attribs) throws InstantiationException, IllegalAccessException, ClassNotFoundException {
-		String className = attribs.getValue("classname");
-		String value = attribs.getValue("value");
+		return valueOf(attribs.getValue("classname"), attribs.getValue("value"));
+	}
 
+	/**
+	 * Creates the primitive object for the classname and value attributes of
+	 * an <object> element. Also used by StreamParser.
+	 */
+	static Object valueOf(String className, String value) throws InstantiationException {
 		if ("Boolean".equalsIgnoreCase(className) || ("java.lang.Boolean").equalsIgnoreCase(className)) {
 			return Boolean.valueOf(value);
 		}
@@ -3,8 +3,14 @@ package com.jeta.forms.store.xml.parser;
 public class PrimitiveHolderHandler extends ObjectHandler {
 
 	public Object getObject() {
-		String classname = (String) getProperty("primitive");
-		String value = (String) getProperty("value");
+		return valueOf((String) getProperty("primitive"), (String) getProperty("value"));
+	}
+
+	/**
+	 * Returns the value for the primitive and value properties of a
+	 * PrimitiveHolder. Also used by StreamParser.
+	 */
+	static Object valueOf(String classname, String value) {
 		if ("java.lang.Byte".equals(classname)) {
 			return value;
 		}
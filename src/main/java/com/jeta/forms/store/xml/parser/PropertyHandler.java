@@ -3,7 +3,6 @@ package com.jeta.forms.store.xml.parser;
 import org.xml.sax.SAXException;
 
 import com.jeta.forms.store.jml.JMLUtils;
-import com.jeta.forms.store.jml.dom.JMLAttributes;
 import com.jeta.forms.store.xml.XMLUtils;
 
 public class PropertyHandler implements XMLHandler {
@@ -11,18 +10,57 @@ public class PropertyHandler implements XMLHandler {
 	private String m_propname;
 	private ObjectHandler m_parent;
 	private ObjectHandler m_objectHandler;
-	private String m_propValue;
-	private JMLAttributes m_attribs;
+	private ReusableAttributes m_attribs = new ReusableAttributes();
+
+	/**
+	 * The shared text buffer for the parse and the offset in that buffer
+	 * where the text for this property starts. The offset is -1 if we have
+	 * not received any text.
+	 */
+	private StringBuilder m_text;
+	private int m_textStart = -1;
 
 	public PropertyHandler(ObjectHandler parent) {
 		m_parent = parent;
 	}
 
+	/**
+	 * Sets the object that owns this property. Called when a pooled handler is
+	 * reused.
+	 */
+	void setParent(ObjectHandler parent) {
+		m_parent = parent;
+	}
+
 	public void characters(char[] ch, int start, int length) throws SAXException {
-		if (m_propValue == null)
-			m_propValue = XMLUtils.unescape(new String(ch, start, length));
-		else
-			m_propValue = m_propValue + XMLUtils.unescape(new String(ch, start, length));
+		if (m_textStart < 0)
+			m_textStart = m_text.length();
+
+		/**
+		 * each chunk is unescaped on its own. Only create a String for chunks
+		 * that actually have something to unescape.
+		 */
+		for (int index = start; index < start + length; index++) {
+			if (ch[index] == '&') {
+				m_text.append(XMLUtils.unescape(new String(ch, start, length)));
+				return;
+			}
+		}
+		m_text.append(ch, start, length);
+	}
+
+	/**
+	 * @return the text for this property or null if the element has no text.
+	 *         Truncates the shared text buffer to where this property started.
+	 */
+	private String takeValue() {
+		if (m_textStart < 0)
+			return null;
+
+		String value = m_text.substring(m_textStart);
+		m_text.setLength(m_textStart);
+		m_textStart = -1;
+		return value;
 	}
 
 	public void startElement(XMLNodeContext ctx) throws SAXException {
@@ -30,7 +68,8 @@ public class PropertyHandler implements XMLHandler {
 			String nodename = ctx.getQualifiedName();
 			if ("at".equalsIgnoreCase(nodename)) {
 				assert (m_propname == null);
-				m_attribs = XMLUtils.toJMLAttributes(ctx.getAttributes());
+				m_attribs.set(ctx.getAttributes());
+				m_text = ctx.getTextBuffer();
 				m_propname = ctx.getAttributes().getValue("name");
 				/** check for inline object definition */
 				String object = ctx.getAttributes().getValue("object");
@@ -55,7 +94,7 @@ public class PropertyHandler implements XMLHandler {
 
 	public void endElement(XMLNodeContext ctx) throws SAXException {
 		if ("at".equalsIgnoreCase(ctx.getQualifiedName())) {
-			String prop = m_propValue;
+			String prop = takeValue();
 			if (m_objectHandler instanceof InlineObjectHandler) {
 				/**
 				 * handle case for inline objects. for example a color: <at
@@ -83,6 +122,11 @@ public class PropertyHandler implements XMLHandler {
 			}
 
 			ctx.pop(this);
+
+			m_propname = null;
+			m_objectHandler = null;
+			m_attribs.clear();
+			ctx.releasePropertyHandler(this);
 		}
 		else {
 			throw JMLUtils.createSAXException("Invalid tag.  Expecting </at> Got instead: " + ctx.getQualifiedName());
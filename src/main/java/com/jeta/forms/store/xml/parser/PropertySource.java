@@ -0,0 +1,22 @@
+package com.jeta.forms.store.xml.parser;
+
+/**
+ * The properties read from a JML document for an object. XMLObjectInput
+ * reads from this interface, so both the SAX handlers and StreamParser can
+ * pass the properties to JETAPersistable.read.
+ * 
+ * @author Jeff Tassin
+ */
+interface PropertySource {
+	/**
+	 * Returns the value of the given property or null if the property was not
+	 * found.
+	 */
+	public Object getProperty(String propName);
+
+	/**
+	 * Returns the properties for the superclass of the object. If the object
+	 * has no <super> element, this object is returned.
+	 */
+	public PropertySource getSuperClassSource();
+}
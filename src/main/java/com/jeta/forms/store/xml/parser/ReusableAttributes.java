@@ -0,0 +1,90 @@
+package com.jeta.forms.store.xml.parser;
+
+import javax.xml.stream.XMLStreamReader;
+
+import org.xml.sax.Attributes;
+
+import com.jeta.forms.store.jml.dom.JMLAttributes;
+
+/**
+ * A JMLAttributes implementation that holds references to the names and
+ * values of a SAX Attributes object. The SAX parser reuses its Attributes
+ * object for every element, so handlers that need the attributes after
+ * startElement returns must keep a copy. This class keeps that copy in arrays
+ * that are reused from element to element, so no strings or maps are created
+ * while parsing.
+ * 
+ * @author Jeff Tassin
+ */
+class ReusableAttributes implements JMLAttributes {
+
+	private String[] m_names = new String[4];
+	private String[] m_values = new String[4];
+	private int m_length;
+
+	/**
+	 * Replaces the contents of this object with the given SAX attributes.
+	 */
+	void set(Attributes attribs) {
+		int length = attribs == null ? 0 : attribs.getLength();
+		if (length > m_names.length) {
+			m_names = new String[length];
+			m_values = new String[length];
+		}
+		for (int index = 0; index < length; index++) {
+			m_names[index] = attribs.getQName(index);
+			m_values[index] = attribs.getValue(index);
+		}
+		for (int index = length; index < m_length; index++) {
+			m_names[index] = null;
+			m_values[index] = null;
+		}
+		m_length = length;
+	}
+
+	/**
+	 * Replaces the contents of this object with the attributes of the current
+	 * element of a StAX reader.
+	 */
+	void set(XMLStreamReader reader) {
+		int length = reader.getAttributeCount();
+		if (length > m_names.length) {
+			m_names = new String[length];
+			m_values = new String[length];
+		}
+		for (int index = 0; index < length; index++) {
+			m_names[index] = reader.getAttributeLocalName(index);
+			m_values[index] = reader.getAttributeValue(index);
+		}
+		for (int index = length; index < m_length; index++) {
+			m_names[index] = null;
+			m_values[index] = null;
+		}
+		m_length = length;
+	}
+
+	/**
+	 * Removes all attributes.
+	 */
+	void clear() {
+		set((Attributes) null);
+	}
+
+	/**
+	 * Return the number of attributes in the list.
+	 */
+	public int getLength() {
+		return m_length;
+	}
+
+	/**
+	 * Look up an attribute's value by XML 1.0 qualified name.
+	 */
+	public String getValue(String qName) {
+		for (int index = 0; index < m_length; index++) {
+			if (m_names[index].equals(qName))
+				return m_values[index];
+		}
+		return null;
+	}
+}
@@ -0,0 +1,388 @@
+package com.jeta.forms.store.xml.parser;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.jeta.forms.store.JETAPersistable;
+import com.jeta.forms.store.jml.JMLException;
+import com.jeta.forms.store.xml.XMLUtils;
+
+/**
+ * Reads a JML document with a StAX pull parser. This is an alternative to the
+ * SAX MainHandler. Instead of pushing events through a stack of handlers, the
+ * parser pulls the elements it expects for each part of the grammar:
+ *
+ * <pre>
+ *  &lt;object classname=&quot;...&quot;&gt; [&lt;super&gt; property* &lt;/super&gt;] (property | &lt;item&gt; property* &lt;/item&gt;)* &lt;/object&gt;
+ *  property: &lt;at name=&quot;...&quot; [object=&quot;inline name&quot;]&gt; (text | object) &lt;/at&gt;
+ * </pre>
+ *
+ * How an object is built from its properties depends on the handler class
+ * that XMLHandlerFactory registers for its class name, so both parsers accept
+ * the same class names and build the same object graph.
+ *
+ * @author Jeff Tassin
+ */
+public class StreamParser {
+
+	/**
+	 * Created on first use. Access must be synchronized on StreamParser.class
+	 */
+	private static XMLInputFactory m_factory;
+
+	private XMLStreamReader m_reader;
+
+	/**
+	 * Text buffer shared by all properties. Each property appends to the end
+	 * of the buffer and truncates it back when its element ends, so a property
+	 * that contains an object doesn't interfere with the properties of that
+	 * object.
+	 */
+	private StringBuilder m_text = new StringBuilder(256);
+
+	/**
+	 * The attributes of the current inline property
+	 */
+	private ReusableAttributes m_attribs = new ReusableAttributes();
+
+	/**
+	 * A map of inline object names (e.g. color, insets) to their handlers. The
+	 * inline handlers don't keep any state, so they are reused for the parse.
+	 * m_inline_handlers<String,InlineObjectHandler>
+	 */
+	private HashMap m_inline_handlers = new HashMap();
+
+	private StreamParser(XMLStreamReader reader) {
+		m_reader = reader;
+	}
+
+	/**
+	 * Reads the object stored in a JML document.
+	 *
+	 * @param istream
+	 *            the stream to read
+	 * @return the object defined by the top level <object> element
+	 */
+	public static Object readObject(InputStream istream) throws XMLStreamException, JMLException {
+		XMLStreamReader reader = null;
+		synchronized (StreamParser.class) {
+			if (m_factory == null)
+				m_factory = XMLInputFactory.newInstance();
+			reader = m_factory.createXMLStreamReader(istream);
+		}
+
+		try {
+			return new StreamParser(reader).readDocument();
+		} finally {
+			reader.close();
+		}
+	}
+
+	private Object readDocument() throws XMLStreamException, JMLException {
+		if (nextElement() != XMLStreamConstants.START_ELEMENT || !isElement("object"))
+			throw invalidTag("<object classname=\"...\">");
+
+		return readObject();
+	}
+
+	/**
+	 * Reads an <object> element. The reader is positioned at the start of the
+	 * element and is left at its end.
+	 */
+	private Object readObject() throws XMLStreamException, JMLException {
+		String classname = m_reader.getAttributeValue(null, "classname");
+		if (classname == null)
+			throw new JMLException("StreamParser <object> element has no classname");
+
+		if ("null".equalsIgnoreCase(classname) || classname.length() == 0) {
+			skipElement();
+			return null;
+		}
+
+		Class handler_class = XMLHandlerFactory.getInstance().getHandlerClass(classname);
+		try {
+			if (handler_class == PrimitiveHandler.class) {
+				Object value = PrimitiveHandler.valueOf(classname, m_reader.getAttributeValue(null, "value"));
+				skipElement();
+				return value;
+			}
+
+			StreamObject object = new StreamObject(handler_class, instantiateObject(handler_class, classname));
+			readChildren(object);
+			return object.getObject();
+		} catch (Exception e) {
+			if (e instanceof JMLException)
+				throw (JMLException) e;
+			else if (e instanceof XMLStreamException)
+				throw (XMLStreamException) e;
+			else
+				throw new JMLException(e.getMessage() + " - StreamParser unable to instantiate object for classname: " + classname, e);
+		}
+	}
+
+	/**
+	 * Creates the object for an <object> element before its properties are
+	 * read.
+	 */
+	private Object instantiateObject(Class handler_class, String classname) throws InstantiationException, IllegalAccessException, ClassNotFoundException {
+		if (handler_class == ObjectArrayHandler.class) {
+			ArrayList items = new ArrayList();
+			String ssize = m_reader.getAttributeValue(null, "size");
+			if (ssize != null) {
+				int size = Integer.parseInt(ssize);
+				for (int index = 0; index < size; index++) {
+					items.add(null);
+				}
+			}
+			return items;
+		}
+		else if (handler_class == PrimitiveHolderHandler.class) {
+			/** the value is created from the properties */
+			return null;
+		}
+		else if (InlineObjectHandler.class.isAssignableFrom(handler_class)) {
+			throw new InstantiationException("Inline objects must be stored as the text of a property: " + classname);
+		}
+		else {
+			return ClassResolver.newInstance(classname);
+		}
+	}
+
+	/**
+	 * Reads the <at>, <super> and <item> children of an element until the
+	 * element ends.
+	 */
+	private void readChildren(StreamObject object) throws XMLStreamException, JMLException {
+		while (nextElement() == XMLStreamConstants.START_ELEMENT) {
+			if (isElement("at")) {
+				readProperty(object);
+			}
+			else if (isElement("super")) {
+				StreamObject superclass = new StreamObject(JETAPersistableHandler.class, null);
+				readChildren(superclass);
+				object.m_super = superclass;
+			}
+			else if (isElement("item") && object.hasItems()) {
+				object.startItem();
+				readChildren(object);
+				object.endItem();
+			}
+			else {
+				throw invalidTag("<object classname=\"...\">");
+			}
+		}
+	}
+
+	/**
+	 * Reads an <at> element and sets the property on the given object. The
+	 * value is either the text of the element, an inline object created from
+	 * the text, or the object defined by a child <object> element.
+	 */
+	private void readProperty(StreamObject owner) throws XMLStreamException, JMLException {
+		String name = m_reader.getAttributeValue(null, "name");
+		String index = m_reader.getAttributeValue(null, "index");
+		String inline = m_reader.getAttributeValue(null, "object");
+		if (inline != null)
+			m_attribs.set(m_reader);
+
+		int text_start = m_text.length();
+		boolean has_text = false;
+		boolean has_object = false;
+		Object value = null;
+		for (;;) {
+			int event = m_reader.next();
+			if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+				m_text.append(m_reader.getTextCharacters(), m_reader.getTextStart(), m_reader.getTextLength());
+				has_text = true;
+			}
+			else if (event == XMLStreamConstants.CDATA) {
+				/** PropertyHandler unescapes the text reported by SAX for CDATA sections */
+				m_text.append(XMLUtils.unescape(m_reader.getText()));
+				has_text = true;
+			}
+			else if (event == XMLStreamConstants.START_ELEMENT) {
+				if (!isElement("object"))
+					throw invalidTag("<at name=\"...\">");
+
+				value = readObject();
+				has_object = true;
+			}
+			else if (event == XMLStreamConstants.END_ELEMENT) {
+				break;
+			}
+		}
+
+		String text = has_text ? m_text.substring(text_start) : null;
+		m_text.setLength(text_start);
+
+		if (inline != null) {
+			/**
+			 * handle case for inline objects. for example a color: <at
+			 * name="foreground" object="color">0,0,255</at>
+			 */
+			try {
+				value = getInlineHandler(inline).instantiateObject(m_attribs, text);
+			} catch (Exception e) {
+				throw new JMLException("Unable to create inline object for: " + inline + "   value: " + text, e);
+			}
+		}
+		else if (!has_object) {
+			/** Strings and Java primitives */
+			value = text;
+		}
+		owner.setProperty(name, value, index);
+	}
+
+	private InlineObjectHandler getInlineHandler(String name) throws JMLException {
+		InlineObjectHandler handler = (InlineObjectHandler) m_inline_handlers.get(name);
+		if (handler == null) {
+			handler = (InlineObjectHandler) XMLHandlerFactory.getInstance().getHandler(name);
+			m_inline_handlers.put(name, handler);
+		}
+		return handler;
+	}
+
+	/**
+	 * Moves to the next start or end element. Text, comments and processing
+	 * instructions between elements are ignored.
+	 *
+	 * @return START_ELEMENT, END_ELEMENT or END_DOCUMENT
+	 */
+	private int nextElement() throws XMLStreamException {
+		while (m_reader.hasNext()) {
+			int event = m_reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT)
+				return event;
+		}
+		return XMLStreamConstants.END_DOCUMENT;
+	}
+
+	/**
+	 * Skips the current element and all of its children.
+	 */
+	private void skipElement() throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = m_reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+				depth++;
+			else if (event == XMLStreamConstants.END_ELEMENT)
+				depth--;
+		}
+	}
+
+	private boolean isElement(String name) {
+		return name.equalsIgnoreCase(m_reader.getLocalName());
+	}
+
+	private JMLException invalidTag(String expected) {
+		String found = m_reader.isStartElement() ? m_reader.getLocalName() : "end of document";
+		return new JMLException("Invalid tag.  Expecting " + expected + ".  Got instead: " + found);
+	}
+
+	/**
+	 * An object being read and its properties. The handler class determines
+	 * how the properties are applied, the same way the handlers do it for SAX.
+	 */
+	private static class StreamObject implements PropertySource {
+		private Class m_handler_class;
+		private Object m_object;
+
+		/**
+		 * The properties of a JETAPersistable or PrimitiveHolder. Created on
+		 * demand.
+		 */
+		private HashMap m_properties;
+
+		/**
+		 * The properties for the superclass of the object.
+		 */
+		private StreamObject m_super;
+
+		/**
+		 * The key and value of the current <item> in a HashMap
+		 */
+		private Object m_key;
+		private Object m_value;
+
+		StreamObject(Class handler_class, Object object) {
+			m_handler_class = handler_class;
+			m_object = object;
+		}
+
+		public Object getProperty(String propName) {
+			return m_properties == null ? null : m_properties.get(propName);
+		}
+
+		public PropertySource getSuperClassSource() {
+			return m_super == null ? this : m_super;
+		}
+
+		boolean hasItems() {
+			return m_handler_class == ListHandler.class || m_handler_class == HashMapHandler.class;
+		}
+
+		void startItem() {
+			m_key = null;
+			m_value = null;
+		}
+
+		void endItem() {
+			if (m_handler_class == HashMapHandler.class)
+				((HashMap) m_object).put(m_key, m_value);
+		}
+
+		void setProperty(String name, Object value, String index) {
+			if (m_handler_class == PropertyMapHandler.class) {
+				((HashMap) m_object).put(name, value);
+			}
+			else if (m_handler_class == HashMapHandler.class) {
+				if ("key".equalsIgnoreCase(name))
+					m_key = value;
+				else if ("value".equalsIgnoreCase(name))
+					m_value = value;
+			}
+			else if (m_handler_class == ListHandler.class) {
+				if ("value".equalsIgnoreCase(name))
+					((List) m_object).add(value);
+			}
+			else if (m_handler_class == ObjectArrayHandler.class) {
+				if ("item".equalsIgnoreCase(name)) {
+					if (index != null)
+						((List) m_object).set(Integer.parseInt(index), value);
+					else
+						((List) m_object).add(value);
+				}
+			}
+			else {
+				if (m_properties == null)
+					m_properties = new HashMap();
+				m_properties.put(name, value);
+			}
+		}
+
+		Object getObject() throws JMLException {
+			if (m_handler_class == ObjectArrayHandler.class) {
+				return ((List) m_object).toArray();
+			}
+			else if (m_handler_class == PrimitiveHolderHandler.class) {
+				return PrimitiveHolderHandler.valueOf((String) getProperty("primitive"), (String) getProperty("value"));
+			}
+			else if (m_handler_class == JETAPersistableHandler.class) {
+				try {
+					((JETAPersistable) m_object).read(new XMLObjectInput(this));
+				} catch (Exception e) {
+					throw new JMLException(e);
+				}
+			}
+			return m_object;
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.awt.Insets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.xml.sax.SAXException;
 
@@ -21,6 +22,19 @@ public class XMLHandlerFactory {
 	 */
 	private HashMap m_handlers = new HashMap();
 
+	/**
+	 * A cache of class names found in form files to the handler class used to
+	 * parse them (or NO_HANDLER if the class is unknown). This includes
+	 * primitives, registered handlers, and JETAPersistable classes.
+	 * m_resolved<String,Object>
+	 */
+	private ConcurrentHashMap m_resolved = new ConcurrentHashMap();
+
+	/**
+	 * Placeholder for class names that don't have a handler.
+	 */
+	private static final Object NO_HANDLER = new Object();
+
 	private static XMLHandlerFactory m_singleton = new XMLHandlerFactory();
 
 	private XMLHandlerFactory() {
@@ -31,27 +45,82 @@ public class XMLHandlerFactory {
 		return m_singleton;
 	}
 
+	/**
+	 * Removes the cached handler classes. Called by ClassResolver.clear
+	 */
+	void clearCache() {
+		m_resolved.clear();
+	}
+
+	/**
+	 * Creates a handler for the given class name. The handler class is
+	 * resolved once per class name and cached.
+	 */
 	protected XMLHandler createHandler(String className) {
-		Class c = (Class) m_handlers.get(className);
-		if (c != null) {
-			try {
-				return (XMLHandler) c.newInstance();
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+		Object handler_class = getResolvedClass(className);
+		if (handler_class == NO_HANDLER) {
+			return null;
+		}
+		else if (handler_class == JETAPersistableHandler.class) {
+			return new JETAPersistableHandler();
 		}
 		else {
-			// try JETAPersistable
 			try {
-				c = Class.forName(className);
-				if (JETAPersistable.class.isAssignableFrom(c)) {
-					return new JETAPersistableHandler();
-				}
+				return (XMLHandler) ClassResolver.newInstance((Class) handler_class);
 			} catch (Exception e) {
 				e.printStackTrace();
+				return null;
 			}
 		}
-		return null;
+	}
+
+	/**
+	 * Returns the cached handler class for the given class name. NO_HANDLER
+	 * is returned if the class is unknown.
+	 */
+	private Object getResolvedClass(String className) {
+		Object handler_class = m_resolved.get(className);
+		if (handler_class == null) {
+			handler_class = resolveHandlerClass(className);
+			m_resolved.put(className, handler_class);
+		}
+		return handler_class;
+	}
+
+	/**
+	 * Returns the class of the handler that parses the given class name.
+	 * StreamParser uses this to determine how to read an object without
+	 * creating a handler.
+	 */
+	Class getHandlerClass(String className) throws JMLException {
+		Object handler_class = getResolvedClass(className);
+		if (handler_class == NO_HANDLER)
+			throw new JMLException("XMLHandlerFactory  handler is null for: " + className);
+
+		return (Class) handler_class;
+	}
+
+	/**
+	 * Determines the handler class for the given class name. NO_HANDLER is
+	 * returned if the class is unknown.
+	 */
+	private Object resolveHandlerClass(String className) {
+		if (isPrimitive(className)) {
+			if (!className.startsWith("java.lang")) {
+				className = "java.lang." + className;
+			}
+		}
+
+		Class c = (Class) m_handlers.get(className);
+		if (c != null)
+			return c;
+
+		// try JETAPersistable
+		c = ClassResolver.lookup(className);
+		if (c != null && JETAPersistable.class.isAssignableFrom(c))
+			return JETAPersistableHandler.class;
+
+		return NO_HANDLER;
 	}
 
 	protected void registerHandlers() {
@@ -133,11 +202,6 @@ public class XMLHandlerFactory {
 			if ("null".equalsIgnoreCase(className) || className.length() == 0)
 				return new NullHandler();
 
-			if (isPrimitive(className)) {
-				if (!className.startsWith("java.lang")) {
-					className = "java.lang." + className;
-				}
-			}
 			XMLHandler handler = createHandler(className);
 			if (handler == null) {
 				throw new JMLException("XMLHandlerFactory  handler is null for: " + className);
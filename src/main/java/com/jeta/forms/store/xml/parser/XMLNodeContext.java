@@ -1,12 +1,35 @@
 package com.jeta.forms.store.xml.parser;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
+import com.jeta.forms.store.jml.dom.JMLAttributes;
+
 public class XMLNodeContext {
-	private LinkedList m_stack = new LinkedList();
+	/**
+	 * The handler call stack. The current handler is the last element.
+	 */
+	private ArrayList m_stack = new ArrayList();
+
+	/**
+	 * PropertyHandlers that are no longer on the call stack and can be reused
+	 * for the next <at> element.
+	 */
+	private ArrayList m_propertyHandlers = new ArrayList();
+
+	/**
+	 * Text buffer shared by all property handlers for this parse. Each handler
+	 * appends to the end of the buffer and truncates it back when its element
+	 * ends, so nested properties don't interfere with each other.
+	 */
+	private StringBuilder m_text = new StringBuilder(256);
+
+	/**
+	 * View of the attributes for the current element
+	 */
+	private ReusableAttributes m_jmlattribs = new ReusableAttributes();
 
 	private String m_uri;
 	private String m_qName;
@@ -16,25 +39,68 @@ public class XMLNodeContext {
 		return m_attribs;
 	}
 
+	/**
+	 * Returns the attributes for the current element. The returned object is
+	 * reused for every element, so it is only valid during the call to
+	 * startElement.
+	 */
+	JMLAttributes getJMLAttributes() {
+		m_jmlattribs.set(m_attribs);
+		return m_jmlattribs;
+	}
+
+	/**
+	 * Returns the text buffer shared by the property handlers.
+	 */
+	StringBuilder getTextBuffer() {
+		return m_text;
+	}
+
+	/**
+	 * Returns a PropertyHandler for the given parent object. Handlers are
+	 * returned to the pool by calling releasePropertyHandler.
+	 */
+	PropertyHandler acquirePropertyHandler(ObjectHandler parent) {
+		int size = m_propertyHandlers.size();
+		if (size == 0)
+			return new PropertyHandler(parent);
+
+		PropertyHandler handler = (PropertyHandler) m_propertyHandlers.remove(size - 1);
+		handler.setParent(parent);
+		return handler;
+	}
+
+	/**
+	 * Returns a PropertyHandler to the pool. The handler must not be on the
+	 * call stack.
+	 */
+	void releasePropertyHandler(PropertyHandler handler) {
+		m_propertyHandlers.add(handler);
+	}
+
 	public XMLHandler getCurrentHandler() {
-		if (m_stack.size() > 0)
-			return (XMLHandler) m_stack.getFirst();
+		int size = m_stack.size();
+		if (size > 0)
+			return (XMLHandler) m_stack.get(size - 1);
 		else
 			return null;
 	}
 
 	public void push(XMLHandler handler) throws SAXException {
-		if (m_stack.contains(handler)) {
-			throw new SAXException("XMLNodeContext invalid state.  Handler already on call stack: " + handler);
+		for (int index = m_stack.size() - 1; index >= 0; index--) {
+			if (m_stack.get(index) == handler) {
+				throw new SAXException("XMLNodeContext invalid state.  Handler already on call stack: " + handler);
+			}
 		}
-		m_stack.addFirst(handler);
+		m_stack.add(handler);
 	}
 
 	public void pop(XMLHandler handler) throws SAXException {
-		if (m_stack.size() == 0) {
+		int size = m_stack.size();
+		if (size == 0) {
 			throw new SAXException("XMLNodeContext invalid state.  Tried to pop from empty stack.");
 		}
-		Object obj = m_stack.removeFirst();
+		Object obj = m_stack.remove(size - 1);
 		if (handler != null && obj != handler) {
 			throw new SAXException("XMLNodeContext invalid state.  Expected to find the specified handler on the call stack: " + handler
 					+ "\n.But found instead: " + obj);
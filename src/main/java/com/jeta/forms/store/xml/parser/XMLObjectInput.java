@@ -6,9 +6,16 @@ import com.jeta.forms.store.JETAObjectInput;
 
 public class XMLObjectInput implements JETAObjectInput {
 
-	private JETAPersistableHandler m_handler;
+	private PropertySource m_handler;
 
 	public XMLObjectInput(JETAPersistableHandler handler) {
+		this((PropertySource) handler);
+	}
+
+	/**
+	 * Creates an input that reads the given properties. Used by StreamParser.
+	 */
+	XMLObjectInput(PropertySource handler) {
 		m_handler = handler;
 		assert (m_handler != null);
 	}
@@ -43,7 +50,7 @@ public class XMLObjectInput implements JETAObjectInput {
 	}
 
 	public JETAObjectInput getSuperClassInput() {
-		return new XMLObjectInput((JETAPersistableHandler) m_handler.getSuperClassHandler());
+		return new XMLObjectInput(m_handler.getSuperClassSource());
 	}
 
 	public int readInt(String propName, int defaultValue) throws IOException {
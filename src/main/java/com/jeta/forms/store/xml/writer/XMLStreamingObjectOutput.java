@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2005 Jeff Tassin.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.store.xml.writer;
+
+import java.io.IOException;
+
+import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.jml.JMLException;
+import com.jeta.forms.store.properties.JETAProperty;
+
+/**
+ * The streaming version of JMLObjectOutput. Each value is written to the
+ * XMLStreamingWriter as soon as it is received.
+ * 
+ * Super classes are written as nested <super> elements. Since the output is
+ * written in order, the element for the super class is closed as soon as we
+ * write anything else to this object.
+ * 
+ * @author Jeff Tassin
+ */
+class XMLStreamingObjectOutput implements JETAObjectOutput {
+	private XMLStreamingWriter m_writer;
+
+	/**
+	 * The output for the super class if one is currently open.
+	 */
+	private XMLStreamingObjectOutput m_super;
+
+	/**
+	 * Set to true when the element for this object has been closed.
+	 */
+	private boolean m_closed = false;
+
+	/**
+	 * ctor
+	 * 
+	 * @param writer
+	 *            the writer. The <object> or <super> element for this object
+	 *            must be open and is closed by calling close.
+	 */
+	XMLStreamingObjectOutput(XMLStreamingWriter writer) {
+		m_writer = writer;
+	}
+
+	/**
+	 * Prepares the writer for a new property in this object.
+	 */
+	private void beginEntry() throws IOException {
+		if (m_closed)
+			throw new IOException("XMLStreamingObjectOutput element is already closed.");
+
+		if (m_super != null) {
+			m_super.close();
+			m_super = null;
+		}
+	}
+
+	private void writeProperty(String tagName, Object value) throws IOException {
+		beginEntry();
+		try {
+			m_writer.writeProperty(tagName, value);
+		} catch (JMLException e) {
+			throw new IOException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Closes the element for this object and any open super class elements.
+	 */
+	void close() throws IOException {
+		if (!m_closed) {
+			if (m_super != null) {
+				m_super.close();
+				m_super = null;
+			}
+			m_writer.endElement();
+			m_closed = true;
+		}
+	}
+
+	/**
+	 * No need to write the version number for XML since we all some fields as
+	 * optional
+	 */
+	public void writeVersion(int version) throws IOException {
+		// no op
+	}
+
+	public void writeInt(String tagName, int value) throws IOException {
+		writeProperty(tagName, String.valueOf(value));
+	}
+
+	public void writeObject(String tagName, Object obj) throws IOException {
+		if (obj != null)
+			writeProperty(tagName, obj);
+	}
+
+	public void writeBoolean(String tagName, boolean bval) throws IOException {
+		writeProperty(tagName, String.valueOf(bval));
+	}
+
+	public void writeFloat(String tagName, float fval) throws IOException {
+		writeProperty(tagName, String.valueOf(fval));
+	}
+
+	public JETAObjectOutput getSuperClassOutput(Class superClass) {
+		/**
+		 * Special case for storing JETAProperty classes. See
+		 * JMLObjectOutput.getSuperClassOutput
+		 */
+		if (superClass == JETAProperty.class)
+			return this;
+
+		try {
+			beginEntry();
+			m_writer.startElement("super");
+			if (superClass != null)
+				m_writer.attribute("classname", superClass.getName());
+			m_super = new XMLStreamingObjectOutput(m_writer);
+			return m_super;
+		} catch (IOException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+
+	public void writeBoolean(String string, boolean value, boolean defaultValue) throws IOException {
+		if (value != defaultValue)
+			writeBoolean(string, value);
+	}
+
+	public void writeInt(String string, int value, int defaultValue) throws IOException {
+		if (value != defaultValue)
+			writeInt(string, value);
+	}
+
+	public void writeFloat(String string, float value, float defaultValue) throws IOException {
+		if (value != defaultValue)
+			writeFloat(string, value);
+	}
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2005 Jeff Tassin.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.store.xml.writer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import com.jeta.forms.store.JETAPersistable;
+import com.jeta.forms.store.jml.HashMapSerializer;
+import com.jeta.forms.store.jml.InlineJMLSerializer;
+import com.jeta.forms.store.jml.JMLException;
+import com.jeta.forms.store.jml.JMLObjectOutput;
+import com.jeta.forms.store.jml.JMLSerializer;
+import com.jeta.forms.store.jml.JMLSerializerFactory;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.jml.ListSerializer;
+import com.jeta.forms.store.jml.NullSerializer;
+import com.jeta.forms.store.jml.ObjectArraySerializer;
+import com.jeta.forms.store.jml.PrimitiveHolder;
+import com.jeta.forms.store.jml.PrimitiveSerializer;
+import com.jeta.forms.store.jml.PropertyMapSerializer;
+import com.jeta.forms.store.jml.StringSerializer;
+import com.jeta.forms.store.jml.dom.DefaultXMLDocument;
+import com.jeta.forms.store.jml.dom.JMLNode;
+import com.jeta.forms.store.jml.dom.TextJMLNode;
+import com.jeta.forms.store.support.PropertyMap;
+import com.jeta.forms.store.xml.XMLUtils;
+
+/**
+ * Writes an object to XML as the object is visited. The output is identical
+ * to calling JMLUtils.writeObject and passing the result to XMLWriter, but the
+ * JMLNode tree for the object is never built. Objects are visited using the
+ * same JMLSerializer that JMLSerializerFactory returns for the DOM path. The
+ * standard serializers are streamed. Any other serializer is called normally
+ * and the (small) node tree it returns is written in place.
+ * 
+ * @author Jeff Tassin
+ */
+public class XMLStreamingWriter {
+	private Writer m_writer;
+
+	private JMLSerializerFactory m_factory;
+
+	/**
+	 * The stack of open elements. The innermost element is at the end.
+	 */
+	private Element[] m_elements = new Element[32];
+	private int m_depth = 0;
+
+	/**
+	 * ctor
+	 */
+	public XMLStreamingWriter() {
+
+	}
+
+	/**
+	 * Writes the given object as XML to the given writer.
+	 * 
+	 * @param writer
+	 *            A writer where the XML will be output to.
+	 * @param obj
+	 *            the object to write (normally a FormPackage)
+	 */
+	public void write(Writer writer, Object obj) throws IOException, JMLException {
+		m_writer = writer;
+		m_factory = JMLSerializerFactory.getInstance();
+		m_depth = 0;
+		m_writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		writeValue(obj);
+	}
+
+	/**
+	 * Writes the XML for an object. This is the streaming version of
+	 * JMLSerializer.serialize
+	 */
+	void writeValue(Object obj) throws IOException, JMLException {
+		JMLSerializer serializer = getSerializer(obj);
+		if (serializer instanceof JMLObjectOutput.XMLObjectOutputSerializer) {
+			startObject(obj);
+			XMLStreamingObjectOutput out = new XMLStreamingObjectOutput(this);
+			((JETAPersistable) obj).write(out);
+			out.close();
+		}
+		else if (serializer instanceof StringSerializer) {
+			text(obj.toString());
+		}
+		else if (serializer instanceof NullSerializer) {
+			startObject(null);
+			endElement();
+		}
+		else if (serializer instanceof PrimitiveSerializer) {
+			Object value = obj;
+			if (value instanceof PrimitiveHolder)
+				value = ((PrimitiveHolder) value).getPrimitive();
+
+			if (!JMLUtils.isPrimitive(value) && !(value instanceof Long)) {
+				throw new JMLException("PrimitiveSerializer.serialize non primitive object encountered: " + value.getClass());
+			}
+			startElement("object");
+			attribute("classname", value.getClass().getName().substring("java.lang.".length()));
+			attribute("value", value.toString());
+			endElement();
+		}
+		else if (serializer instanceof PropertyMapSerializer) {
+			startObject(obj);
+			PropertyMap pmap = (PropertyMap) obj;
+			Iterator iter = pmap.keySet().iterator();
+			while (iter.hasNext()) {
+				Object key = iter.next();
+				Object value = pmap.get(key);
+				if (JMLUtils.isPrimitive(value))
+					writeProperty(key.toString(), value.toString());
+				else
+					writeProperty(key.toString(), value);
+			}
+			endElement();
+		}
+		else if (serializer instanceof HashMapSerializer) {
+			JMLUtils.verifyObjectType(obj, HashMap.class);
+			startObject(obj);
+			HashMap hash = (HashMap) obj;
+			Iterator iter = hash.keySet().iterator();
+			while (iter.hasNext()) {
+				Object key = iter.next();
+				startElement("item");
+				writeProperty("key", JMLUtils.getPrimitiveHolder(key));
+				writeProperty("value", JMLUtils.getPrimitiveHolder(hash.get(key)));
+				endElement();
+			}
+			endElement();
+		}
+		else if (serializer instanceof ListSerializer) {
+			startObject(obj);
+			Iterator iter = ((List) obj).iterator();
+			while (iter.hasNext()) {
+				startElement("item");
+				writeProperty("value", JMLUtils.getPrimitiveHolder(iter.next()));
+				endElement();
+			}
+			endElement();
+		}
+		else if (serializer instanceof ObjectArraySerializer) {
+			JMLUtils.verifyObjectType(obj, Object[].class);
+			Object[] oa = (Object[]) obj;
+			startObject(obj);
+			attribute("size", String.valueOf(oa.length));
+			for (int index = 0; index < oa.length; index++) {
+				Object item = oa[index];
+				if (item != null) {
+					writeProperty("item", JMLUtils.getPrimitiveHolder(item), "index", String.valueOf(index));
+				}
+			}
+			endElement();
+		}
+		else {
+			writeNode(serializer.serialize(new DefaultXMLDocument(), obj));
+		}
+	}
+
+	/**
+	 * Writes an <at name="..."> element for the given property. This is the
+	 * streaming version of JMLUtils.createPropertyNode
+	 */
+	void writeProperty(String propName, Object pvalue) throws IOException, JMLException {
+		writeProperty(propName, pvalue, null, null);
+	}
+
+	/**
+	 * Writes an <at name="..."> element for the given property along with one
+	 * extra attribute (e.g. the index of an array item).
+	 */
+	private void writeProperty(String propName, Object pvalue, String extraName, String extraValue) throws IOException, JMLException {
+		startElement("at");
+		attribute("name", propName);
+		if (pvalue != null) {
+			JMLSerializer serializer = getSerializer(pvalue);
+			if (serializer instanceof InlineJMLSerializer)
+				attribute("object", ((InlineJMLSerializer) serializer).getObjectName());
+			if (extraName != null)
+				attribute(extraName, extraValue);
+			writeValue(pvalue);
+		}
+		else if (extraName != null) {
+			attribute(extraName, extraValue);
+		}
+		endElement();
+	}
+
+	private JMLSerializer getSerializer(Object obj) throws JMLException {
+		JMLSerializer serializer = m_factory.createSerializer(obj);
+		if (serializer == null)
+			throw new JMLException("Unable to find serializer for: " + (obj == null ? "NULL" : obj.getClass().getName()));
+		return serializer;
+	}
+
+	/**
+	 * Writes a node tree returned by a JMLSerializer. Same format as XMLWriter.
+	 */
+	private void writeNode(JMLNode node) throws IOException {
+		if (node instanceof TextJMLNode) {
+			text(((TextJMLNode) node).getTextValue());
+		}
+		else {
+			startElement(node.getNodeName());
+			Iterator iter = node.getAttributeNames().iterator();
+			while (iter.hasNext()) {
+				String name = (String) iter.next();
+				attribute(name, node.getAttribute(name));
+			}
+			for (int index = 0; index < node.getChildCount(); index++) {
+				writeNode(node.getNode(index));
+			}
+			endElement();
+		}
+	}
+
+	/**
+	 * Starts an <object classname="..."> element for the given object.
+	 */
+	private void startObject(Object obj) throws IOException {
+		startElement("object");
+		attribute("classname", obj == null ? "null" : obj.getClass().getName());
+	}
+
+	/**
+	 * Writes the start of a new element. The start tag is left open so that
+	 * attributes can be added.
+	 */
+	void startElement(String name) throws IOException {
+		beginChild(false);
+
+		m_writer.write('\n');
+		for (int index = 0; index < m_depth; index++)
+			m_writer.write(' ');
+
+		m_writer.write('<');
+		m_writer.write(name);
+		m_writer.write(' ');
+
+		if (m_depth == m_elements.length) {
+			Element[] elements = new Element[m_elements.length * 2];
+			System.arraycopy(m_elements, 0, elements, 0, m_elements.length);
+			m_elements = elements;
+		}
+		Element element = m_elements[m_depth];
+		if (element == null) {
+			element = new Element();
+			m_elements[m_depth] = element;
+		}
+		element.reset(name);
+		m_depth++;
+	}
+
+	/**
+	 * Adds an attribute to the current element. Must be called before any
+	 * children are written.
+	 */
+	void attribute(String name, String value) throws IOException {
+		Element element = m_elements[m_depth - 1];
+		assert (!element.m_hasChildren);
+		if (element.m_attributes > 0)
+			m_writer.write(' ');
+		m_writer.write(name);
+		m_writer.write("=\"");
+		m_writer.write(XMLUtils.escape(value));
+		m_writer.write('\"');
+		element.m_attributes++;
+	}
+
+	/**
+	 * Writes a text child for the current element.
+	 */
+	private void text(String value) throws IOException {
+		beginChild(true);
+		if (value != null)
+			m_writer.write(XMLUtils.escape(value));
+	}
+
+	/**
+	 * Closes the current element.
+	 */
+	void endElement() throws IOException {
+		m_depth--;
+		Element element = m_elements[m_depth];
+		if (!element.m_hasChildren) {
+			m_writer.write("/>");
+		}
+		else {
+			if (!element.m_lastChildText) {
+				m_writer.write('\n');
+				for (int index = 0; index < m_depth; index++)
+					m_writer.write(' ');
+			}
+			m_writer.write("</");
+			m_writer.write(element.m_name);
+			m_writer.write('>');
+		}
+	}
+
+	/**
+	 * Called before a child is written to the current element. Closes the
+	 * start tag of the current element if this is its first child.
+	 */
+	private void beginChild(boolean text) throws IOException {
+		if (m_depth > 0) {
+			Element parent = m_elements[m_depth - 1];
+			if (!parent.m_hasChildren) {
+				m_writer.write('>');
+				parent.m_hasChildren = true;
+			}
+			parent.m_lastChildText = text;
+		}
+	}
+
+	/**
+	 * The state of an open element
+	 */
+	private static class Element {
+		String m_name;
+		int m_attributes;
+		boolean m_hasChildren;
+		boolean m_lastChildText;
+
+		void reset(String name) {
+			m_name = name;
+			m_attributes = 0;
+			m_hasChildren = false;
+			m_lastChildText = false;
+		}
+	}
+}
@@ -30,11 +30,14 @@
 package com.jeta.open.i18n;
 
 import java.text.MessageFormat;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.jeta.open.registry.JETARegistry;
 import com.jeta.open.resources.ResourceLoader;
@@ -45,10 +48,31 @@ import com.jeta.open.resources.ResourceLoader;
  * @author Jeff Tassin
  */
 public class I18NHelper {
-	private Locale m_locale;
-	private static I18NHelper m_singleton;
+	/**
+	 * The maximum number of compiled message templates held in the cache. If
+	 * this is exceeded, the cache is cleared.
+	 */
+	private static final int MAX_FORMATS = 512;
+
+	private volatile Locale m_locale;
+	private static final I18NHelper m_singleton = new I18NHelper();
 	private LinkedList m_bundles = new LinkedList();
 
+	/**
+	 * The messages from all loaded bundles merged into a single table. The
+	 * first bundle that defines a message wins. This map is replaced (never
+	 * modified) when a bundle is loaded or the locale changes, so it can be
+	 * read without locking. m_messages<String,String>
+	 */
+	private volatile HashMap m_messages = new HashMap();
+
+	/**
+	 * Compiled message templates for the current locale. Replaced when a
+	 * bundle is loaded or the locale changes.
+	 * m_formats<String,CompiledMessage>
+	 */
+	private volatile ConcurrentHashMap m_formats = new ConcurrentHashMap();
+
 	private I18NHelper() {
 
 	}
@@ -61,22 +85,44 @@ public class I18NHelper {
 	}
 
 	public static I18NHelper getInstance() {
-		if (m_singleton == null)
-			m_singleton = new I18NHelper();
-
 		return m_singleton;
 	}
 
-	public void loadBundle(String bundleName) {
+	public synchronized void loadBundle(String bundleName) {
 		ResourceBundle currentbundle = null;
 		ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
 		//currentbundle = ResourceBundle.getBundle(bundleName, m_locale, loader.getClassLoader());
 		//m_bundles.add(currentbundle);
+		rebuildMessages();
 	}
 
-	public void setLocale(Locale locale) {
+	public synchronized void setLocale(Locale locale) {
 		Locale.setDefault(locale);
 		m_locale = locale;
+		rebuildMessages();
+	}
+
+	/**
+	 * Merges the messages from all loaded bundles into a single table and
+	 * discards any compiled templates.
+	 */
+	private void rebuildMessages() {
+		HashMap messages = new HashMap();
+		Iterator iter = m_bundles.iterator();
+		while (iter.hasNext()) {
+			ResourceBundle bundle = (ResourceBundle) iter.next();
+			Enumeration keys = bundle.getKeys();
+			while (keys.hasMoreElements()) {
+				String key = (String) keys.nextElement();
+				if (!messages.containsKey(key)) {
+					String value = _getLocalizedMessage(bundle, key);
+					if (value != null)
+						messages.put(key, value);
+				}
+			}
+		}
+		m_messages = messages;
+		m_formats = new ConcurrentHashMap();
 	}
 
 	/**
@@ -85,16 +131,23 @@ public class I18NHelper {
 	 *         dynamically.
 	 */
 	public String format(String template, Object[] arguments) {
-		MessageFormat formatter = new MessageFormat("");
-		formatter.setLocale(m_locale);
-		formatter.applyPattern(getLocalizedMessage(template));
-		return formatter.format(arguments);
+		ConcurrentHashMap formats = m_formats;
+		CompiledMessage message = (CompiledMessage) formats.get(template);
+		if (message == null) {
+			message = new CompiledMessage(m_locale, getLocalizedMessage(template));
+			if (formats.size() >= MAX_FORMATS)
+				formats.clear();
+			formats.put(template, message);
+		}
+		return message.format(arguments);
 	}
 
 	public String _getLocalizedMessage(ResourceBundle bundle, String messageId) {
 		String result = null;
 		try {
-			result = bundle.getString(messageId);
+			Object value = bundle.getObject(messageId);
+			if (value instanceof String)
+				result = (String) value;
 		} catch (MissingResourceException mre) {
 		}
 		return result;
@@ -104,15 +157,7 @@ public class I18NHelper {
 		if (messageId == null)
 			return null;
 
-		String result = null;
-		Iterator iter = m_bundles.iterator();
-		while (iter.hasNext()) {
-			ResourceBundle bundle = (ResourceBundle) iter.next();
-			result = _getLocalizedMessage(bundle, messageId);
-			if (result != null)
-				break;
-
-		}
+		String result = (String) m_messages.get(messageId);
 		if (result == null) {
 			result = messageId;
 		}
@@ -151,4 +196,114 @@ public class I18NHelper {
 	public char space() {
 		return ' ';
 	}
+
+	/**
+	 * A message template compiled for a given locale. Most templates only
+	 * contain simple arguments such as {0} and are formatted with strings.
+	 * These are formatted directly from the pre-parsed text and argument
+	 * indexes. All other cases are handled by a MessageFormat.
+	 */
+	private static class CompiledMessage {
+		/**
+		 * The literal text that precedes each argument. The last element is
+		 * the text that follows the last argument. Null if the template is
+		 * not simple.
+		 */
+		private String[] m_text;
+
+		/**
+		 * The argument index for each placeholder in the template.
+		 */
+		private int[] m_args;
+
+		/**
+		 * Handles the cases that are not supported by the simple format.
+		 */
+		private MessageFormat m_format;
+
+		/**
+		 * Used to estimate the size of the formatted message
+		 */
+		private int m_text_length;
+
+		CompiledMessage(Locale locale, String pattern) {
+			m_format = new MessageFormat("");
+			m_format.setLocale(locale);
+			m_format.applyPattern(pattern);
+			parse(pattern);
+		}
+
+		/**
+		 * Formats the message with the given arguments.
+		 */
+		String format(Object[] arguments) {
+			if (m_text != null && arguments != null) {
+				boolean simple = true;
+				for (int index = 0; index < m_args.length && simple; index++) {
+					int arg = m_args[index];
+					simple = (arg < arguments.length && arguments[arg] instanceof String);
+				}
+
+				if (simple) {
+					StringBuffer result = new StringBuffer(m_text_length + 16 * m_args.length);
+					for (int index = 0; index < m_args.length; index++) {
+						result.append(m_text[index]);
+						result.append((String) arguments[m_args[index]]);
+					}
+					result.append(m_text[m_args.length]);
+					return result.toString();
+				}
+			}
+
+			/** MessageFormat is not thread safe */
+			synchronized (m_format) {
+				return m_format.format(arguments);
+			}
+		}
+
+		/**
+		 * Splits the pattern into literal text and argument indexes. If the
+		 * pattern contains quotes or anything other than simple arguments,
+		 * m_text is left null.
+		 */
+		private void parse(String pattern) {
+			if (pattern.indexOf('\'') >= 0)
+				return;
+
+			LinkedList text = new LinkedList();
+			LinkedList args = new LinkedList();
+			int start = 0;
+			int pos = pattern.indexOf('{');
+			while (pos >= 0) {
+				int end = pattern.indexOf('}', pos);
+				if (end <= pos + 1)
+					return;
+
+				int arg = 0;
+				for (int index = pos + 1; index < end; index++) {
+					char c = pattern.charAt(index);
+					if (c < '0' || c > '9' || arg > 9999)
+						return;
+					arg = arg * 10 + (c - '0');
+				}
+
+				text.add(pattern.substring(start, pos));
+				args.add(Integer.valueOf(arg));
+				start = end + 1;
+				pos = pattern.indexOf('{', start);
+			}
+
+			if (pattern.indexOf('}', start) >= 0)
+				return;
+
+			text.add(pattern.substring(start));
+			m_text = (String[]) text.toArray(new String[text.size()]);
+			m_args = new int[args.size()];
+			for (int index = 0; index < m_args.length; index++) {
+				m_args[index] = ((Integer) args.get(index)).intValue();
+				m_text_length += m_text[index].length();
+			}
+			m_text_length += m_text[m_args.length].length();
+		}
+	}
 }
@@ -29,12 +29,15 @@
 
 package com.jeta.open.registry;
 
-import java.util.Hashtable;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JETARegistry is a class that is used to manage objects and services for an
  * application. Client classes can obtain an instance to well-known objects
- * and/or services by using the JETARegistry. This class is not thread safe.
+ * and/or services by using the JETARegistry. Lookups do not lock, so the
+ * registry can be used from any thread. Code that looks up the same service
+ * frequently can hold on to a {@link ServiceHandle} instead.
  * 
  * @author Jeff Tassin
  */
@@ -42,15 +45,38 @@ public class JETARegistry {
 	/**
 	 * A hash of component names (String) to a named component (Object)
 	 */
-	private static Hashtable m_components = new Hashtable();
+	private static ConcurrentHashMap m_components = new ConcurrentHashMap();
+
+	/**
+	 * A map of component names (String) to the ServiceHandle for that name.
+	 * Handles are created on request and updated whenever the component is
+	 * rebound or removed. Guarded by the JETARegistry class lock.
+	 */
+	private static HashMap m_handles = new HashMap();
 
 	private static String NULL_HOLDER = "";
 
+	/**
+	 * Returns a handle to the component with the given name. The handle always
+	 * refers to the component that is currently registered with that name, so
+	 * it can be stored and used in place of lookup.
+	 * 
+	 * @return the handle for the given component name.
+	 */
+	synchronized public static ServiceHandle getHandle(String componentName) {
+		ServiceHandle handle = (ServiceHandle) m_handles.get(componentName);
+		if (handle == null) {
+			handle = new ServiceHandle(componentName, lookup(componentName));
+			m_handles.put(componentName, handle);
+		}
+		return handle;
+	}
+
 	/**
 	 * @return a component that is registered with the given name. Null is
 	 *         returned if the component has not been registered.
 	 */
-	synchronized public static Object lookup(String componentName) {
+	public static Object lookup(String componentName) {
 		Object obj = m_components.get(componentName);
 		if (obj == NULL_HOLDER)
 			return null;
@@ -67,6 +93,10 @@ public class JETARegistry {
 			m_components.put(componentName, NULL_HOLDER);
 		else
 			m_components.put(componentName, componentImpl);
+
+		ServiceHandle handle = (ServiceHandle) m_handles.get(componentName);
+		if (handle != null)
+			handle.setService(componentImpl);
 	}
 
 	/**
@@ -74,6 +104,10 @@ public class JETARegistry {
 	 */
 	synchronized public static void remove(String componentName) {
 		m_components.remove(componentName);
+
+		ServiceHandle handle = (ServiceHandle) m_handles.get(componentName);
+		if (handle != null)
+			handle.setService(null);
 	}
 
 }
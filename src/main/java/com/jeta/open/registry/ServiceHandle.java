@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.registry;
+
+/**
+ * A reference to a component in the JETARegistry. The handle is updated by
+ * the registry whenever the component is rebound or removed, so clients can
+ * keep the handle instead of calling JETARegistry.lookup every time they
+ * need the component. Use {@link JETARegistry#getHandle(String)} to obtain a
+ * handle.
+ * 
+ * <pre>
+ * private static final ServiceHandle m_color_mgr = JETARegistry.getHandle(ColorManager.COMPONENT_ID);
+ * ...
+ * ColorManager cmgr = (ColorManager) m_color_mgr.get();
+ * </pre>
+ * 
+ * @author Jeff Tassin
+ */
+public class ServiceHandle {
+	/**
+	 * The name of the component in the registry
+	 */
+	private String m_name;
+
+	/**
+	 * The component currently registered with the name. Can be null.
+	 */
+	private volatile Object m_service;
+
+	/**
+	 * Creates a <code>ServiceHandle</code> instance. Only the JETARegistry
+	 * creates handles.
+	 */
+	ServiceHandle(String name, Object service) {
+		m_name = name;
+		m_service = service;
+	}
+
+	/**
+	 * @return the component currently registered with this handle's name.
+	 *         Null is returned if no component is registered.
+	 */
+	public Object get() {
+		return m_service;
+	}
+
+	/**
+	 * @return the name of the component in the registry
+	 */
+	public String getName() {
+		return m_name;
+	}
+
+	/**
+	 * Called by the registry when the component is rebound or removed.
+	 */
+	void setService(Object service) {
+		m_service = service;
+	}
+
+	public String toString() {
+		return "ServiceHandle[" + m_name + "]";
+	}
+}
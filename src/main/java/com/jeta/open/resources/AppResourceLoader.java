@@ -32,7 +32,6 @@ package com.jeta.open.resources;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Hashtable;
 
 import javax.swing.ImageIcon;
 
@@ -52,9 +51,6 @@ public class AppResourceLoader implements ResourceLoader {
 	/** an empty icon if a resource cannot be loaded */
 	private static ImageIcon m_empty_icon;
 
-	/** cache of images */
-	private static Hashtable m_imagecache = new Hashtable();
-
 	public AppResourceLoader() {
 
 	}
@@ -107,26 +103,22 @@ public class AppResourceLoader implements ResourceLoader {
 
 	/**
 	 * Loads an image from disk. The image is loaded relative to the application
-	 * directory.
-	 * 
-	 * @todo we need to cache these images
+	 * directory. Images are cached by the registered ResourceLoader (see
+	 * {@link ImageCache}).
 	 */
 	public static ImageIcon getImage(String imageName) {
 		if (imageName != null) {
-			ImageIcon icon = (ImageIcon) m_imagecache.get(imageName);
+			ImageIcon icon = null;
+			try {
+				ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
+				assert (loader != null);
+				icon = loader.loadImage(imageName);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+
 			if (icon == null) {
-				try {
-					ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
-					assert (loader != null);
-					icon = loader.loadImage(imageName);
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-
-				if (icon == null) {
-					icon = new ImageIcon();
-				}
-				m_imagecache.put(imageName, icon);
+				icon = new ImageIcon();
 			}
 			return icon;
 		}
@@ -138,7 +130,7 @@ public class AppResourceLoader implements ResourceLoader {
 
 	/**
 	 * Helper utility to load an image file from the application images
-	 * directory
+	 * directory. Images are shared through the {@link ImageCache}.
 	 * 
 	 * @param imageName
 	 *            the name (and optional sub directory ) of the file to load
@@ -148,7 +140,7 @@ public class AppResourceLoader implements ResourceLoader {
 			ClassLoader classloader = getClassLoader();
 			java.net.URL url = classloader.getResource(imageName);
 			if (url != null) {
-				ImageIcon icon = new ImageIcon(url);
+				ImageIcon icon = ImageCache.loadIcon(url);
 				return icon;
 			}
 			else {
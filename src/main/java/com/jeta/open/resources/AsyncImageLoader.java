@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.resources;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes images on a small pool of background threads. Opening a form with
+ * many icons would otherwise block while every image is read and decoded.
+ * Instead, the caller submits a Request and uses a correctly sized placeholder
+ * until the request completes.
+ * 
+ * Requests are processed in the order they were submitted, except that
+ * requests for images that are currently visible are moved ahead of all
+ * others (see {@link #promote(Request)}). A caller that needs the image
+ * immediately can call {@link Request#complete()}, which runs the request on
+ * the calling thread if it has not already run.
+ * 
+ * @author Jeff Tassin
+ */
+public class AsyncImageLoader {
+	/**
+	 * The number of threads used to decode images.
+	 */
+	public static final int DEFAULT_THREAD_COUNT = 2;
+
+	/**
+	 * The executor that runs the requests. Created on first use.
+	 */
+	private static ThreadPoolExecutor m_executor;
+
+	/**
+	 * Flag that indicates if images are decoded in the background.
+	 */
+	private static boolean m_enabled = true;
+
+	/**
+	 * Used to order requests that have the same priority.
+	 */
+	private static long m_sequence = 0;
+
+	/**
+	 * Creates an <code>AsyncImageLoader</code> instance. All methods are
+	 * static.
+	 */
+	private AsyncImageLoader() {
+
+	}
+
+	/**
+	 * Returns the executor used to decode images. The threads are daemon
+	 * threads that exit when idle.
+	 */
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (m_executor == null) {
+			m_executor = new ThreadPoolExecutor(DEFAULT_THREAD_COUNT, DEFAULT_THREAD_COUNT, 5L, TimeUnit.SECONDS, new PriorityBlockingQueue(),
+					new ThreadFactory() {
+						public Thread newThread(Runnable r) {
+							Thread thread = new Thread(r, "AsyncImageLoader");
+							thread.setDaemon(true);
+							thread.setPriority(Thread.MIN_PRIORITY);
+							return thread;
+						}
+					});
+			m_executor.allowCoreThreadTimeOut(true);
+		}
+		return m_executor;
+	}
+
+	/**
+	 * Returns the number of requests waiting to be run.
+	 */
+	public static synchronized int getPendingCount() {
+		return (m_executor == null) ? 0 : m_executor.getQueue().size();
+	}
+
+	/**
+	 * Returns true if images are decoded in the background. If false, callers
+	 * should load images on the calling thread.
+	 */
+	public static synchronized boolean isEnabled() {
+		return m_enabled;
+	}
+
+	/**
+	 * Moves the given request ahead of all requests that are not visible. This
+	 * is called when a placeholder is painted, so images that the user can
+	 * see are decoded first. Has no effect if the request is already running
+	 * or has completed.
+	 */
+	public static synchronized void promote(Request request) {
+		if (request == null || request.m_visible)
+			return;
+
+		ThreadPoolExecutor executor = getExecutor();
+		if (executor.remove(request)) {
+			request.m_visible = true;
+			executor.execute(request);
+		}
+		else {
+			request.m_visible = true;
+		}
+	}
+
+	/**
+	 * Removes the given request from the queue if it has not started.
+	 */
+	static synchronized boolean remove(Request request) {
+		return (m_executor != null) && m_executor.remove(request);
+	}
+
+	/**
+	 * Enables or disables background decoding.
+	 */
+	public static synchronized void setEnabled(boolean enabled) {
+		m_enabled = enabled;
+	}
+
+	/**
+	 * Queues a request to be run on a background thread.
+	 */
+	public static synchronized void submit(Request request) {
+		request.m_sequence = m_sequence++;
+		getExecutor().execute(request);
+	}
+
+	/**
+	 * A unit of work for the image loader. Derived classes implement load().
+	 * A request runs at most once, either on a loader thread or on a thread
+	 * that calls complete().
+	 */
+	public static abstract class Request implements Runnable, Comparable {
+		/**
+		 * Set when the image associated with this request has been painted.
+		 * Only modified while the request is not queued.
+		 */
+		private boolean m_visible = false;
+
+		/**
+		 * The order in which this request was submitted.
+		 */
+		private long m_sequence;
+
+		/**
+		 * Set after load() has been invoked.
+		 */
+		private boolean m_done = false;
+
+		/**
+		 * Runs this request on the calling thread if it has not already run.
+		 * If a loader thread is currently running the request, this method
+		 * blocks until it finishes.
+		 */
+		public void complete() {
+			AsyncImageLoader.remove(this);
+			run();
+		}
+
+		/**
+		 * Returns true if this request has run.
+		 */
+		public synchronized boolean isDone() {
+			return m_done;
+		}
+
+		/**
+		 * Loads the image. Called at most once.
+		 */
+		protected abstract void load();
+
+		/**
+		 * Runnable implementation.
+		 */
+		public final synchronized void run() {
+			if (!m_done) {
+				m_done = true;
+				try {
+					load();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		/**
+		 * Comparable implementation. Visible requests come first, then
+		 * requests are ordered by submission.
+		 */
+		public int compareTo(Object obj) {
+			Request request = (Request) obj;
+			if (m_visible != request.m_visible)
+				return m_visible ? -1 : 1;
+
+			return (m_sequence < request.m_sequence) ? -1 : ((m_sequence == request.m_sequence) ? 0 : 1);
+		}
+	}
+}
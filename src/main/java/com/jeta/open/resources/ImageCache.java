@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.resources;
+
+import java.awt.Image;
+import java.awt.MediaTracker;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import javax.swing.ImageIcon;
+
+/**
+ * A process-wide cache of loaded images. Forms frequently reference the same
+ * icons and background images, so every image is loaded once and the same
+ * ImageIcon instance is shared by all properties and components that refer to
+ * it.
+ * 
+ * Icons loaded from the classpath are keyed by their resolved URL. Icons
+ * loaded from the file system are keyed by their absolute path. Derived images
+ * (e.g. the buffered image used by a texture) are keyed by the source icon.
+ * 
+ * The cache is bounded by the approximate number of bytes held by the images
+ * (4 bytes per pixel) and evicts the least recently used images first. Images
+ * are also held by soft references so they can be reclaimed when memory is
+ * low. Cached images are shared, so callers must treat them as read-only.
+ * 
+ * @author Jeff Tassin
+ */
+public class ImageCache {
+	/**
+	 * The default maximum number of bytes held by the cache.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+	/**
+	 * The maximum number of bytes held by the cache.
+	 */
+	private static long m_max_bytes = DEFAULT_MAX_BYTES;
+
+	/**
+	 * The approximate number of bytes currently held by the cache
+	 */
+	private static long m_bytes = 0;
+
+	/**
+	 * An access ordered map of keys to images m_images<Object,ImageEntry>
+	 */
+	private static LinkedHashMap m_images = new LinkedHashMap(16, 0.75f, true);
+
+	/**
+	 * Flag that indicates if the cache is enabled.
+	 */
+	private static boolean m_enabled = true;
+
+	/**
+	 * Cache statistics
+	 */
+	private static long m_hits = 0;
+	private static long m_misses = 0;
+
+	/**
+	 * Creates an <code>ImageCache</code> instance. All methods are static.
+	 */
+	private ImageCache() {
+
+	}
+
+	/**
+	 * Removes all images from the cache. The hit and miss counters are not
+	 * changed.
+	 */
+	public static synchronized void clear() {
+		m_images.clear();
+		m_bytes = 0;
+	}
+
+	/**
+	 * Returns the cached image for the given key or null if it is not in the
+	 * cache.
+	 * 
+	 * @param key
+	 *            the key used to store the image
+	 * @return the cached ImageIcon or Image
+	 */
+	public static synchronized Object get(Object key) {
+		if (!m_enabled || key == null)
+			return null;
+
+		ImageEntry entry = (ImageEntry) m_images.get(key);
+		if (entry != null) {
+			Object image = entry.m_image.get();
+			if (image != null) {
+				m_hits++;
+				return image;
+			}
+			m_images.remove(key);
+			m_bytes -= entry.m_bytes;
+		}
+		m_misses++;
+		return null;
+	}
+
+	/**
+	 * Returns the approximate number of bytes currently held by this cache.
+	 */
+	public static synchronized long getByteCount() {
+		return m_bytes;
+	}
+
+	/**
+	 * Returns the number of successful lookups since the counters were last
+	 * reset.
+	 */
+	public static synchronized long getHitCount() {
+		return m_hits;
+	}
+
+	/**
+	 * Returns the fraction of lookups that found an image in the cache (0.0 to
+	 * 1.0) since the counters were last reset.
+	 */
+	public static synchronized double getHitRate() {
+		long total = m_hits + m_misses;
+		return (total == 0) ? 0.0 : ((double) m_hits / (double) total);
+	}
+
+	/**
+	 * Returns the maximum number of bytes held by this cache.
+	 */
+	public static synchronized long getMaxBytes() {
+		return m_max_bytes;
+	}
+
+	/**
+	 * Returns the number of failed lookups since the counters were last reset.
+	 */
+	public static synchronized long getMissCount() {
+		return m_misses;
+	}
+
+	/**
+	 * Returns the approximate number of bytes used by the given image.
+	 * 
+	 * @param image
+	 *            an ImageIcon or Image
+	 */
+	private static long getSize(Object image) {
+		int width = 0;
+		int height = 0;
+		if (image instanceof ImageIcon) {
+			ImageIcon icon = (ImageIcon) image;
+			width = icon.getIconWidth();
+			height = icon.getIconHeight();
+		}
+		else if (image instanceof BufferedImage) {
+			BufferedImage bimage = (BufferedImage) image;
+			width = bimage.getWidth();
+			height = bimage.getHeight();
+		}
+		else if (image instanceof Image) {
+			width = ((Image) image).getWidth(null);
+			height = ((Image) image).getHeight(null);
+		}
+		return (long) Math.max(0, width) * (long) Math.max(0, height) * 4L;
+	}
+
+	/**
+	 * Returns true if the cache is enabled.
+	 */
+	public static synchronized boolean isEnabled() {
+		return m_enabled;
+	}
+
+	/**
+	 * Returns the icon for the given URL. If the icon is not in the cache, it
+	 * is loaded and added to the cache. Icons that fail to load are not cached.
+	 * 
+	 * @param url
+	 *            the location of the image
+	 * @return the icon. Null is returned if url is null.
+	 */
+	public static ImageIcon loadIcon(URL url) {
+		if (url == null)
+			return null;
+
+		String key = url.toExternalForm();
+		ImageIcon icon = (ImageIcon) get(key);
+		if (icon == null) {
+			icon = new ImageIcon(url);
+			put(key, icon);
+		}
+		return icon;
+	}
+
+	/**
+	 * Adds an image to the cache and evicts the least recently used images if
+	 * the cache is full. ImageIcons that did not load successfully are
+	 * ignored, as are images larger than the cache.
+	 * 
+	 * @param key
+	 *            the key for the image. The key must implement equals and
+	 *            hashCode and must not be modified.
+	 * @param image
+	 *            an ImageIcon or Image. The image must not be modified after
+	 *            it is added to the cache.
+	 */
+	public static synchronized void put(Object key, Object image) {
+		if (!m_enabled || key == null || image == null)
+			return;
+
+		if (image instanceof ImageIcon && ((ImageIcon) image).getImageLoadStatus() != MediaTracker.COMPLETE)
+			return;
+
+		long bytes = getSize(image);
+		if (bytes > m_max_bytes)
+			return;
+
+		ImageEntry old = (ImageEntry) m_images.put(key, new ImageEntry(image, bytes));
+		if (old != null)
+			m_bytes -= old.m_bytes;
+		m_bytes += bytes;
+		trim();
+	}
+
+	/**
+	 * Removes the image for the given key from the cache.
+	 */
+	public static synchronized void remove(Object key) {
+		ImageEntry entry = (ImageEntry) m_images.remove(key);
+		if (entry != null)
+			m_bytes -= entry.m_bytes;
+	}
+
+	/**
+	 * Resets the hit and miss counters.
+	 */
+	public static synchronized void resetStatistics() {
+		m_hits = 0;
+		m_misses = 0;
+	}
+
+	/**
+	 * Enables or disables the cache. Disabling the cache also clears it.
+	 */
+	public static synchronized void setEnabled(boolean enabled) {
+		m_enabled = enabled;
+		if (!enabled)
+			clear();
+	}
+
+	/**
+	 * Sets the maximum number of bytes held by this cache. If the cache
+	 * currently holds more, the least recently used images are evicted.
+	 */
+	public static synchronized void setMaxBytes(long maxBytes) {
+		m_max_bytes = Math.max(0, maxBytes);
+		trim();
+	}
+
+	/**
+	 * Returns the number of images currently in the cache.
+	 */
+	public static synchronized int size() {
+		return m_images.size();
+	}
+
+	/**
+	 * Evicts the least recently used images until the cache is within its
+	 * limit.
+	 */
+	private static void trim() {
+		Iterator iter = m_images.values().iterator();
+		while (m_bytes > m_max_bytes && iter.hasNext()) {
+			ImageEntry entry = (ImageEntry) iter.next();
+			m_bytes -= entry.m_bytes;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * A cached image and its approximate size in bytes.
+	 */
+	private static class ImageEntry {
+		private SoftReference m_image;
+		private long m_bytes;
+
+		ImageEntry(Object image, long bytes) {
+			m_image = new SoftReference(image);
+			m_bytes = bytes;
+		}
+	}
+}
@@ -41,6 +41,7 @@ import java.util.regex.PatternSyntaxException;
 
 import javax.swing.ImageIcon;
 
+import com.jeta.open.resources.ImageCache;
 import com.jeta.swingbuilder.interfaces.resources.ResourceLoader;
 
 /**
@@ -257,8 +258,11 @@ public class AppResourceLoader implements ResourceLoader {
 		try {
 			ClassLoader classloader = getClassLoader();
 			java.net.URL url = classloader.getResource(m_imagespath + imageName);
-			ImageIcon icon = new ImageIcon(url);
-			return icon;
+			ImageIcon icon = ImageCache.loadIcon(url);
+			if (icon != null)
+				return icon;
+
+			System.out.println("invalid url: " + m_imagespath + imageName);
 		} catch (Exception e) {
 			System.out.println("invalid url: " + m_imagespath + imageName);
 			e.printStackTrace();
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2005 Jeff Tassin
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.jeta.swingbuilder.codegen;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.gui.form.CompiledForms;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.swingbuilder.codegen.builder.DefaultSourceBuilder;
+import com.jeta.swingbuilder.store.CodeModel;
+
+/**
+ * Headless build-time compiler that turns form files into Java sources. Each
+ * generated class implements CompiledForm and builds the form directly in
+ * code, so FormPanel does not have to parse the form file at runtime. The
+ * generated sources must be compiled with the application and placed on the
+ * same classpath as the form files. A form is compiled to the class name given
+ * by {@link CompiledForms#getClassName(String)}. The generated class records
+ * the fingerprint of the form file, so the compiled form is not used once the
+ * form file changes. Compiled forms must be enabled with
+ * {@link CompiledForms#setEnabled(boolean)}.
+ * 
+ * Usage: FormCompiler formsDir outputDir
+ * 
+ * where formsDir is the classpath root that contains the form files and
+ * outputDir is the root directory for the generated sources.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormCompiler {
+	/**
+	 * The extension of the form files
+	 */
+	public static final String FORM_EXTENSION = ".jfrm";
+
+	/**
+	 * The root directory for the generated sources
+	 */
+	private File m_output_dir;
+
+	/**
+	 * The number of sources that were written because they changed
+	 */
+	private int m_written = 0;
+
+	public FormCompiler(File outputDir) {
+		m_output_dir = outputDir;
+		DefaultInitializer.initialize();
+	}
+
+	/**
+	 * Compiles all form files found in the given directory and its
+	 * subdirectories.
+	 * 
+	 * @param formsDir
+	 *            the classpath root that contains the form files
+	 * @return a list of the form paths (String) that could not be compiled
+	 */
+	public LinkedList compileAll(File formsDir) {
+		LinkedList paths = new LinkedList();
+		findForms(formsDir, "", paths);
+
+		LinkedList failed = new LinkedList();
+		boolean design_mode = FormUtils.isDesignMode();
+		try {
+			FormUtils.setDesignMode(false);
+			while (!paths.isEmpty()) {
+				String path = (String) paths.removeFirst();
+				try {
+					compile(new File(formsDir, path), path);
+				} catch (Throwable t) {
+					System.err.println("Unable to compile form: " + path);
+					t.printStackTrace();
+					failed.add(path);
+				}
+			}
+		} finally {
+			FormUtils.setDesignMode(design_mode);
+		}
+		return failed;
+	}
+
+	/**
+	 * Compiles a single form file.
+	 * 
+	 * @param formFile
+	 *            the form file to compile
+	 * @param formPath
+	 *            the path of the form file relative to the classpath
+	 * @return the generated source file
+	 */
+	public File compile(File formFile, String formPath) throws Exception {
+		FormMemento fm = FormManagerUtils.loadForm(formFile);
+
+		String path = CompiledForms.normalizePath(formPath);
+		String classname = CompiledForms.getClassName(path);
+		String pkg = "";
+		String simplename = classname;
+		int pos = classname.lastIndexOf('.');
+		if (pos >= 0) {
+			pkg = classname.substring(0, pos);
+			simplename = classname.substring(pos + 1);
+		}
+
+		String fingerprint;
+		FileInputStream fis = new FileInputStream(formFile);
+		try {
+			fingerprint = CompiledForms.getFingerprint(fis);
+		} finally {
+			fis.close();
+		}
+
+		CodeModel cgenmodel = CodeModel.createInstance(pkg, simplename);
+		String source = DefaultSourceBuilder.buildCompiledForm(cgenmodel, fm, path, fingerprint);
+
+		File dir = (pkg.length() == 0) ? m_output_dir : new File(m_output_dir, pkg.replace('.', File.separatorChar));
+		File source_file = new File(dir, simplename + ".java");
+		if (SourceFiles.writeIfChanged(source_file, source.getBytes("UTF-8")))
+			m_written++;
+		return source_file;
+	}
+
+	/**
+	 * @return the number of sources that were written because they changed
+	 */
+	public int getWrittenCount() {
+		return m_written;
+	}
+
+	/**
+	 * Adds the paths of all form files in the given directory and its
+	 * subdirectories to the list. The paths are relative to the forms
+	 * directory and use forward slashes.
+	 */
+	static void findForms(File dir, String prefix, LinkedList paths) {
+		File[] files = dir.listFiles();
+		if (files == null)
+			return;
+
+		Arrays.sort(files);
+		for (int index = 0; index < files.length; index++) {
+			File file = files[index];
+			if (file.isDirectory())
+				findForms(file, prefix + file.getName() + "/", paths);
+			else if (file.getName().endsWith(FORM_EXTENSION))
+				paths.add(prefix + file.getName());
+		}
+	}
+
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: FormCompiler formsDir outputDir");
+			System.exit(2);
+		}
+
+		System.setProperty("java.awt.headless", "true");
+		FormCompiler compiler = new FormCompiler(new File(args[1]));
+		LinkedList failed = compiler.compileAll(new File(args[0]));
+		System.out.println("Form sources written: " + compiler.getWrittenCount() + ", failed: " + failed.size());
+		if (failed.size() > 0)
+			System.exit(1);
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2005 Jeff Tassin
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.jeta.swingbuilder.codegen;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.ObjectInputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.gui.form.CompiledForms;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.swingbuilder.codegen.builder.DefaultSourceBuilder;
+import com.jeta.swingbuilder.store.CodeModel;
+import com.jeta.swingbuilder.store.ProjectModel;
+
+/**
+ * Headless code generator for all forms in a project. This is the batch
+ * version of {@link ForwardEngineer}. Every form file under the source paths
+ * of the project is loaded and its source is generated on a fork-join pool.
+ * Each form is generated with its own builder state, so forms do not share
+ * anything but the read-only bean information. A source file is only written
+ * when its content changed.
+ * 
+ * The generated class is named after the form file and placed in the package
+ * given by the directories of the form relative to its source path. For
+ * example, com/mycorp/app/loginView.jfrm generates com.mycorp.app.LoginView.
+ * Any Java Beans imported by the forms must be on the classpath of the
+ * generator.
+ * 
+ * Usage: ProjectCodeGenerator projectFile outputDir
+ * 
+ * The output directory is required and is the root directory for the
+ * generated sources. The sources are never written next to the forms because
+ * a class with the same name as a form is often written by hand (e.g.
+ * AboutView.java next to aboutView.jfrm).
+ * 
+ * @author Jeff Tassin
+ */
+public class ProjectCodeGenerator {
+	/**
+	 * The project whose forms are generated
+	 */
+	private ProjectModel m_project;
+
+	/**
+	 * The root directory for the generated sources
+	 */
+	private File m_output_dir;
+
+	/**
+	 * The number of forms that are generated concurrently
+	 */
+	private int m_parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The number of sources that were written because they changed
+	 */
+	private int m_written = 0;
+
+	/**
+	 * ctor
+	 * 
+	 * @param project
+	 *            the project whose forms are generated
+	 * @param outputDir
+	 *            the root directory for the generated sources
+	 */
+	public ProjectCodeGenerator(ProjectModel project, File outputDir) {
+		if (outputDir == null)
+			throw new IllegalArgumentException("An output directory is required");
+
+		m_project = project;
+		m_output_dir = outputDir;
+		DefaultInitializer.initialize();
+	}
+
+	/**
+	 * Reads a project file.
+	 */
+	public static ProjectModel loadProject(File projectFile) throws Exception {
+		ObjectInputStream ois = new ObjectInputStream(new FileInputStream(projectFile));
+		try {
+			ProjectModel pmodel = (ProjectModel) ois.readObject();
+			pmodel.setProjectPath(projectFile.getPath());
+			return pmodel;
+		} finally {
+			ois.close();
+		}
+	}
+
+	/**
+	 * @return the source path directories of the project. Relative paths are
+	 *         resolved against the project root directory.
+	 */
+	public Collection getSourceDirs() {
+		LinkedList dirs = new LinkedList();
+		File root_dir = m_project.getProjectRootDir();
+		Iterator iter = m_project.getSourcePaths().iterator();
+		while (iter.hasNext()) {
+			String path = (String) iter.next();
+			File dir = new File(root_dir, path);
+			if (!dir.isDirectory())
+				dir = new File(path);
+
+			if (dir.isDirectory())
+				dirs.add(dir);
+			else
+				System.err.println("Source path not found: " + path);
+		}
+		return dirs;
+	}
+
+	/**
+	 * Generates the sources for all forms in the project.
+	 * 
+	 * @return a list of the form files (File) that could not be generated
+	 */
+	public LinkedList generateAll() {
+		LinkedList forms = new LinkedList();
+		LinkedList tasks = new LinkedList();
+		Iterator iter = getSourceDirs().iterator();
+		while (iter.hasNext()) {
+			final File src_dir = (File) iter.next();
+			LinkedList paths = new LinkedList();
+			FormCompiler.findForms(src_dir, "", paths);
+
+			Iterator piter = paths.iterator();
+			while (piter.hasNext()) {
+				final String path = (String) piter.next();
+				forms.add(new File(src_dir, path));
+				tasks.add(new Callable() {
+					public Object call() throws Exception {
+						return Boolean.valueOf(generate(src_dir, path));
+					}
+				});
+			}
+		}
+
+		LinkedList failed = new LinkedList();
+		boolean design_mode = FormUtils.isDesignMode();
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, m_parallelism));
+		try {
+			/** design mode is global, so it is set once for all forms */
+			FormUtils.setDesignMode(false);
+			Iterator fiter = forms.iterator();
+			Iterator riter = pool.invokeAll(tasks).iterator();
+			while (riter.hasNext()) {
+				File form = (File) fiter.next();
+				try {
+					if (Boolean.TRUE.equals(((Future) riter.next()).get()))
+						m_written++;
+				} catch (ExecutionException e) {
+					System.err.println("Unable to generate form: " + form);
+					e.getCause().printStackTrace();
+					failed.add(form);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failed.add(form);
+				}
+			}
+		} finally {
+			pool.shutdown();
+			FormUtils.setDesignMode(design_mode);
+		}
+		return failed;
+	}
+
+	/**
+	 * Generates the source for a single form. This method is called
+	 * concurrently for different forms.
+	 * 
+	 * @param srcDir
+	 *            the source path that contains the form
+	 * @param formPath
+	 *            the path of the form file relative to srcDir
+	 * @return true if the source file was written because it changed
+	 */
+	public boolean generate(File srcDir, String formPath) throws Exception {
+		FormMemento fm = FormManagerUtils.loadForm(new File(srcDir, formPath));
+
+		String classname = CompiledForms.getClassName(formPath);
+		classname = classname.substring(0, classname.length() - CompiledForms.CLASS_SUFFIX.length());
+		String pkg = "";
+		String simplename = classname;
+		int pos = classname.lastIndexOf('.');
+		if (pos >= 0) {
+			pkg = classname.substring(0, pos);
+			simplename = classname.substring(pos + 1);
+		}
+
+		CodeModel cgenmodel = CodeModel.createInstance(pkg, simplename);
+		String source = DefaultSourceBuilder.buildSource(cgenmodel, fm);
+
+		File dir = m_output_dir;
+		if (pkg.length() > 0)
+			dir = new File(dir, pkg.replace('.', File.separatorChar));
+		return SourceFiles.writeIfChanged(new File(dir, simplename + ".java"), source.getBytes("UTF-8"));
+	}
+
+	/**
+	 * @return the number of sources that were written because they changed
+	 */
+	public int getWrittenCount() {
+		return m_written;
+	}
+
+	/**
+	 * Sets the number of forms that are generated concurrently. The default
+	 * is the number of available processors.
+	 */
+	public void setParallelism(int parallelism) {
+		m_parallelism = parallelism;
+	}
+
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: ProjectCodeGenerator projectFile outputDir");
+			System.exit(2);
+		}
+
+		System.setProperty("java.awt.headless", "true");
+		try {
+			ProjectModel pmodel = loadProject(new File(args[0]));
+			ProjectCodeGenerator generator = new ProjectCodeGenerator(pmodel, new File(args[1]));
+			LinkedList failed = generator.generateAll();
+			System.out.println("Sources written: " + generator.getWrittenCount() + ", failed: " + failed.size());
+			if (failed.size() > 0)
+				System.exit(1);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2005 Jeff Tassin
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.jeta.swingbuilder.codegen;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility methods for writing generated source files.
+ * 
+ * @author Jeff Tassin
+ */
+public class SourceFiles {
+
+	private SourceFiles() {
+
+	}
+
+	/**
+	 * Writes the data to the given file unless the file already has the same
+	 * content. The content is compared by its hash. Unchanged files are not
+	 * rewritten so their timestamps stay the same and the build does not
+	 * recompile them. Missing parent directories are created.
+	 * 
+	 * @return true if the file was written
+	 */
+	public static boolean writeIfChanged(File file, byte[] data) throws IOException {
+		if (file.isFile() && file.length() == data.length) {
+			MessageDigest digest = createDigest();
+			byte[] hash = digest.digest(data);
+			if (MessageDigest.isEqual(hash, hash(file, digest)))
+				return false;
+		}
+
+		File dir = file.getParentFile();
+		if (dir != null)
+			dir.mkdirs();
+
+		OutputStream os = new FileOutputStream(file);
+		try {
+			os.write(data);
+		} finally {
+			os.close();
+		}
+		return true;
+	}
+
+	/**
+	 * @return the hash of the contents of the given file
+	 */
+	private static byte[] hash(File file, MessageDigest digest) throws IOException {
+		byte[] buff = new byte[8192];
+		InputStream is = new FileInputStream(file);
+		try {
+			int count = is.read(buff);
+			while (count >= 0) {
+				digest.update(buff, 0, count);
+				count = is.read(buff);
+			}
+		} finally {
+			is.close();
+		}
+		return digest.digest();
+	}
+
+	private static MessageDigest createDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2005 Jeff Tassin
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.jeta.swingbuilder.codegen.builder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import javax.swing.LookAndFeel;
+import javax.swing.UIManager;
+
+import com.jeta.forms.gui.beans.DynamicBeanInfo;
+import com.jeta.forms.gui.beans.DynamicPropertyDescriptor;
+import com.jeta.forms.gui.beans.JETABean;
+import com.jeta.forms.gui.beans.JETABeanFactory;
+import com.jeta.forms.gui.beans.JETAPropertyDescriptor;
+import com.jeta.forms.gui.common.FormException;
+import com.jeta.forms.logger.FormsLogger;
+import com.jeta.forms.store.memento.PropertiesMemento;
+import com.jeta.forms.store.properties.TransformOptionsProperty;
+
+/**
+ * A table of the information that code generation needs for each bean class:
+ * the bean info and the default values of the transform properties. The
+ * table is shared by all code generators, so beans of the same class are only
+ * introspected and instantiated once. Entries are not modified after they are
+ * loaded, so they can be used by several generators concurrently.
+ * 
+ * @author Jeff Tassin
+ */
+public class BeanDefaults {
+	/**
+	 * m_defaults<Class,BeanDefaults> where the key is the class used to look
+	 * up the bean info.
+	 */
+	private static HashMap m_defaults = new HashMap();
+
+	/**
+	 * The current look and feel. The table is cleared when the look and feel
+	 * changes because default values can depend on it.
+	 */
+	private static LookAndFeel m_look_and_feel = null;
+
+	/**
+	 * The bean info. This must not be modified.
+	 */
+	private DynamicBeanInfo m_beaninfo;
+
+	/**
+	 * The class of the bean that is created by the generated code
+	 */
+	private Class m_bean_class;
+
+	/**
+	 * m_transforms<String,TransformOptionsProperty> The transform properties
+	 * of a default bean. Only the methods that do not access the bean are
+	 * called. Null until first needed.
+	 */
+	private HashMap m_transforms;
+
+	/**
+	 * m_transform_values<String,Integer> The values of the transform
+	 * properties of a default bean.
+	 */
+	private HashMap m_transform_values;
+
+	private BeanDefaults(Class lookupClass, Class beanClass) throws FormException {
+		m_beaninfo = JETABeanFactory.getBeanInfo(lookupClass);
+		m_bean_class = beanClass;
+	}
+
+	/**
+	 * Returns the defaults for a bean class.
+	 * 
+	 * @param lookupClass
+	 *            the class used to look up the bean info
+	 * @param beanClass
+	 *            the class of the bean that is created by the generated code.
+	 *            This is only different from lookupClass for forms.
+	 */
+	public static BeanDefaults getInstance(Class lookupClass, Class beanClass) throws FormException {
+		synchronized (BeanDefaults.class) {
+			LookAndFeel lf = UIManager.getLookAndFeel();
+			if (m_look_and_feel != lf) {
+				m_defaults.clear();
+				m_look_and_feel = lf;
+			}
+
+			BeanDefaults defaults = (BeanDefaults) m_defaults.get(lookupClass);
+			if (defaults == null) {
+				defaults = new BeanDefaults(lookupClass, beanClass);
+				m_defaults.put(lookupClass, defaults);
+			}
+			return defaults;
+		}
+	}
+
+	/**
+	 * Removes all entries. This must be called when the imported beans are
+	 * reloaded.
+	 */
+	public static synchronized void clear() {
+		m_defaults.clear();
+	}
+
+	/**
+	 * @return the bean info. The caller must not modify it.
+	 */
+	public DynamicBeanInfo getBeanInfo() {
+		return m_beaninfo;
+	}
+
+	/**
+	 * Returns the value of a transform property for a bean with the given
+	 * state. This gives the same value as creating the bean and reading the
+	 * property, but the bean is not created.
+	 * 
+	 * @param propName
+	 *            the name of the transform property
+	 * @param pm
+	 *            the state of the bean
+	 * @return the value. Null is returned if the bean does not have a
+	 *         transform property with the given name.
+	 */
+	public TransformValue getTransformValue(String propName, PropertiesMemento pm) {
+		TransformOptionsProperty tprop;
+		Integer default_value;
+		synchronized (this) {
+			if (m_transforms == null)
+				loadTransforms();
+
+			tprop = (TransformOptionsProperty) m_transforms.get(propName);
+			default_value = (Integer) m_transform_values.get(propName);
+		}
+
+		if (tprop == null)
+			return null;
+
+		Object option = null;
+		if (pm.containsProperty(propName)) {
+			Object prop_value = pm.getPropertyValue(propName);
+			Integer ival = null;
+			if (prop_value instanceof TransformOptionsProperty)
+				ival = Integer.valueOf(((TransformOptionsProperty) prop_value).getPropertyValue());
+			else
+				ival = tprop.toPropertyValue(prop_value);
+
+			if (ival != null)
+				option = tprop.getOption(ival.intValue());
+		}
+
+		if (option == null)
+			option = tprop.getOption(default_value.intValue());
+
+		return new TransformValue(tprop.getWriteMethod(), option);
+	}
+
+	/**
+	 * Creates a default bean and stores its transform properties and their
+	 * values.
+	 */
+	private void loadTransforms() {
+		m_transforms = new HashMap();
+		m_transform_values = new HashMap();
+		try {
+			Collection jeta_pds = m_beaninfo.getPropertyDescriptors();
+			JETABean jetabean = null;
+			Iterator iter = jeta_pds.iterator();
+			while (iter.hasNext()) {
+				JETAPropertyDescriptor jpd = (JETAPropertyDescriptor) iter.next();
+				if (jpd instanceof DynamicPropertyDescriptor && jpd.getPropertyType() == TransformOptionsProperty.class) {
+					if (jetabean == null) {
+						/** set an empty state so the bean is the same as one restored from a form */
+						jetabean = JETABeanFactory.createBean(m_bean_class.getName(), null, true, true);
+						PropertiesMemento pm = new PropertiesMemento();
+						pm.setBeanClassName(m_bean_class.getName());
+						jetabean.setState(pm);
+					}
+
+					TransformOptionsProperty tprop = (TransformOptionsProperty) jetabean.getCustomProperty(jpd.getName());
+					if (tprop != null) {
+						m_transforms.put(jpd.getName(), tprop);
+						m_transform_values.put(jpd.getName(), Integer.valueOf(tprop.getPropertyValue()));
+					}
+				}
+			}
+		} catch (Exception e) {
+			FormsLogger.severe(e);
+		}
+	}
+}
@@ -29,8 +29,6 @@ import com.jeta.forms.beanmgr.BeanManager;
 import com.jeta.forms.components.label.JETALabel;
 import com.jeta.forms.gui.beans.DynamicBeanInfo;
 import com.jeta.forms.gui.beans.DynamicPropertyDescriptor;
-import com.jeta.forms.gui.beans.JETABean;
-import com.jeta.forms.gui.beans.JETABeanFactory;
 import com.jeta.forms.gui.beans.JETAPropertyDescriptor;
 import com.jeta.forms.gui.form.GridView;
 import com.jeta.forms.logger.FormsLogger;
@@ -58,18 +56,22 @@ public class BeanWriter {
 			classname = "javax.swing.JLabel";
 
 		try {
-			Class beanclass = null;
-			try {
-				BeanManager bmgr = (BeanManager) JETARegistry.lookup(BeanManager.COMPONENT_ID);
-				if (bmgr != null) {
-					beanclass = bmgr.getBeanClass(classname);
+			/** bean classes are resolved once per generated class */
+			Class beanclass = (Class) decl_mgr.get("beanclass." + classname);
+			if (beanclass == null) {
+				try {
+					BeanManager bmgr = (BeanManager) JETARegistry.lookup(BeanManager.COMPONENT_ID);
+					if (bmgr != null) {
+						beanclass = bmgr.getBeanClass(classname);
+					}
+				} catch (Exception e) {
+					FormsLogger.severe(e);
 				}
-			} catch (Exception e) {
-				FormsLogger.severe(e);
-			}
 
-			if (beanclass == null) {
-				beanclass = Class.forName(classname);
+				if (beanclass == null) {
+					beanclass = Class.forName(classname);
+				}
+				decl_mgr.put("beanclass." + classname, beanclass);
 			}
 
 			VariableDeclaration ds = null;
@@ -99,14 +101,15 @@ public class BeanWriter {
 			setBeanVariable(ds.getVariable(), beanclass);
 			setResultVariable(ds.getVariable(), beanclass);
 
-			PropertyWriterFactory fac = (PropertyWriterFactory) JETARegistry.lookup(PropertyWriterFactory.COMPONENT_ID);
+			PropertyWriterFactory fac = decl_mgr.getPropertyWriterFactory();
 			LinkedList dynamic_props = new LinkedList();
 
 			Class lookup_class = beanclass;
 			if (GridView.class.getName().equals(pm.getBeanClassName()))
 				lookup_class = GridView.class;
 
-			DynamicBeanInfo beaninfo = JETABeanFactory.getBeanInfo(lookup_class);
+			BeanDefaults defaults = BeanDefaults.getInstance(lookup_class, beanclass);
+			DynamicBeanInfo beaninfo = defaults.getBeanInfo();
 			Collection jeta_pds = beaninfo.getPropertyDescriptors();
 			Iterator iter = jeta_pds.iterator();
 			while (iter.hasNext()) {
@@ -143,10 +146,7 @@ public class BeanWriter {
 				if (pw != null) {
 					Object prop_value = null;
 					if (dpd.getPropertyType() == TransformOptionsProperty.class) {
-						JETABean jetabean = JETABeanFactory.createBean(beanclass.getName(), null, true, true);
-						jetabean.setState(pm);
-						TransformOptionsProperty tprop = (TransformOptionsProperty) jetabean.getCustomProperty(dpd.getName());
-						prop_value = tprop;
+						prop_value = defaults.getTransformValue(dpd.getName(), pm);
 					}
 					else {
 						prop_value = pm.getPropertyValue(dpd.getName());
@@ -52,10 +52,23 @@ public class ClassDeclarationManager implements DeclarationManager {
 
 	private String m_package;
 
+	/**
+	 * The class that the generated class extends. Null if the class does not
+	 * extend any class.
+	 */
+	private String m_superclass = "JPanel";
+
+	/**
+	 * A list of interfaces (String) implemented by the generated class
+	 */
+	private LinkedList m_interfaces = new LinkedList();
+
 	private HashMap m_user_objects = new HashMap();
 
 	private CodeModel m_code_model;
 
+	private PropertyWriterFactory m_writer_factory = new PropertyWriterFactory();
+
 	public ClassDeclarationManager(CodeModel cgenmodel) {
 		m_code_model = cgenmodel;
 		m_class_name = cgenmodel.getClassName();
@@ -68,6 +81,13 @@ public class ClassDeclarationManager implements DeclarationManager {
 		}
 	}
 
+	/**
+	 * Adds an interface that the generated class implements.
+	 */
+	public void addInterface(String iface) {
+		m_interfaces.add(iface);
+	}
+
 	/**
 	 * 
 	 */
@@ -104,7 +124,20 @@ public class ClassDeclarationManager implements DeclarationManager {
 
 		builder.print("public class ");
 		builder.print(getClassName());
-		builder.print(" extends JPanel");
+		if (m_superclass != null) {
+			builder.print(" extends ");
+			builder.print(m_superclass);
+		}
+
+		iter = m_interfaces.iterator();
+		if (iter.hasNext()) {
+			builder.print(" implements ");
+			while (iter.hasNext()) {
+				builder.print(iter.next().toString());
+				if (iter.hasNext())
+					builder.print(", ");
+			}
+		}
 
 		builder.openBrace();
 		builder.println();
@@ -171,10 +204,25 @@ public class ClassDeclarationManager implements DeclarationManager {
 		m_package = FormDesignerUtils.fastTrim(pkg);
 	}
 
+	/**
+	 * Sets the class that the generated class extends.
+	 * 
+	 * @param superclass
+	 *            the simple name of the superclass. Set to null if the
+	 *            generated class does not extend any class.
+	 */
+	public void setSuperclass(String superclass) {
+		m_superclass = superclass;
+	}
+
 	public Object get(String name) {
 		return m_user_objects.get(name);
 	}
 
+	public PropertyWriterFactory getPropertyWriterFactory() {
+		return m_writer_factory;
+	}
+
 	public void put(String name, Object obj) {
 		m_user_objects.put(name, obj);
 	}
@@ -43,4 +43,11 @@ public interface DeclarationManager {
 
 	public boolean isIncludeNonStandard();
 
+	/**
+	 * @return the factory for the property writers used by the beans in this
+	 *         class. Each class has its own factory so that several classes can
+	 *         be generated concurrently.
+	 */
+	public PropertyWriterFactory getPropertyWriterFactory();
+
 }
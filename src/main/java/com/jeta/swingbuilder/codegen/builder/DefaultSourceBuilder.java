@@ -18,10 +18,34 @@
 
 package com.jeta.swingbuilder.codegen.builder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jeta.forms.logger.FormsLogger;
+import com.jeta.forms.store.binary.BinaryUtils;
 import com.jeta.forms.store.memento.FormMemento;
 import com.jeta.swingbuilder.store.CodeModel;
 
 public class DefaultSourceBuilder implements SourceBuilder {
+	/**
+	 * The maximum number of generated sources that are cached
+	 */
+	private static final int CACHE_SIZE = 32;
+
+	/**
+	 * A cache of generated sources. m_sources<String,String> where the key is
+	 * the fingerprint of the form and the code generation options. Forms that
+	 * have not changed since they were last generated are not generated again.
+	 */
+	private static LinkedHashMap m_sources = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
 
 	private StringBuffer m_source = new StringBuffer();
 
@@ -33,7 +57,16 @@ public class DefaultSourceBuilder implements SourceBuilder {
 	private int m_column = 0;
 
 	public static String buildSource(CodeModel cgenmodel, FormMemento fm) {
+		String key = getFingerprint("source", cgenmodel, fm, null);
+		String source = getCachedSource(key);
+		if (source == null) {
+			source = createSource(cgenmodel, fm);
+			putCachedSource(key, source);
+		}
+		return source;
+	}
 
+	private static String createSource(CodeModel cgenmodel, FormMemento fm) {
 		DefaultSourceBuilder builder = new DefaultSourceBuilder();
 
 		ClassDeclarationManager decl_mgr = new ClassDeclarationManager(cgenmodel);
@@ -56,6 +89,144 @@ public class DefaultSourceBuilder implements SourceBuilder {
 		return builder.m_source.toString();
 	}
 
+	/**
+	 * Builds the source for a compiled form. Unlike buildSource, the generated
+	 * class does not extend JPanel. It implements CompiledForm and creates the
+	 * form panel on each call to createForm.
+	 * 
+	 * @param cgenmodel
+	 *            the package and class name of the generated class
+	 * @param fm
+	 *            the form to generate
+	 * @param formPath
+	 *            the path of the form file relative to the classpath
+	 * @param fingerprint
+	 *            the fingerprint of the form file (see
+	 *            CompiledForms.getFingerprint)
+	 */
+	public static String buildCompiledForm(CodeModel cgenmodel, FormMemento fm, String formPath, String fingerprint) {
+		String key = getFingerprint("compiled", cgenmodel, fm, formPath + '|' + fingerprint);
+		String source = getCachedSource(key);
+		if (source == null) {
+			source = createCompiledForm(cgenmodel, fm, formPath, fingerprint);
+			putCachedSource(key, source);
+		}
+		return source;
+	}
+
+	private static String createCompiledForm(CodeModel cgenmodel, FormMemento fm, String formPath, String fingerprint) {
+		DefaultSourceBuilder builder = new DefaultSourceBuilder();
+
+		ClassDeclarationManager decl_mgr = new ClassDeclarationManager(cgenmodel);
+		decl_mgr.setPackage(cgenmodel.getPackage());
+		decl_mgr.setSuperclass(null);
+		decl_mgr.addInterface("CompiledForm");
+		decl_mgr.addImport("com.jeta.forms.gui.form.CompiledForm");
+		decl_mgr.addImport("java.awt.Container");
+
+		/** create the interface methods first so the panel methods cannot take their names */
+		MethodWriter form_path = new MethodWriter(decl_mgr, null, "getFormPath") {
+			protected String getSignature() {
+				return "public String getFormPath()";
+			}
+		};
+		form_path.addCommentLine("@return the path of the form file that this class was generated from");
+		Block block = new Block();
+		block.addCode("return " + StringExpression.quoteString(formPath) + ";");
+		form_path.addSegment(block);
+		decl_mgr.addMethod(form_path);
+
+		MethodWriter form_fingerprint = new MethodWriter(decl_mgr, null, "getFingerprint") {
+			protected String getSignature() {
+				return "public String getFingerprint()";
+			}
+		};
+		form_fingerprint.addCommentLine("@return the fingerprint of the form file that this class was generated from");
+		block = new Block();
+		block.addCode("return " + StringExpression.quoteString(fingerprint) + ";");
+		form_fingerprint.addSegment(block);
+		decl_mgr.addMethod(form_fingerprint);
+
+		MethodWriter create_form = new MethodWriter(decl_mgr, null, "createForm") {
+			protected String getSignature() {
+				return "public Container createForm()";
+			}
+		};
+		create_form.addCommentLine("Creates a new instance of the form");
+		decl_mgr.addMethod(create_form);
+
+		BuilderUtils.buildFillMethod(decl_mgr);
+		BuilderUtils.buildImageLoader(decl_mgr);
+
+		MethodWriter create_panel = new PanelWriter().createPanel(decl_mgr, fm);
+		block = new Block();
+		block.addCode("return " + create_panel.getMethodName() + "();");
+		create_form.addSegment(block);
+
+		decl_mgr.build(builder);
+		return builder.m_source.toString();
+	}
+
+	/**
+	 * Returns a fingerprint of the form and the options that affect the
+	 * generated source. The form is hashed in the binary form format.
+	 * 
+	 * @param source
+	 *            the origin of the form that is written into the source (the
+	 *            form path and fingerprint of a compiled form) or null
+	 * 
+	 * @return the fingerprint. Null is returned if the form cannot be hashed,
+	 *         in which case the source is not cached.
+	 */
+	private static String getFingerprint(String kind, CodeModel cgenmodel, FormMemento fm, String source) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			OutputStream os = new DigestOutputStream(new OutputStream() {
+				public void write(int b) {
+				}
+
+				public void write(byte[] b, int off, int len) {
+				}
+			}, digest);
+			BinaryUtils.writeObject(os, fm);
+
+			StringBuffer key = new StringBuffer();
+			key.append(kind).append('|');
+			key.append(cgenmodel.getPackage()).append('|');
+			key.append(cgenmodel.getClassName()).append('|');
+			key.append(cgenmodel.getMemberPrefix()).append('|');
+			key.append(cgenmodel.isIncludeMain()).append('|');
+			key.append(cgenmodel.isIncludeNonStandard()).append('|');
+			key.append(source).append('|');
+			byte[] hash = digest.digest();
+			for (int index = 0; index < hash.length; index++) {
+				key.append(Character.forDigit((hash[index] >> 4) & 0x0F, 16));
+				key.append(Character.forDigit(hash[index] & 0x0F, 16));
+			}
+			return key.toString();
+		} catch (Exception e) {
+			FormsLogger.debug(e);
+			return null;
+		}
+	}
+
+	private static synchronized String getCachedSource(String key) {
+		return (key == null) ? null : (String) m_sources.get(key);
+	}
+
+	private static synchronized void putCachedSource(String key, String source) {
+		if (key != null)
+			m_sources.put(key, source);
+	}
+
+	/**
+	 * Removes all cached sources. This must be called when the imported beans
+	 * are reloaded because the generated code depends on the bean classes.
+	 */
+	public static synchronized void clearCache() {
+		m_sources.clear();
+	}
+
 	public void closeBrace() {
 		print('}');
 	}
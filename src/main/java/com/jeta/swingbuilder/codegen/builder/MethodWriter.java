@@ -206,6 +206,10 @@ public class MethodWriter implements DeclarationManager {
 		return m_class_decl_mgr.get(name);
 	}
 
+	public PropertyWriterFactory getPropertyWriterFactory() {
+		return m_class_decl_mgr.getPropertyWriterFactory();
+	}
+
 	public void put(String name, Object obj) {
 		m_class_decl_mgr.put(name, obj);
 	}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2005 Jeff Tassin
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.jeta.swingbuilder.codegen.builder;
+
+import java.lang.reflect.Method;
+
+/**
+ * The value of a transform property for code generation. This is the selected
+ * option and the method that sets it, without a reference to the bean.
+ * 
+ * @author Jeff Tassin
+ */
+public class TransformValue {
+	/**
+	 * The setter method for the property
+	 */
+	private Method m_write_method;
+
+	/**
+	 * The human readable option for the property value (e.g. LEFT)
+	 */
+	private Object m_option;
+
+	public TransformValue(Method writeMethod, Object option) {
+		m_write_method = writeMethod;
+		m_option = option;
+	}
+
+	public Object getOption() {
+		return m_option;
+	}
+
+	public Method getWriteMethod() {
+		return m_write_method;
+	}
+}
@@ -29,6 +29,7 @@ import com.jeta.swingbuilder.codegen.builder.DeclarationManager;
 import com.jeta.swingbuilder.codegen.builder.Expression;
 import com.jeta.swingbuilder.codegen.builder.MethodStatement;
 import com.jeta.swingbuilder.codegen.builder.PropertyWriter;
+import com.jeta.swingbuilder.codegen.builder.TransformValue;
 
 public class TransformPropertyWriter implements PropertyWriter {
 
@@ -39,9 +40,14 @@ public class TransformPropertyWriter implements PropertyWriter {
 		try {
 			if (value instanceof TransformOptionsProperty) {
 				TransformOptionsProperty tprop = (TransformOptionsProperty) value;
-				Object pvalue = tprop.getCurrentItem();
+				value = new TransformValue(tprop.getWriteMethod(), tprop.getCurrentItem());
+			}
+
+			if (value instanceof TransformValue) {
+				TransformValue tvalue = (TransformValue) value;
+				Object pvalue = tvalue.getOption();
 				if (pvalue != null) {
-					Method write = tprop.getWriteMethod();
+					Method write = tvalue.getWriteMethod();
 					if (write != null) {
 						MethodStatement ms = new MethodStatement(writer.getBeanVariable(), write.getName());
 						ms.addParameter(createTransformExpression(writer.getBeanType(), pvalue.toString()));
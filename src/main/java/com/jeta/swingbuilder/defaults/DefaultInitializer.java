@@ -26,7 +26,6 @@ import com.jeta.forms.project.ProjectManager;
 import com.jeta.forms.support.UserProperties;
 import com.jeta.open.registry.JETARegistry;
 import com.jeta.open.support.ComponentFinderFactory;
-import com.jeta.swingbuilder.codegen.builder.PropertyWriterFactory;
 import com.jeta.swingbuilder.gui.beanmgr.DefaultBeanManager;
 import com.jeta.swingbuilder.gui.colorchooser.DefaultColorChooserFactory;
 import com.jeta.swingbuilder.gui.components.DefaultContainedFormFactory;
@@ -57,7 +56,6 @@ public class DefaultInitializer {
 		JETARegistry.rebind(ComponentFinderFactory.COMPONENT_ID, new DesignTimeComponentFinderFactory());
 		JETARegistry.rebind(UserProperties.COMPONENT_ID, new DesignerUserProperties());
 		JETARegistry.rebind(ContainedFormFactory.COMPONENT_ID, new DefaultContainedFormFactory());
-		JETARegistry.rebind(PropertyWriterFactory.COMPONENT_ID, new PropertyWriterFactory());
 		JETARegistry.rebind(DefaultColorChooserFactory.COMPONENT_ID, new DefaultColorChooserFactory());
 
 		JETARegistry.rebind("AbeilleForms.runTime", Boolean.valueOf(false));
@@ -19,6 +19,8 @@
 package com.jeta.swingbuilder.gui.beanmgr;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 
@@ -33,9 +35,13 @@ import com.jeta.forms.components.line.HorizontalLineComponent;
 import com.jeta.forms.components.line.VerticalLineComponent;
 import com.jeta.forms.gui.beans.JETABeanFactory;
 import com.jeta.forms.gui.common.FormException;
+import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.project.ProjectManager;
+import com.jeta.forms.store.xml.parser.ClassResolver;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.swingbuilder.codegen.builder.BeanDefaults;
+import com.jeta.swingbuilder.codegen.builder.DefaultSourceBuilder;
 import com.jeta.swingbuilder.common.ComponentNames;
 import com.jeta.swingbuilder.gui.utils.FormDesignerUtils;
 import com.jeta.swingbuilder.interfaces.app.ObjectStore;
@@ -77,6 +83,16 @@ public class DefaultBeanManager implements BeanManager {
 	 */
 	private LinkedList m_default_beans = new LinkedList();
 
+	/**
+	 * A cache of bean class names to resolved classes
+	 */
+	private HashMap m_classes = new HashMap();
+
+	/**
+	 * A cache of bean class names that could not be resolved
+	 */
+	private HashSet m_missing = new HashSet();
+
 	/**
 	 * ctor
 	 */
@@ -127,41 +143,45 @@ public class DefaultBeanManager implements BeanManager {
 	}
 
 	/**
-	 * @return the class for the given bean class name
+	 * @return the class for the given bean class name. Null is returned if the
+	 *         class is not found in the imported beans or on the classpath.
 	 */
-	public Class getBeanClass(String beanClassName) throws FormException {
-		Throwable throwable = null;
-		try {
-			Class clazz = null;
-			try {
-				clazz = getBeanLoader().getClass(beanClassName);
-				if (clazz != null) {
-					return clazz;
-				}
-			} catch (Throwable t) {
-				throwable = t;
-			}
-			try {
-				clazz = getProjectLevelBeanLoader().getClass(beanClassName);
-				if (clazz != null) {
-					return clazz;
-				}
-			} catch (Throwable t) {
-				throwable = t;
-			}
-			
-			if (throwable != null)
-				throw throwable;
-			
+	public synchronized Class getBeanClass(String beanClassName) throws FormException {
+		if (beanClassName == null)
+			return null;
+
+		Class clazz = (Class) m_classes.get(beanClassName);
+		if (clazz != null || m_missing.contains(beanClassName))
 			return clazz;
-		} catch (Throwable t) {
-			if (t instanceof FormException)
-				throw (FormException) t;
-			else {
-				t.printStackTrace();
-				throw new FormException(t.getMessage(), null);
+
+		clazz = getBeanLoader().findClass(beanClassName);
+		if (clazz == null)
+			clazz = getProjectLevelBeanLoader().findClass(beanClassName);
+
+		if (clazz == null) {
+			try {
+				clazz = Class.forName(beanClassName);
+			} catch (ClassNotFoundException e) {
+				// not on the classpath either
+			} catch (LinkageError e) {
+				FormsLogger.debug(e);
 			}
 		}
+
+		if (clazz == null)
+			m_missing.add(beanClassName);
+		else
+			m_classes.put(beanClassName, clazz);
+		return clazz;
+	}
+
+	/**
+	 * Clears the resolved and unresolved bean class caches. Called whenever
+	 * the imported beans change.
+	 */
+	private synchronized void clearClassCache() {
+		m_classes.clear();
+		m_missing.clear();
 	}
 
 	/**
@@ -197,6 +217,14 @@ public class DefaultBeanManager implements BeanManager {
 		try {
 			if ((ibm != null) || (plibm != null)) {
 				JETABeanFactory.clearCustomFactories();
+				BeanDefaults.clear();
+				DefaultSourceBuilder.clearCache();
+				ClassResolver.clear();
+				clearClassCache();
+
+				/** index the imported jars once so bean lookups don't scan them */
+				getBeanLoader().buildIndex();
+				getProjectLevelBeanLoader().buildIndex();
 
 				if (ibm != null) {
 					Collection beans = ibm.getImportedBeans();
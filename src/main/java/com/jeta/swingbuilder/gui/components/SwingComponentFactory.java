@@ -77,6 +77,8 @@ public class SwingComponentFactory extends StandardComponentFactory {
 			if (jetabean == null) {
 				BeanManager bm = (BeanManager) JETARegistry.lookup(BeanManager.COMPONENT_ID);
 				Class c = bm.getBeanClass(getComponentClass());
+				if (c == null)
+					throw new FormException("Unable to load bean: " + getComponentClass(), null);
 				Constructor ctor = c.getConstructor(m_params);
 				Component comp = (Component) ctor.newInstance(m_args);
 				comp.setName(compName);
@@ -301,7 +301,7 @@ public class FormManagerDesignUtils {
 	 * dialog is displayed and null is returned.
 	 */
 	public static File openLinkedFormFile() {
-		FileChooserConfig fcc = new FileChooserConfig(".form", new TSFileFilter("jfrm,xml", "Form Files(*.jfrm,*.xml)"));
+		FileChooserConfig fcc = new FileChooserConfig(".form", new TSFileFilter("jfrm,jfrmb,xml", "Form Files(*.jfrm,*.jfrmb,*.xml)"));
 		fcc.setParentComponent(getApplicationFrame());
 		File f = TSFileChooserFactory.showOpenDialog(fcc);
 		if (f != null) {
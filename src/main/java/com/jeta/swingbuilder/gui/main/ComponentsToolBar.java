@@ -251,6 +251,9 @@ public class ComponentsToolBar extends JETAPanel implements ComponentSource {
 					}
 
 					Class bean_class = bm.getBeanClass(bname);
+					if (bean_class == null)
+						continue;
+
 					btns.add(registerBean(bname, rbean.getDescription(), new SwingComponentFactory(this, bname), icon));
 				} catch (Exception e) {
 					FormsLogger.debug(e);
@@ -286,6 +289,9 @@ public class ComponentsToolBar extends JETAPanel implements ComponentSource {
 				String bname = rbean.getClassName();
 				try {
 					Class bean_class = bm.getBeanClass(bname);
+					if (bean_class == null)
+						continue;
+
 					btns.add(registerBean(bname, rbean.getDescription(), new SwingComponentFactory(this, bname), icon));
 				} catch (Exception e) {
 					FormsLogger.debug(e);
@@ -44,6 +44,7 @@ import com.jeta.forms.gui.form.GridComponent;
 import com.jeta.forms.gui.formmgr.FormManager;
 import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.project.ProjectManager;
+import com.jeta.forms.store.binary.BinaryFormat;
 import com.jeta.forms.store.memento.ComponentMemento;
 import com.jeta.forms.store.memento.FormMemento;
 import com.jeta.forms.store.memento.FormPackage;
@@ -399,7 +400,7 @@ public class MainFrameController extends FormEditorController {
 					path = null;
 
 				if (path == null) {
-					FileChooserConfig fcc = new FileChooserConfig(".form", new TSFileFilter("jfrm,xml", "Form Files(*.jfrm,*.xml)"));
+					FileChooserConfig fcc = new FileChooserConfig(".form", new TSFileFilter("jfrm,jfrmb,xml", "Form Files(*.jfrm,*.jfrmb,*.xml)"));
 					fcc.setParentComponent(m_frame);
 					file = TSFileChooserFactory.showSaveDialog(fcc);
 					if (file == null)
@@ -407,7 +408,7 @@ public class MainFrameController extends FormEditorController {
 
 					path = file.getPath();
 					int pos = path.lastIndexOf(".jfrm");
-					if (pos != path.length() - 5) {
+					if (pos != path.length() - 5 && !path.endsWith(BinaryFormat.FILE_EXTENSION)) {
 						pos = path.lastIndexOf(".xml");
 						if (pos != path.length() - 4) {
 							String ext = ".jfrm";
@@ -751,7 +752,7 @@ public class MainFrameController extends FormEditorController {
 	public class OpenFormAction implements ActionListener {
 		public void actionPerformed(ActionEvent evt) {
 			try {
-				FileChooserConfig fcc = new FileChooserConfig(".form", new TSFileFilter("jfrm,xml", "Form Files(*.jfrm,*.xml)"));
+				FileChooserConfig fcc = new FileChooserConfig(".form", new TSFileFilter("jfrm,jfrmb,xml", "Form Files(*.jfrm,*.jfrmb,*.xml)"));
 				fcc.setParentComponent(m_frame);
 				File f = TSFileChooserFactory.showOpenDialog(fcc);
 				if (f != null) {
@@ -15,6 +15,7 @@ import com.jeta.forms.gui.common.FormException;
 import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.gui.form.FormComponent;
 import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.binary.BinaryUtils;
 import com.jeta.forms.store.jml.JMLException;
 import com.jeta.forms.store.jml.JMLUtils;
 import com.jeta.forms.store.jml.dom.JMLNode;
@@ -27,7 +28,8 @@ import com.jeta.swingbuilder.gui.project.UserPreferencesNames;
 import com.jeta.swingbuilder.main.AbeilleForms;
 
 /**
- * This is a utility class for converting forms to/from XML/binary format. You
+ * This is a utility class for converting forms to/from XML/binary format. Forms
+ * can also be converted to the compact binary format (.jfrmb). You
  * must provide a valid Abeille project file or linked forms (nested forms that
  * refer to other forms on disk) will not be resolved.
  * 
@@ -144,4 +146,34 @@ public class FormConverter {
 
 	}
 
+	/**
+	 * Converts a form in any supported format (binary .jfrm, XML, or compact
+	 * binary) to a compact binary .jfrmb file.
+	 * 
+	 * @param compactDestFile
+	 *            the path and name of the .jfrmb file to create
+	 * @param srcFile
+	 *            the path and name of an existing form file to read and
+	 *            convert.
+	 */
+	public void convertToCompactBinary(String compactDestFile, String srcFile) throws ClassNotFoundException, IOException, JMLException, FormException {
+		convertToCompactBinary(new FileOutputStream(compactDestFile), new FileInputStream(srcFile));
+	}
+
+	/**
+	 * Converts a form in any supported format (binary .jfrm, XML, or compact
+	 * binary) to the compact binary format.
+	 */
+	public void convertToCompactBinary(OutputStream compactOutputStream, InputStream srcInputStream) throws ClassNotFoundException, IOException,
+			JMLException, FormException {
+		initialize();
+		FormUtils.setDesignMode(true);
+		FormComponent fc = FormManagerUtils.openForm(srcInputStream);
+		FormPackage fpackage = new FormPackage(fc.getExternalState(StateRequest.SHALLOW_COPY));
+		FormUtils.setDesignMode(false);
+
+		BinaryUtils.writeObject(compactOutputStream, fpackage);
+		compactOutputStream.close();
+	}
+
 }
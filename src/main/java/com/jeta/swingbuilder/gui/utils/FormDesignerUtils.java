@@ -43,11 +43,12 @@ import com.jeta.forms.gui.form.ComponentConstraints;
 import com.jeta.forms.gui.form.GridComponent;
 import com.jeta.forms.gui.form.GridView;
 import com.jeta.forms.gui.form.ReadOnlyConstraints;
+import com.jeta.forms.gui.formmgr.FormTemplateCache;
+import com.jeta.forms.store.binary.BinaryFormat;
+import com.jeta.forms.store.binary.BinaryUtils;
 import com.jeta.forms.store.jml.JMLException;
-import com.jeta.forms.store.jml.JMLUtils;
-import com.jeta.forms.store.jml.dom.JMLNode;
 import com.jeta.forms.store.memento.FormPackage;
-import com.jeta.forms.store.xml.writer.XMLWriter;
+import com.jeta.forms.store.xml.writer.XMLStreamingWriter;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.registry.JETARegistry;
 import com.jeta.swingbuilder.gui.commands.CommandUtils;
@@ -313,12 +314,22 @@ public class FormDesignerUtils {
 	 */
 	public static void saveForm(FormPackage fpackage, File file) throws IOException, JMLException {
 		if (file.getName().endsWith(".xml") || file.getName().endsWith(".XML")) {
-			JMLNode node = JMLUtils.writeObject(fpackage);
 			Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF8"));
-			new XMLWriter().write(writer, node);
-			writer.write('\n');
-			writer.flush();
-			writer.close();
+			try {
+				new XMLStreamingWriter().write(writer, fpackage);
+				writer.write('\n');
+				writer.flush();
+			} finally {
+				writer.close();
+			}
+		}
+		else if (file.getName().endsWith(BinaryFormat.FILE_EXTENSION)) {
+			FileOutputStream fos = new FileOutputStream(file);
+			try {
+				BinaryUtils.writeObject(fos, fpackage);
+			} finally {
+				fos.close();
+			}
 		}
 		else {
 			FileOutputStream fos = new FileOutputStream(file);
@@ -326,6 +337,7 @@ public class FormDesignerUtils {
 			current_stream.writeObject(fpackage);
 			current_stream.close();
 		}
+		FormTemplateCache.invalidate(file.getCanonicalPath());
 	}
 
 	public static Object[] getEnvVars(boolean refresh) {
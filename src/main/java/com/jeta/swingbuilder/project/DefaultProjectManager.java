@@ -22,16 +22,17 @@ import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.Collection;
-import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedList;
 
 import javax.swing.ImageIcon;
 
 import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.gui.formmgr.FormTemplateCache;
 import com.jeta.forms.logger.FormsLogger;
 import com.jeta.forms.project.ProjectManager;
 import com.jeta.forms.project.RuntimeProjectManager;
+import com.jeta.open.resources.ImageCache;
 import com.jeta.swingbuilder.gui.project.UserPreferencesNames;
 import com.jeta.swingbuilder.interfaces.userprops.TSUserPropertiesUtils;
 import com.jeta.swingbuilder.store.ProjectModel;
@@ -51,9 +52,6 @@ public class DefaultProjectManager implements ProjectManager {
 	/** an empty icon if a resource cannot be loaded */
 	private static ImageIcon m_empty_icon;
 
-	/** cache of images */
-	private Hashtable m_image_cache = new Hashtable();
-
 	/**
 	 * This is used to locate resources for forms used by the Abeille Form
 	 * Builder itself.
@@ -83,7 +81,8 @@ public class DefaultProjectManager implements ProjectManager {
 	 * Clears any cached resources
 	 */
 	public void clearResourceCache() {
-		m_image_cache.clear();
+		ImageCache.clear();
+		FormTemplateCache.clear();
 	}
 
 	/**
@@ -219,16 +218,6 @@ public class DefaultProjectManager implements ProjectManager {
 	 */
 	public ImageIcon loadImage(String imageName) {
 		ImageIcon result = null;
-		boolean cache_images = TSUserPropertiesUtils.getBoolean(UserPreferencesNames.ID_CACHE_IMAGES, true);
-		if (cache_images) {
-			synchronized (this) {
-				result = (ImageIcon) m_image_cache.get(imageName);
-				if (result != null)
-					return result;
-			}
-		}
-
-		
 		if (isJETAResource(imageName)) {
 			result = m_runtime.loadImage(imageName);
 		} else {
@@ -236,12 +225,24 @@ public class DefaultProjectManager implements ProjectManager {
 				String path = getAbsolutePath(imageName);
 				if (path != null) {
 					/**
-					 * The toolkit should be used to create the image, otherwise
-					 * it may be pulled from the toolkit image cache.
+					 * Images are keyed by absolute path so that forms which
+					 * reference the same file share a single image.
 					 */
-					Toolkit toolkit = Toolkit.getDefaultToolkit();
-					ImageIcon image = new ImageIcon(toolkit.createImage(path));
-					result = image;
+					boolean cache_images = TSUserPropertiesUtils.getBoolean(UserPreferencesNames.ID_CACHE_IMAGES, true);
+					if (cache_images)
+						result = (ImageIcon) ImageCache.get(path);
+
+					if (result == null) {
+						/**
+						 * The toolkit should be used to create the image,
+						 * otherwise it may be pulled from the toolkit image
+						 * cache.
+						 */
+						Toolkit toolkit = Toolkit.getDefaultToolkit();
+						result = new ImageIcon(toolkit.createImage(path));
+						if (cache_images)
+							ImageCache.put(path, result);
+					}
 				}
 			} catch (Exception e) {
 				e.printStackTrace();
@@ -265,16 +266,9 @@ public class DefaultProjectManager implements ProjectManager {
 
 		if (result == null)
 			result = m_runtime.loadImage(imageName);
-			if ( result == null ) {
-				result = m_empty_icon;
-			}
-		else {
-			if (cache_images) {
-				synchronized (this) {
-					m_image_cache.put(imageName, result);
-				}
-			}
-		}
+		if (result == null)
+			result = m_empty_icon;
+
 		return result;
 	}
 
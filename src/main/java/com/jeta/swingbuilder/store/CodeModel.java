@@ -71,6 +71,21 @@ public class CodeModel implements Externalizable {
 		loadGlobals();
 	}
 
+	private CodeModel(String pkg, String className) {
+		m_package = pkg;
+		m_classname = className;
+		m_include_main = false;
+	}
+
+	/**
+	 * Creates a model with the default options that does not depend on the
+	 * user properties or the application state store. This is used when
+	 * generating code outside of the designer.
+	 */
+	public static CodeModel createInstance(String pkg, String className) {
+		return new CodeModel(pkg, className);
+	}
+
 	public static CodeModel createInstance(FormMemento fm) {
 		try {
 			ObjectStore os = (ObjectStore) JETARegistry.lookup(ComponentNames.APPLICATION_STATE_STORE);
@@ -227,6 +227,54 @@ public final class FormLayout implements LayoutManager2, Serializable {
      */
     private transient List<Component>[] rowComponents;
 
+    /**
+     * Holds the column component lists of the previous layout;
+     * these are compared to detect changed columns.
+     */
+    private transient List<Component>[] previousColComponents;
+
+    /**
+     * Holds the row component lists of the previous layout;
+     * these are compared to detect changed rows.
+     */
+    private transient List<Component>[] previousRowComponents;
+
+    /**
+     * Counts the changes of the specs, groups, constraints, and the
+     * column and row component lists. The origins computed before can
+     * be reused only if this count has not changed.
+     *
+     * @see #layoutStamp()
+     */
+    private transient int modCount;
+
+    /**
+     * Counts the invalidations of the component size cache.
+     * Together with the modification count it tells whether the
+     * column and row sizes computed before can be reused.
+     *
+     * @see #layoutStamp()
+     */
+    private transient int invalidationCount;
+
+    /**
+     * Holds the intermediate column sizes and origins.
+     * Reused by every layout and size computation.
+     */
+    private transient LayoutBuffers colBuffers;
+
+    /**
+     * Holds the intermediate row sizes and origins.
+     * Reused by every layout and size computation.
+     */
+    private transient LayoutBuffers rowBuffers;
+
+    /**
+     * The cell bounds that are handed over to the component constraints
+     * in {@code #layoutComponents}. Reused for all components.
+     */
+    private transient Rectangle cellBounds;
+
     /**
      * Caches component minimum and preferred sizes.
      * All requests for component sizes shall be directed to the cache.
@@ -489,6 +537,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
     public void setColumnSpec(int columnIndex, ColumnSpec columnSpec) {
         checkNotNull(columnSpec, "The column spec must not be null.");
         colSpecs.set(columnIndex - 1, columnSpec);
+        modCount++;
     }
 
 
@@ -502,6 +551,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
     public void appendColumn(ColumnSpec columnSpec) {
         checkNotNull(columnSpec, "The column spec must not be null.");
         colSpecs.add(columnSpec);
+        modCount++;
     }
 
     /**
@@ -530,6 +580,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
         colSpecs.add(columnIndex - 1, columnSpec);
         shiftComponentsHorizontally(columnIndex, false);
         adjustGroupIndices(colGroupIndices, columnIndex, false);
+        modCount++;
     }
 
 
@@ -575,6 +626,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
         colSpecs.remove(columnIndex - 1);
         shiftComponentsHorizontally(columnIndex, true);
         adjustGroupIndices(colGroupIndices, columnIndex, true);
+        modCount++;
     }
 
 
@@ -611,6 +663,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
     public void setRowSpec(int rowIndex, RowSpec rowSpec) {
         checkNotNull(rowSpec, "The row spec must not be null.");
         rowSpecs.set(rowIndex - 1, rowSpec);
+        modCount++;
     }
 
 
@@ -623,6 +676,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
     public void appendRow(RowSpec rowSpec) {
         checkNotNull(rowSpec, "The row spec must not be null.");
         rowSpecs.add(rowSpec);
+        modCount++;
     }
 
     /**
@@ -651,6 +705,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
         rowSpecs.add(rowIndex - 1, rowSpec);
         shiftComponentsVertically(rowIndex, false);
         adjustGroupIndices(rowGroupIndices, rowIndex, false);
+        modCount++;
     }
 
     /**
@@ -693,6 +748,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
         rowSpecs.remove(rowIndex - 1);
         shiftComponentsVertically(rowIndex, true);
         adjustGroupIndices(rowGroupIndices, rowIndex, true);
+        modCount++;
     }
 
 
@@ -819,6 +875,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
         checkNotNull(constraints, "The constraints must not be null.");
         constraints.ensureValidGridBounds(getColumnCount(), getRowCount());
         constraintMap.put(component, (CellConstraints) constraints.clone());
+        modCount++;
     }
 
 
@@ -830,6 +887,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
     private void removeConstraints(Component component) {
         constraintMap.remove(component);
         componentSizeCache.removeEntry(component);
+        modCount++;
     }
 
 
@@ -881,6 +939,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
             }
         }
         this.colGroupIndices = deepClone(colGroupIndices);
+        modCount++;
     }
 
     /**
@@ -951,6 +1010,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
             }
         }
         this.rowGroupIndices = deepClone(rowGroupIndices);
+        modCount++;
     }
 
     /**
@@ -1033,6 +1093,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
             return;
         }
         honorsVisibility = b;
+        modCount++;
         Set componentSet = constraintMap.keySet();
         if (componentSet.isEmpty()) {
             return;
@@ -1064,6 +1125,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
             return;
         }
         constraints.honorsVisibility = b;
+        modCount++;
         invalidateAndRepaint(component.getParent());
     }
 
@@ -1209,7 +1271,16 @@ public final class FormLayout implements LayoutManager2, Serializable {
 
     /**
      * Invalidates the layout, indicating that if the layout manager
-     * has cached information it should be discarded.
+     * has cached information it should be discarded.<p>
+     *
+     * The cached component sizes are discarded and all components
+     * are measured again during the next layout. Components are not
+     * tracked individually: a component's size can change without the
+     * component being invalidated, and a change of the container font
+     * changes the dialog unit conversion for all columns and rows.
+     * If the measured column or row sizes, the specs, groups, and
+     * constraints, and the container size have not changed, the origins
+     * of that axis are reused.
      *
      * @param target   the container that holds the layout to be invalidated
      */
@@ -1246,19 +1317,22 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	public void layoutContainer(Container parent) {
         synchronized (parent.getTreeLock()) {
             initializeColAndRowComponentLists();
-            Dimension size = parent.getSize();
 
             Insets insets = parent.getInsets();
-            int totalWidth  = size.width - insets.left - insets.right;
-            int totalHeight = size.height- insets.top  - insets.bottom;
+            int totalWidth  = parent.getWidth()  - insets.left - insets.right;
+            int totalHeight = parent.getHeight() - insets.top  - insets.bottom;
 
+            int stamp = layoutStamp();
             int[] x = computeGridOrigins(parent,
                                          totalWidth, insets.left,
                                          colSpecs,
                                          colComponents,
                                          colGroupIndices,
                                          minimumWidthMeasure,
-                                         preferredWidthMeasure
+                                         preferredWidthMeasure,
+                                         colBuffers,
+                                         stamp,
+                                         modCount
                                          );
             int[] y = computeGridOrigins(parent,
                                          totalHeight, insets.top,
@@ -1266,7 +1340,10 @@ public final class FormLayout implements LayoutManager2, Serializable {
                                          rowComponents,
                                          rowGroupIndices,
                                          minimumHeightMeasure,
-                                         preferredHeightMeasure
+                                         preferredHeightMeasure,
+                                         rowBuffers,
+                                         stamp,
+                                         modCount
                                          );
 
             layoutComponents(x, y);
@@ -1281,33 +1358,81 @@ public final class FormLayout implements LayoutManager2, Serializable {
      *
      * Iterates over all components and their associated constraints;
      * every component that has a column span or row span of 1
-     * is put into the column's or row's component list.
+     * is put into the column's or row's component list.<p>
+     *
+     * The lists and the layout buffers are kept between layouts and
+     * are re-created only if the number of columns or rows has changed.
+     * The lists are refilled on every call, because the component
+     * visibility and the constraints (see {@link #getConstraintMap()})
+     * can change without notifying this layout. If the lists differ from
+     * the previous ones, the modification count is increased.
      */
     private void initializeColAndRowComponentLists() {
-        colComponents = new List[getColumnCount()];
-        for (int i = 0; i < getColumnCount(); i++) {
-            colComponents[i] = new ArrayList<Component>();
+        List<Component>[] cols = clearComponentLists(previousColComponents, getColumnCount());
+        List<Component>[] rows = clearComponentLists(previousRowComponents, getRowCount());
+        if (colBuffers == null) {
+            colBuffers = new LayoutBuffers();
+            rowBuffers = new LayoutBuffers();
         }
+        colBuffers.ensureSize(getColumnCount());
+        rowBuffers.ensureSize(getRowCount());
 
-        rowComponents = new List[getRowCount()];
-        for (int i = 0; i < getRowCount(); i++) {
-            rowComponents[i] = new ArrayList<Component>();
-        }
-
-        for (Object element : constraintMap.entrySet()) {
-            Map.Entry entry = (Map.Entry) element;
-            Component component = (Component) entry.getKey();
-            CellConstraints constraints = (CellConstraints) entry.getValue();
+        for (Map.Entry<Component, CellConstraints> entry : constraintMap.entrySet()) {
+            Component component = entry.getKey();
+            CellConstraints constraints = entry.getValue();
             if (takeIntoAccount(component, constraints)) {
                 if (constraints.gridWidth == 1) {
-                    colComponents[constraints.gridX-1].add(component);
+                    cols[constraints.gridX-1].add(component);
                 }
 
                 if (constraints.gridHeight == 1) {
-                    rowComponents[constraints.gridY-1].add(component);
+                    rows[constraints.gridY-1].add(component);
                 }
             }
         }
+
+        if (!Arrays.equals(cols, colComponents) || !Arrays.equals(rows, rowComponents)) {
+            modCount++;
+        }
+        previousColComponents = colComponents;
+        previousRowComponents = rowComponents;
+        colComponents = cols;
+        rowComponents = rows;
+    }
+
+
+    /**
+     * Returns a stamp that changes whenever the specs, groups, constraints,
+     * or the column and row component lists have changed, or the
+     * component size cache has been invalidated.
+     *
+     * @return the current layout stamp
+     */
+    private int layoutStamp() {
+        return modCount + invalidationCount;
+    }
+
+
+    /**
+     * Clears and returns the given component lists if there are
+     * {@code count} of them, otherwise returns {@code count} new lists.
+     *
+     * @param lists   the component lists of the previous layout, or {@code null}
+     * @param count   the number of columns or rows
+     * @return {@code count} empty component lists
+     */
+    private static List<Component>[] clearComponentLists(List<Component>[] lists, int count) {
+        if (lists != null && lists.length == count) {
+            for (List<Component> list : lists) {
+                list.clear();
+            }
+            return lists;
+        }
+        List<Component>[] result = new List[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new ArrayList<Component>();
+        }
+        return result;
     }
 
 
@@ -1325,20 +1450,29 @@ public final class FormLayout implements LayoutManager2, Serializable {
                                          Measure defaultHeightMeasure) {
         synchronized (parent.getTreeLock()) {
             initializeColAndRowComponentLists();
-            int[] colWidths  = maximumSizes(parent, colSpecs, colComponents,
-                                            minimumWidthMeasure,
-                                            preferredWidthMeasure,
-                                            defaultWidthMeasure);
-            int[] rowHeights = maximumSizes(parent, rowSpecs, rowComponents,
-                                            minimumHeightMeasure,
-                                            preferredHeightMeasure,
-                                            defaultHeightMeasure);
-            int[] groupedWidths  = groupedSizes(colGroupIndices, colWidths);
-            int[] groupedHeights = groupedSizes(rowGroupIndices, rowHeights);
+            int stamp = layoutStamp();
+            computeMaximumSizes(parent, colSpecs, colComponents,
+                                minimumWidthMeasure,
+                                preferredWidthMeasure,
+                                colBuffers, stamp);
+            computeMaximumSizes(parent, rowSpecs, rowComponents,
+                                minimumHeightMeasure,
+                                preferredHeightMeasure,
+                                rowBuffers, stamp);
+            int[] colWidths  = defaultWidthMeasure == minimumWidthMeasure
+                ? colBuffers.minSizes
+                : colBuffers.prefSizes;
+            int[] rowHeights = defaultHeightMeasure == minimumHeightMeasure
+                ? rowBuffers.minSizes
+                : rowBuffers.prefSizes;
+            int[] groupedWidths  = groupedSizes(colGroupIndices, colWidths,
+                                                colBuffers.groupedDefaultSizes);
+            int[] groupedHeights = groupedSizes(rowGroupIndices, rowHeights,
+                                                rowBuffers.groupedDefaultSizes);
 
             // Convert sizes to origins.
-            int[] xOrigins = computeOrigins(groupedWidths,  0);
-            int[] yOrigins = computeOrigins(groupedHeights, 0);
+            int[] xOrigins = computeOrigins(groupedWidths,  0, colBuffers.defaultOrigins);
+            int[] yOrigins = computeOrigins(groupedHeights, 0, rowBuffers.defaultOrigins);
 
             int width1  = sum(groupedWidths);
             int height1 = sum(groupedHeights);
@@ -1352,13 +1486,14 @@ public final class FormLayout implements LayoutManager2, Serializable {
              */
             // First computes the maximum number of cols/rows a component
             // can span without spanning a growing column.
-            int[] maxFixedSizeColsTable = computeMaximumFixedSpanTable(colSpecs);
-            int[] maxFixedSizeRowsTable = computeMaximumFixedSpanTable(rowSpecs);
-
-            for (Object element : constraintMap.entrySet()) {
-                Map.Entry entry = (Map.Entry) element;
-                Component component = (Component) entry.getKey();
-                CellConstraints constraints = (CellConstraints) entry.getValue();
+            int[] maxFixedSizeColsTable = computeMaximumFixedSpanTable(colSpecs,
+                                                                       colBuffers.fixedSpanTable);
+            int[] maxFixedSizeRowsTable = computeMaximumFixedSpanTable(rowSpecs,
+                                                                       rowBuffers.fixedSpanTable);
+
+            for (Map.Entry<Component, CellConstraints> entry : constraintMap.entrySet()) {
+                Component component = entry.getKey();
+                CellConstraints constraints = entry.getValue();
                 if (!takeIntoAccount(component, constraints)) {
                     continue;
                 }
@@ -1411,7 +1546,10 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * @param minMeasure		the measure used to determine min sizes
      * @param prefMeasure		the measure used to determine pre sizes
      * @param groupIndices		the group specification
-     * @return an int array with the origins
+     * @param buffers			the arrays to store the intermediate results in
+     * @param stamp				the current layout stamp
+     * @param modCount			the current modification count
+     * @return an int array with the origins, owned by {@code buffers}
      */
     private static int[] computeGridOrigins(Container container,
                                       int totalSize, int offset,
@@ -1419,17 +1557,32 @@ public final class FormLayout implements LayoutManager2, Serializable {
                                       List[] componentLists,
                                       int[][] groupIndices,
                                       Measure minMeasure,
-                                      Measure prefMeasure) {
+                                      Measure prefMeasure,
+                                      LayoutBuffers buffers,
+                                      int stamp,
+                                      int modCount) {
         /* For each spec compute the minimum and preferred size that is
          * the maximum of all component minimum and preferred sizes resp.
          */
-        int[] minSizes   = maximumSizes(container, formSpecs, componentLists,
-                                        minMeasure, prefMeasure, minMeasure);
-        int[] prefSizes  = maximumSizes(container, formSpecs, componentLists,
-                                        minMeasure, prefMeasure, prefMeasure);
+        computeMaximumSizes(container, formSpecs, componentLists,
+                            minMeasure, prefMeasure, buffers, stamp);
+        int[] minSizes   = buffers.minSizes;
+        int[] prefSizes  = buffers.prefSizes;
+
+        // Reuse the origins if neither the sizes nor the specs have changed.
+        if (   buffers.originsValid
+            && buffers.originsModCount == modCount
+            && buffers.originsTotalSize == totalSize
+            && buffers.originsOffset == offset
+            && Arrays.equals(buffers.originsMinSizes, minSizes)
+            && Arrays.equals(buffers.originsPrefSizes, prefSizes)) {
+            return buffers.origins;
+        }
 
-        int[] groupedMinSizes  = groupedSizes(groupIndices, minSizes);
-        int[] groupedPrefSizes = groupedSizes(groupIndices, prefSizes);
+        int[] groupedMinSizes  = groupedSizes(groupIndices, minSizes,
+                                              buffers.groupedMinSizes);
+        int[] groupedPrefSizes = groupedSizes(groupIndices, prefSizes,
+                                              buffers.groupedPrefSizes);
         int   totalMinSize     = sum(groupedMinSizes);
         int   totalPrefSize    = sum(groupedPrefSizes);
         int[] compressedSizes  = compressedSizes(formSpecs,
@@ -1437,14 +1590,58 @@ public final class FormLayout implements LayoutManager2, Serializable {
                                                totalMinSize,
                                                totalPrefSize,
                                                groupedMinSizes,
-                                               prefSizes);
-        int[] groupedSizes     = groupedSizes(groupIndices, compressedSizes);
+                                               prefSizes,
+                                               buffers.compressedSizes);
+        int[] groupedSizes     = groupedSizes(groupIndices, compressedSizes,
+                                              buffers.groupedSizes);
         int   totalGroupedSize = sum(groupedSizes);
         int[] sizes            = distributedSizes(formSpecs,
                                                  totalSize,
                                                  totalGroupedSize,
-                                                 groupedSizes);
-        return computeOrigins(sizes, offset);
+                                                 groupedSizes,
+                                                 buffers.distributedSizes);
+        computeOrigins(sizes, offset, buffers.origins);
+        System.arraycopy(minSizes,  0, buffers.originsMinSizes,  0, minSizes.length);
+        System.arraycopy(prefSizes, 0, buffers.originsPrefSizes, 0, prefSizes.length);
+        buffers.originsValid     = true;
+        buffers.originsModCount  = modCount;
+        buffers.originsTotalSize = totalSize;
+        buffers.originsOffset    = offset;
+        return buffers.origins;
+    }
+
+
+    /**
+     * Computes the minimum and preferred sizes for the given form specs
+     * and component lists and stores them in the given buffers,
+     * unless they have been computed for the given stamp before.
+     *
+     * @param container         the layout container
+     * @param formSpecs         the column or row specs, resp.
+     * @param componentLists    the components list for each col/row
+     * @param minMeasure        the measure used to determine min sizes
+     * @param prefMeasure       the measure used to determine pre sizes
+     * @param buffers           the arrays to store the sizes in
+     * @param stamp             the current layout stamp
+     */
+    private static void computeMaximumSizes(Container container,
+                                      List formSpecs,
+                                      List[] componentLists,
+                                      Measure minMeasure,
+                                      Measure prefMeasure,
+                                      LayoutBuffers buffers,
+                                      int stamp) {
+        if (buffers.sizesValid && buffers.sizesStamp == stamp) {
+            return;
+        }
+        maximumSizes(container, formSpecs, componentLists,
+                     minMeasure, prefMeasure, minMeasure,
+                     buffers.minSizes);
+        maximumSizes(container, formSpecs, componentLists,
+                     minMeasure, prefMeasure, prefMeasure,
+                     buffers.prefSizes);
+        buffers.sizesValid = true;
+        buffers.sizesStamp = stamp;
     }
 
 
@@ -1453,11 +1650,12 @@ public final class FormLayout implements LayoutManager2, Serializable {
      *
      * @param sizes     the array of sizes
      * @param offset    an offset for the first origin
-     * @return an array of origins
+     * @param origins   the array to store the origins in, must be one
+     *     element longer than {@code sizes}
+     * @return {@code origins}
      */
-    private static int[] computeOrigins(int[] sizes, int offset) {
+    private static int[] computeOrigins(int[] sizes, int offset, int[] origins) {
         int count = sizes.length;
-        int[] origins = new int[count + 1];
         origins[0] = offset;
         for (int i = 1; i <= count; i++) {
             origins[i] = origins[i-1] + sizes[i-1];
@@ -1482,11 +1680,12 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * @param y     an int array of the vertical origins
      */
     private void layoutComponents(int[] x, int[] y) {
-        Rectangle cellBounds = new Rectangle();
-        for (Object element : constraintMap.entrySet()) {
-            Map.Entry entry = (Map.Entry) element;
-            Component       component   = (Component)       entry.getKey();
-            CellConstraints constraints = (CellConstraints) entry.getValue();
+        if (cellBounds == null) {
+            cellBounds = new Rectangle();
+        }
+        for (Map.Entry<Component, CellConstraints> entry : constraintMap.entrySet()) {
+            Component       component   = entry.getKey();
+            CellConstraints constraints = entry.getValue();
 
             int gridX      = constraints.gridX-1;
             int gridY      = constraints.gridY-1;
@@ -1509,6 +1708,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
      */
     private void invalidateCaches() {
         componentSizeCache.invalidate();
+        invalidationCount++;
     }
 
 
@@ -1522,17 +1722,18 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * @param minMeasure        the measure used to determine min sizes
      * @param prefMeasure       the measure used to determine pre sizes
      * @param defaultMeasure    the measure used to determine default sizes
-     * @return the column or row sizes
+     * @param result            the array to store the sizes in
+     * @return {@code result} filled with the column or row sizes
      */
     private static int[] maximumSizes(Container container,
                                 List formSpecs,
                                 List[] componentLists,
                                 Measure minMeasure,
                                 Measure prefMeasure,
-                                Measure defaultMeasure) {
+                                Measure defaultMeasure,
+                                int[] result) {
         FormSpec formSpec;
         int size = formSpecs.size();
-        int[] result = new int[size];
         for (int i = 0; i < size; i++) {
             formSpec = (FormSpec) formSpecs.get(i);
             result[i] = formSpec.maximumSize(container,
@@ -1560,11 +1761,12 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * @param totalPrefSize  the sum of all preferred sizes
      * @param minSizes       an int array of column/row minimum sizes
      * @param prefSizes      an int array of column/row preferred sizes
+     * @param sizes          the array to store compressed sizes in
      * @return an int array of compressed column/row sizes
      */
     private static int[] compressedSizes(List formSpecs,
                                  int totalSize, int totalMinSize, int totalPrefSize,
-                                 int[] minSizes, int[] prefSizes) {
+                                 int[] minSizes, int[] prefSizes, int[] sizes) {
 
         // If we have less space than the total min size, answer the min sizes.
         if (totalSize < totalMinSize) {
@@ -1576,7 +1778,6 @@ public final class FormLayout implements LayoutManager2, Serializable {
         }
 
         int count = formSpecs.size();
-        int[] sizes = new int[count];
 
         double totalCompressionSpace = totalPrefSize - totalSize;
         double maxCompressionSpace   = totalPrefSize - totalMinSize;
@@ -1604,16 +1805,16 @@ public final class FormLayout implements LayoutManager2, Serializable {
      *
      * @param groups	the group specification
      * @param rawSizes	the raw sizes before the grouping
+     * @param sizes		the array to store the grouped sizes in
      * @return the grouped sizes
      */
-    private static int[] groupedSizes(int[][] groups, int[] rawSizes) {
+    private static int[] groupedSizes(int[][] groups, int[] rawSizes, int[] sizes) {
         // Return the compressed sizes if there are no groups.
         if (groups == null || groups.length == 0) {
             return rawSizes;
         }
 
         // Initialize the result with the given compressed sizes.
-        int[] sizes = new int[rawSizes.length];
         for (int i = 0; i < sizes.length; i++) {
             sizes[i] = rawSizes[i];
         }
@@ -1644,11 +1845,12 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * @param totalSize      the total available size
      * @param totalPrefSize  the sum of all preferred sizes
      * @param inputSizes     the input sizes
+     * @param sizes          the array to store the distributed sizes in
      * @return the distributed sizes
      */
     private static int[] distributedSizes(List formSpecs,
                                     int totalSize, int totalPrefSize,
-                                    int[] inputSizes) {
+                                    int[] inputSizes, int[] sizes) {
         double totalFreeSpace = totalSize - totalPrefSize;
         // Do nothing if there's no free space.
         if (totalFreeSpace < 0) {
@@ -1668,8 +1870,6 @@ public final class FormLayout implements LayoutManager2, Serializable {
             return inputSizes;
         }
 
-        int[] sizes = new int[count];
-
         double restSpace = totalFreeSpace;
         int roundedRestSpace = (int) totalFreeSpace;
 		for (int i = 0; i < count; i++) {
@@ -1712,12 +1912,12 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * </pre>
      *
      * @param formSpecs  the column specs or row specs
+     * @param table      the array to store the table in
      * @return a table that maps a spec index to the maximum span for
      *    fixed size specs
      */
-    private static int[] computeMaximumFixedSpanTable(List formSpecs) {
+    private static int[] computeMaximumFixedSpanTable(List formSpecs, int[] table) {
         int size = formSpecs.size();
-        int[] table = new int[size];
         int maximumFixedSpan = Integer.MAX_VALUE;        // Could be 1
         for (int i = size-1; i >= 0; i--) {
             FormSpec spec = (FormSpec) formSpecs.get(i); // ArrayList access
@@ -1879,6 +2079,69 @@ public final class FormLayout implements LayoutManager2, Serializable {
     }
 
 
+    // Reusing Layout Arrays ************************************************
+
+    /**
+     * Holds the int arrays that the layout algorithm fills for the
+     * columns or rows. The arrays are kept between layouts and are
+     * re-created only if the number of columns or rows changes.
+     * The minimum and preferred sizes are valid for the layout stamp
+     * they have been computed for. The origins are valid for the
+     * modification count, the minimum and preferred sizes, and the
+     * total size they have been computed for.
+     */
+    private static final class LayoutBuffers {
+
+        int[] minSizes;
+        int[] prefSizes;
+        int[] groupedMinSizes;
+        int[] groupedPrefSizes;
+        int[] compressedSizes;
+        int[] groupedSizes;
+        int[] distributedSizes;
+        int[] fixedSpanTable;
+        int[] origins;
+        int[] groupedDefaultSizes;
+        int[] defaultOrigins;
+        int[] originsMinSizes;
+        int[] originsPrefSizes;
+
+        boolean sizesValid;
+        int sizesStamp;
+
+        boolean originsValid;
+        int originsModCount;
+        int originsTotalSize;
+        int originsOffset;
+
+        /**
+         * Ensures that the arrays can hold {@code count} columns or rows.
+         *
+         * @param count  the number of columns or rows
+         */
+        void ensureSize(int count) {
+            if (minSizes != null && minSizes.length == count) {
+                return;
+            }
+            minSizes         = new int[count];
+            prefSizes        = new int[count];
+            groupedMinSizes  = new int[count];
+            groupedPrefSizes = new int[count];
+            compressedSizes  = new int[count];
+            groupedSizes     = new int[count];
+            distributedSizes = new int[count];
+            fixedSpanTable   = new int[count];
+            origins          = new int[count + 1];
+            groupedDefaultSizes = new int[count];
+            defaultOrigins      = new int[count + 1];
+            originsMinSizes     = new int[count];
+            originsPrefSizes    = new int[count];
+            sizesValid   = false;
+            originsValid = false;
+        }
+    }
+
+
     // Caching Component Sizes **********************************************
 
     /**
@@ -1904,7 +2167,8 @@ public final class FormLayout implements LayoutManager2, Serializable {
         }
 
         /**
-         * Invalidates the cache. Clears all stored size information.
+         * Invalidates the cache. Clears all stored size information,
+         * including the sizes of components that have not changed.
          */
         void invalidate() {
             minimumSizes.clear();
@@ -1970,19 +2234,22 @@ public final class FormLayout implements LayoutManager2, Serializable {
     public LayoutInfo getLayoutInfo(Container parent) {
         synchronized (parent.getTreeLock()) {
             initializeColAndRowComponentLists();
-            Dimension size = parent.getSize();
 
             Insets insets = parent.getInsets();
-            int totalWidth  = size.width - insets.left - insets.right;
-            int totalHeight = size.height- insets.top  - insets.bottom;
+            int totalWidth  = parent.getWidth()  - insets.left - insets.right;
+            int totalHeight = parent.getHeight() - insets.top  - insets.bottom;
 
+            int stamp = layoutStamp();
             int[] x = computeGridOrigins(parent,
                                          totalWidth, insets.left,
                                          colSpecs,
                                          colComponents,
                                          colGroupIndices,
                                          minimumWidthMeasure,
-                                         preferredWidthMeasure
+                                         preferredWidthMeasure,
+                                         colBuffers,
+                                         stamp,
+                                         modCount
                                          );
             int[] y = computeGridOrigins(parent,
                                          totalHeight, insets.top,
@@ -1990,9 +2257,13 @@ public final class FormLayout implements LayoutManager2, Serializable {
                                          rowComponents,
                                          rowGroupIndices,
                                          minimumHeightMeasure,
-                                         preferredHeightMeasure
+                                         preferredHeightMeasure,
+                                         rowBuffers,
+                                         stamp,
+                                         modCount
                                          );
-            return new LayoutInfo(x, y);
+            // The origins are owned by the layout buffers.
+            return new LayoutInfo(x.clone(), y.clone());
         }
     }
 
@@ -2084,8 +2355,8 @@ public final class FormLayout implements LayoutManager2, Serializable {
      * In addition to the default serialization mechanism this class
      * invalidates the component size cache. The cache will be populated
      * again after the deserialization.
-     * Also, the fields {@code colComponents} and
-     * {@code rowComponents} have been marked as transient
+     * Also, the fields {@code colComponents}, {@code rowComponents},
+     * and the layout buffers have been marked as transient
      * to exclude them from the serialization.
      */
     private void writeObject(ObjectOutputStream out) throws IOException {
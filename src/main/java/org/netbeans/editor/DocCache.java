@@ -642,8 +642,19 @@ class DocCache {
 		int pos = forward ? startPos : (startPos - 1);
 
 		if (directMode) {
+			char buffer[] = support.getDirectModeBuffer();
+			int gapStart = support.getDirectModeGapStart();
+			int gapLength = support.getDirectModeGapLength();
+			int searchStart = forward ? startPos : endPos;
+			int searchEnd = forward ? endPos : startPos;
 			while (true) {
-				pos = finder.find(0, support.getDirectModeBuffer(), forward ? startPos : endPos, forward ? endPos : startPos, pos, endPos);
+				// search the part of the buffer before or after the gap
+				if (pos < gapStart) {
+					pos = finder.find(0, buffer, searchStart, Math.min(searchEnd, gapStart), pos, endPos);
+				}
+				else {
+					pos = finder.find(-gapLength, buffer, Math.max(searchStart, gapStart) + gapLength, searchEnd + gapLength, pos, endPos);
+				}
 
 				if (finder.isFound()) {
 					if (forward) {
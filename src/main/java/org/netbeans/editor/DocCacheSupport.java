@@ -155,8 +155,23 @@ abstract class DocCacheSupport {
 		return false;
 	}
 
+	/**
+	 * Get the buffer holding the document in direct mode. The document
+	 * characters before the gap are stored at their positions, the characters
+	 * after the gap are shifted by the gap length.
+	 */
 	public char[] getDirectModeBuffer() {
 		return null;
 	}
 
+	/** Getter: Position of the gap in the direct mode buffer */
+	public int getDirectModeGapStart() {
+		return docLen;
+	}
+
+	/** Getter: Length of the gap in the direct mode buffer */
+	public int getDirectModeGapLength() {
+		return 0;
+	}
+
 }
@@ -162,7 +162,7 @@ class DocOp implements AbstractDocument.Content {
 		marks = new DocMarks();
 		marks.startMark.setOp(this);
 
-		cacheSupport = new MemCacheSupport();
+		cacheSupport = new GapCacheSupport();
 		cache = new DocCache(cacheSupport, 2048, true); // !!!
 
 		// initialize cache
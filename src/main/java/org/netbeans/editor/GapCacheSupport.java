@@ -0,0 +1,186 @@
+/*
+ *                 Sun Public License Notice
+ * 
+ * The contents of this file are subject to the Sun Public License
+ * Version 1.0 (the "License"). You may not use this file except in
+ * compliance with the License. A copy of the License is available at
+ * http://www.sun.com/
+ * 
+ * The Original Code is NetBeans. The Initial Developer of the Original
+ * Code is Sun Microsystems, Inc. Portions Copyright 1997-2000 Sun
+ * Microsystems, Inc. All Rights Reserved.
+ */
+
+package org.netbeans.editor;
+
+/**
+ * Manages in-memory character cache to store contents of the document. The
+ * characters are held in a gap buffer so that the inserts and removals done
+ * at or near the caret only move the characters between the last modification
+ * and the current one instead of the whole tail of the document.
+ * 
+ * @author Miloslav Metelka
+ * @version 1.00
+ */
+
+class GapCacheSupport extends DocCacheSupport {
+
+	/** Increment for extending the cache */
+	private static final int CACHE_INCREMENT = 2048;
+
+	/** Memory cache array */
+	char buffer[] = Analyzer.EMPTY_CHAR_ARRAY;
+
+	/** Position of the first character of the gap in the buffer */
+	int gapStart;
+
+	/** Length of the gap in the buffer */
+	int gapLength;
+
+	/** Construct new gap cacheSupport with zero size */
+	public GapCacheSupport() {
+	}
+
+	/**
+	 * Construct new gap cacheSupport. Initialize the memory array.
+	 * 
+	 * @param ensureCapacity
+	 *            how much space preallocate
+	 */
+	public GapCacheSupport(int ensureCapacity) {
+		buffer = new char[ensureCapacity];
+		gapLength = ensureCapacity;
+	}
+
+	/**
+	 * check if there's enough space in the gap
+	 * 
+	 * @param reqLen
+	 *            how many chars has to be available in the gap
+	 */
+	private void checkSpace(int reqLen) {
+		if (gapLength < reqLen) {
+			int docLen = getDocLength();
+			int newLen = docLen + reqLen + CACHE_INCREMENT + (docLen + reqLen) / 8;
+			char tempCache[] = new char[newLen];
+			int afterGap = docLen - gapStart;
+			System.arraycopy(buffer, 0, tempCache, 0, gapStart);
+			System.arraycopy(buffer, gapStart + gapLength, tempCache, newLen - afterGap, afterGap);
+			buffer = tempCache;
+			gapLength = newLen - docLen;
+		}
+	}
+
+	/**
+	 * Move the gap so that it starts at the given document position.
+	 * 
+	 * @param pos
+	 *            new position of the gap
+	 */
+	private void moveGap(int pos) {
+		if (pos < gapStart) {
+			System.arraycopy(buffer, pos, buffer, pos + gapLength, gapStart - pos);
+		}
+		else if (pos > gapStart) {
+			System.arraycopy(buffer, gapStart + gapLength, buffer, gapStart, pos - gapStart);
+		}
+		gapStart = pos;
+	}
+
+	public void ensureCapacity(int capacity) {
+		checkSpace(capacity - getDocLength());
+	}
+
+	public void read(int pos, char cache[], int offset, int len) {
+		if (len == 0) {
+			return; // immediate return for void operations
+		}
+		if (pos + len <= gapStart) { // whole area before the gap
+			System.arraycopy(buffer, pos, cache, offset, len);
+		}
+		else if (pos >= gapStart) { // whole area after the gap
+			System.arraycopy(buffer, pos + gapLength, cache, offset, len);
+		}
+		else { // area spans the gap
+			int beforeLen = gapStart - pos;
+			System.arraycopy(buffer, pos, cache, offset, beforeLen);
+			System.arraycopy(buffer, gapStart + gapLength, cache, offset + beforeLen, len - beforeLen);
+		}
+	}
+
+	public void write(int pos, char cache[], int offset, int len) {
+		if (len == 0) {
+			return; // immediate return for void operations
+		}
+		int overLen = Math.min(len, getDocLength() - pos);
+		if (overLen > 0) { // rewrite existing chars
+			if (pos + overLen <= gapStart) {
+				System.arraycopy(cache, offset, buffer, pos, overLen);
+			}
+			else if (pos >= gapStart) {
+				System.arraycopy(cache, offset, buffer, pos + gapLength, overLen);
+			}
+			else {
+				int beforeLen = gapStart - pos;
+				System.arraycopy(cache, offset, buffer, pos, beforeLen);
+				System.arraycopy(cache, offset + beforeLen, buffer, gapStart + gapLength, overLen - beforeLen);
+			}
+		}
+		else {
+			overLen = 0;
+		}
+		if (overLen < len) { // append the rest at the end of the document
+			insert(getDocLength(), cache, offset + overLen, len - overLen);
+		}
+	}
+
+	public void insert(int pos, char cache[], int offset, int len) {
+		if (len == 0) {
+			return; // immediate return for void operations
+		}
+		checkSpace(len);
+		moveGap(pos);
+		System.arraycopy(cache, offset, buffer, pos, len);
+		gapStart += len;
+		gapLength -= len;
+		docLen += len;
+	}
+
+	public void insertString(int pos, String text, int offset, int len) {
+		if (len == 0) {
+			return; // immediate return for void operations
+		}
+		checkSpace(len);
+		moveGap(pos);
+		text.getChars(offset, offset + len, buffer, pos);
+		gapStart += len;
+		gapLength -= len;
+		docLen += len;
+	}
+
+	public void remove(int pos, int len) {
+		if (len == 0) {
+			return; // immediate return for void operations
+		}
+		moveGap(pos);
+		gapLength += len;
+		docLen -= len;
+	}
+
+	public boolean supportsDirectMode() {
+		return true;
+	}
+
+	public char[] getDirectModeBuffer() {
+		return buffer;
+	}
+
+	public int getDirectModeGapStart() {
+		return gapStart;
+	}
+
+	public int getDirectModeGapLength() {
+		return gapLength;
+	}
+
+}
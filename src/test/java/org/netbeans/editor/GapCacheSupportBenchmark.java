@@ -0,0 +1,80 @@
+package org.netbeans.editor;
+
+/**
+ * Simulates typing into a large generated source in the editor. Keys are typed
+ * at 20 places spread through the document, with a backspace after every 8
+ * keys, and the row start and end are looked up after each key like the caret
+ * does. The same edits are then applied directly to a MemCacheSupport and a
+ * GapCacheSupport to compare the cost of the supports alone.
+ * 
+ * Run: GapCacheSupportBenchmark [lines] [rounds]
+ */
+public class GapCacheSupportBenchmark {
+
+	private static final String WORD = "typedIdentifier";
+
+	private static final int SPOTS = 20;
+
+	private static final int KEYS = 200;
+
+	public static void main(String[] args) throws Exception {
+		int lines = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+		StringBuffer source = new StringBuffer();
+		for (int index = 0; index < lines; index++)
+			source.append("\t\tm_component").append(index).append(".setText(\"value ").append(index).append("\"); // generated\n");
+		String text = source.toString();
+
+		BaseDocument doc = new BaseDocument(BaseKit.class, false);
+		doc.insertString(0, text, null);
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			int keys = 0;
+			for (int spot = 0; spot < SPOTS; spot++) {
+				int caret = Utilities.getRowStartFromLineOffset(doc, (int) ((long) lines * spot / SPOTS)) + 2;
+				for (int index = 0; index < KEYS; index++) {
+					doc.insertString(caret, String.valueOf(WORD.charAt(index % WORD.length())), null);
+					caret++;
+					keys++;
+					if (index % 8 == 7) {
+						doc.remove(caret - 1, 1);
+						caret--;
+						keys++;
+					}
+					Utilities.getRowEnd(doc, caret);
+					Utilities.getRowStart(doc, caret);
+				}
+			}
+			report("document", lines, round, keys, System.nanoTime() - start);
+		}
+
+		for (int round = 0; round < rounds; round++) {
+			report("MemCacheSupport", lines, round, SPOTS * KEYS, type(new MemCacheSupport(), text));
+			report("GapCacheSupport", lines, round, SPOTS * KEYS, type(new GapCacheSupport(), text));
+		}
+	}
+
+	/**
+	 * Types the keys into the support and returns the elapsed nanoseconds.
+	 */
+	private static long type(DocCacheSupport support, String text) throws Exception {
+		support.insertString(0, text, 0, text.length());
+		char[] key = new char[1];
+		long start = System.nanoTime();
+		for (int spot = 0; spot < SPOTS; spot++) {
+			int caret = (int) ((long) text.length() * spot / SPOTS);
+			for (int index = 0; index < KEYS; index++) {
+				key[0] = WORD.charAt(index % WORD.length());
+				support.insert(caret, key, 0, 1);
+				caret++;
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String name, int lines, int round, int keys, long nanos) {
+		System.out.println(name + " lines=" + lines + " round " + round + ": " + keys + " keys " + nanos / 1000000 + " ms ("
+				+ nanos / keys + " ns/key)");
+	}
+}
@@ -0,0 +1,136 @@
+package org.netbeans.editor;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Checks that a GapCacheSupport holds the same text as a MemCacheSupport after
+ * random edits, and that the document cache finds the same positions in both.
+ * The test is in the editor package because the cache supports are package
+ * private.
+ */
+public class TestGapCacheSupport {
+
+	private static final String ALPHABET = "ab\nfoo x";
+
+	/**
+	 * Random writes, inserts and removes directly on the supports.
+	 */
+	@Test
+	public void testEdits() throws Exception {
+		Random random = new Random(3);
+		for (int iteration = 0; iteration < 5000; iteration++) {
+			MemCacheSupport mem = new MemCacheSupport();
+			GapCacheSupport gap = new GapCacheSupport();
+			for (int step = 0; step < 8; step++) {
+				int len = mem.getDocLength();
+				char[] chars = randomText(random, 1 + random.nextInt(40)).toCharArray();
+				int pos = random.nextInt(len + 1);
+				int count = random.nextInt(chars.length + 1);
+				int offset = random.nextInt(chars.length - count + 1);
+				switch (random.nextInt(4)) {
+				case 0:
+					mem.write(pos, chars, offset, count);
+					gap.write(pos, chars, offset, count);
+					break;
+				case 1:
+					mem.insert(pos, chars, offset, count);
+					gap.insert(pos, chars, offset, count);
+					break;
+				case 2:
+					String text = new String(chars);
+					mem.insertString(pos, text, offset, count);
+					gap.insertString(pos, text, offset, count);
+					break;
+				default:
+					count = Math.min(count, len - pos);
+					mem.remove(pos, count);
+					gap.remove(pos, count);
+				}
+				assertEquals(getText(mem), getText(gap));
+			}
+		}
+	}
+
+	/**
+	 * Random edits through the document cache in direct mode, with forward
+	 * and backward finds between random positions. The finds often span the
+	 * gap of the GapCacheSupport.
+	 */
+	@Test(timeout = 120000)
+	public void testFind() throws Exception {
+		Random random = new Random(7);
+		DocCache mem = new DocCache(new MemCacheSupport(), 2048, true);
+		DocCache gap = new DocCache(new GapCacheSupport(), 2048, true);
+		StringBuffer text = new StringBuffer();
+		for (int iteration = 0; iteration < 50000; iteration++) {
+			int len = text.length();
+			int op = random.nextInt(10);
+			if (op < 5 || len == 0) {
+				int pos = random.nextInt(len + 1);
+				String insert = randomText(random, 1 + random.nextInt(random.nextInt(20) == 0 ? 300 : 4));
+				if (op % 2 == 0) {
+					mem.insertString(pos, insert, null);
+					gap.insertString(pos, insert, null);
+				}
+				else {
+					mem.insert(pos, insert.toCharArray(), null);
+					gap.insert(pos, insert.toCharArray(), null);
+				}
+				text.insert(pos, insert);
+			}
+			else if (op < 8) {
+				int pos = random.nextInt(len);
+				int count = Math.min(len - pos, 1 + random.nextInt(5));
+				mem.remove(pos, count, null);
+				gap.remove(pos, count, null);
+				text.delete(pos, pos + count);
+			}
+			else {
+				int start = random.nextInt(len + 1);
+				int end = random.nextInt(len + 1);
+				Finder[] mem_finders = createFinders();
+				Finder[] gap_finders = createFinders();
+				for (int index = 0; index < mem_finders.length; index++) {
+					boolean forward = (index % 2 == 0);
+					int from = forward ? Math.min(start, end) : Math.max(start, end);
+					int to = forward ? Math.max(start, end) : Math.min(start, end);
+					assertEquals("find " + index + " at " + iteration, mem.find(mem_finders[index], from, to, null), gap.find(
+							gap_finders[index], from, to, null));
+				}
+			}
+
+			if (iteration % 997 == 0) {
+				assertEquals(text.toString(), getText(mem));
+				assertEquals(text.toString(), getText(gap));
+			}
+		}
+	}
+
+	private static Finder[] createFinders() {
+		return new Finder[] { new FinderFactory.StringFwdFinder("foo", true), new FinderFactory.StringBwdFinder("foo", true),
+				new FinderFactory.CharFwdFinder('\n'), new FinderFactory.CharBwdFinder('\n') };
+	}
+
+	private static String randomText(Random random, int length) {
+		StringBuffer buff = new StringBuffer(length);
+		for (int index = 0; index < length; index++)
+			buff.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		return buff.toString();
+	}
+
+	private static String getText(DocCacheSupport support) throws Exception {
+		char[] chars = new char[support.getDocLength()];
+		support.read(0, chars, 0, chars.length);
+		return new String(chars);
+	}
+
+	private static String getText(DocCache cache) throws Exception {
+		char[] chars = new char[cache.getDocLength()];
+		cache.read(0, chars, 0, chars.length, null);
+		return new String(chars);
+	}
+}
@@ -0,0 +1,120 @@
+package test.jeta.forms.gui.form;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.effects.PaintTileCache;
+import com.jeta.forms.gui.form.GridView;
+import com.jeta.forms.store.properties.ColorProperty;
+import com.jeta.forms.store.properties.JETAProperty;
+import com.jeta.forms.store.properties.effects.GradientProperty;
+import com.jeta.forms.store.properties.effects.PaintProperty;
+import com.jeta.forms.store.properties.effects.RadialGradientProperty;
+
+/**
+ * Measures repainting a 50x50 grid where every cell has a gradient fill. The
+ * grid is painted with a property per cell and with one property shared by
+ * all cells (e.g. a cell background pasted into a selection), each with the
+ * PaintTileCache disabled and enabled. Requires a JVM that supports
+ * com.sun.management.ThreadMXBean.
+ *
+ * Run from the project directory: CellPainterBenchmark [rounds]
+ */
+public class CellPainterBenchmark {
+
+	private static final int CELLS = 50;
+
+	private static final int CELL_SIZE = 20;
+
+	private static final int PASSES = 40;
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+		DefaultInitializer.initialize();
+
+		GridView distinct = createView(false);
+		GridView shared = createView(true);
+		int size = CELLS * CELL_SIZE;
+		BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		for (int round = 0; round < rounds; round++) {
+			for (int cache = 0; cache < 2; cache++) {
+				PaintTileCache.setEnabled(cache == 1);
+				PaintTileCache.clear();
+				String mode = (cache == 1) ? ", tile cache: " : ", no tile cache: ";
+				System.out.println(CELLS + "x" + CELLS + " grid, property per cell" + mode + repaint(distinct, img));
+				System.out.println(CELLS + "x" + CELLS + " grid, shared property" + mode + repaint(shared, img));
+			}
+		}
+	}
+
+	/**
+	 * Creates a grid of alternating linear and radial gradients.
+	 */
+	private static GridView createView(boolean share) {
+		StringBuffer spec = new StringBuffer();
+		for (int index = 0; index < CELLS; index++) {
+			if (index > 0)
+				spec.append(',');
+			spec.append("f:" + CELL_SIZE + "px:n");
+		}
+
+		GridView view = new GridView(spec.toString(), spec.toString());
+		view.setCellPainters(null);
+		PaintProperty linear = new PaintProperty(createFill(true));
+		PaintProperty radial = new PaintProperty(createFill(false));
+		for (int row = 1; row <= CELLS; row++) {
+			for (int col = 1; col <= CELLS; col++) {
+				boolean even = ((row + col) % 2 == 0);
+				if (share)
+					view.setPaintProperty(col, row, even ? linear : radial);
+				else
+					view.setPaintProperty(col, row, new PaintProperty(createFill(even)));
+			}
+		}
+		view.setSize(CELLS * CELL_SIZE, CELLS * CELL_SIZE);
+		layout(view);
+		return view;
+	}
+
+	private static JETAProperty createFill(boolean linear) {
+		if (linear)
+			return new GradientProperty(new ColorProperty(Color.red), new ColorProperty(Color.blue), GradientProperty.TOP_BOTTOM);
+		else
+			return new RadialGradientProperty(new ColorProperty(Color.green), new ColorProperty(Color.yellow), RadialGradientProperty.CENTER, 100);
+	}
+
+	private static void layout(Container c) {
+		c.doLayout();
+		Component[] children = c.getComponents();
+		for (int index = 0; index < children.length; index++) {
+			if (children[index] instanceof Container)
+				layout((Container) children[index]);
+		}
+	}
+
+	/**
+	 * Paints the view and returns the average time and allocation per paint.
+	 */
+	private static String repaint(GridView view, BufferedImage img) {
+		com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		PaintTileCache.resetStatistics();
+		long allocated = mx.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int pass = 0; pass < PASSES; pass++) {
+			Graphics2D g = img.createGraphics();
+			g.setClip(0, 0, img.getWidth(), img.getHeight());
+			view.paint(g);
+			g.dispose();
+		}
+		long nanos = System.nanoTime() - start;
+		allocated = mx.getThreadAllocatedBytes(thread) - allocated;
+		return (nanos / PASSES / 1000) + " us, " + (allocated / PASSES / 1024) + " KB per repaint, tile hit rate " + Math.round(PaintTileCache.getHitRate() * 100) + "%";
+	}
+}
@@ -0,0 +1,121 @@
+package test.jeta.forms.gui.form;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import com.jeta.forms.components.panel.FormPanel;
+import com.jeta.forms.gui.form.CompiledForms;
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.resources.AppResourceLoader;
+import com.jeta.open.resources.ResourceLoader;
+import com.jeta.swingbuilder.codegen.FormCompiler;
+
+/**
+ * Compares creating a FormPanel for every form under a classpath root by
+ * parsing the form file and by using a compiled form. The forms are compiled
+ * with FormCompiler and javac into a temporary directory first. The first
+ * round in the JVM is the closest to a cold start; later rounds show the
+ * steady state. Run a single mode to measure a cold start without the other
+ * mode warming up the JVM. Requires a JDK (javax.tools) and the forms
+ * directory on the classpath.
+ *
+ * Run from the project directory: CompiledFormBenchmark [formsDir] [rounds]
+ * [parsed|compiled|both]
+ */
+public class CompiledFormBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		File forms_dir = new File((args.length > 0) ? args[0] : "src/main/resources");
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+		String mode = (args.length > 2) ? args[2] : "both";
+		System.setProperty("java.awt.headless", "true");
+
+		File work_dir = File.createTempFile("compiledforms", "");
+		work_dir.delete();
+		File source_dir = new File(work_dir, "src");
+		File class_dir = new File(work_dir, "classes");
+		class_dir.mkdirs();
+
+		FormCompiler compiler = new FormCompiler(source_dir);
+		LinkedList failed = compiler.compileAll(forms_dir);
+
+		LinkedList paths = new LinkedList();
+		ArrayList sources = new ArrayList();
+		findForms(forms_dir, "", paths);
+		for (Iterator iter = paths.iterator(); iter.hasNext();) {
+			String path = (String) iter.next();
+			if (failed.contains(path)) {
+				iter.remove();
+				continue;
+			}
+			String classname = CompiledForms.getClassName(CompiledForms.normalizePath(path));
+			sources.add(new File(source_dir, classname.replace('.', File.separatorChar) + ".java").getPath());
+		}
+
+		JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+		if (javac == null) {
+			System.err.println("CompiledFormBenchmark requires a JDK");
+			System.exit(1);
+		}
+		sources.add(0, "-nowarn");
+		sources.add(0, class_dir.getPath());
+		sources.add(0, "-d");
+		sources.add(0, System.getProperty("java.class.path"));
+		sources.add(0, "-cp");
+		if (javac.run(null, null, null, (String[]) sources.toArray(new String[0])) != 0) {
+			System.err.println("Unable to compile the generated sources in " + source_dir);
+			System.exit(1);
+		}
+
+		AppResourceLoader loader = new AppResourceLoader();
+		loader.setClassLoader(new URLClassLoader(new URL[] { class_dir.toURI().toURL() }, CompiledFormBenchmark.class.getClassLoader()));
+		JETARegistry.rebind(ResourceLoader.COMPONENT_ID, loader);
+
+		System.out.println(paths.size() + " forms, " + failed.size() + " could not be compiled");
+		for (int round = 0; round < rounds; round++) {
+			StringBuffer line = new StringBuffer("round " + round + ":");
+			if (!"compiled".equals(mode)) {
+				CompiledForms.setEnabled(false);
+				line.append(" parsed " + createPanels(paths) + " ms");
+			}
+			if (!"parsed".equals(mode)) {
+				CompiledForms.setEnabled(true);
+				line.append(" compiled " + createPanels(paths) + " ms");
+			}
+			System.out.println(line);
+		}
+	}
+
+	/**
+	 * Returns the time in milliseconds to create a FormPanel for each form.
+	 */
+	private static long createPanels(LinkedList paths) {
+		long start = System.nanoTime();
+		for (Iterator iter = paths.iterator(); iter.hasNext();) {
+			new FormPanel((String) iter.next());
+		}
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private static void findForms(File dir, String prefix, LinkedList paths) {
+		File[] files = dir.listFiles();
+		if (files == null)
+			return;
+
+		java.util.Arrays.sort(files);
+		for (int index = 0; index < files.length; index++) {
+			File file = files[index];
+			if (file.isDirectory())
+				findForms(file, prefix + file.getName() + "/", paths);
+			else if (file.getName().endsWith(FormCompiler.FORM_EXTENSION))
+				paths.add(prefix + file.getName());
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package test.jeta.forms.gui.form;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.jeta.forms.gui.effects.Painter;
+import com.jeta.forms.gui.form.GridView;
+import com.jeta.forms.store.properties.ColorProperty;
+import com.jeta.forms.store.properties.JETAProperty;
+import com.jeta.forms.store.properties.effects.GradientProperty;
+import com.jeta.forms.store.properties.effects.PaintProperty;
+import com.jeta.forms.store.properties.effects.RadialGradientProperty;
+
+/**
+ * Checks that the painters retained by GridView for cell fill effects follow
+ * in-place changes to the fill properties.
+ */
+public class TestCellPainter {
+
+	private static final int SIZE = 20;
+
+	private static final String SPEC = "f:" + SIZE + "px:n";
+
+	@Test
+	public void testGradientColorChange() {
+		ColorProperty start = new ColorProperty(Color.red);
+		ColorProperty end = new ColorProperty(Color.red);
+		GridView view = createView(new GradientProperty(start, end, GradientProperty.TOP_BOTTOM));
+		assertEquals(Color.red.getRGB(), paint(view));
+
+		Painter painter = view.getPainter(1, 1);
+		start.setConstantColor(Color.blue);
+		end.setConstantColor(Color.blue);
+		assertEquals(Color.blue.getRGB(), paint(view));
+		assertSame(painter, view.getPainter(1, 1));
+	}
+
+	@Test
+	public void testRadialColorChange() {
+		RadialGradientProperty radial = new RadialGradientProperty(new ColorProperty(Color.green), new ColorProperty(Color.green), RadialGradientProperty.CENTER, 100);
+		GridView view = createView(radial);
+		assertEquals(Color.green.getRGB(), paint(view));
+
+		radial.setStartColor(new ColorProperty(Color.yellow));
+		radial.setEndColor(new ColorProperty(Color.yellow));
+		assertEquals(Color.yellow.getRGB(), paint(view));
+	}
+
+	@Test
+	public void testSharedProperty() {
+		GridView view = createView(new GradientProperty(new ColorProperty(Color.red), new ColorProperty(Color.blue), GradientProperty.TOP_BOTTOM));
+		view.setPaintProperty(1, 2, view.getPaintProperty(1, 1));
+		assertNotSame(view.getPainter(1, 1), view.getPainter(1, 2));
+	}
+
+	/**
+	 * Creates a 1x2 grid with the given fill in the first cell.
+	 */
+	private static GridView createView(JETAProperty fill) {
+		GridView view = new GridView(SPEC, SPEC + "," + SPEC);
+		view.setCellPainters(null);
+		view.setPaintProperty(1, 1, new PaintProperty(fill));
+		view.setSize(SIZE, SIZE * 2);
+		layout(view);
+		return view;
+	}
+
+	private static void layout(Container c) {
+		c.doLayout();
+		Component[] children = c.getComponents();
+		for (int index = 0; index < children.length; index++) {
+			if (children[index] instanceof Container)
+				layout((Container) children[index]);
+		}
+	}
+
+	/**
+	 * Paints the view and returns the color at the center of the first cell.
+	 */
+	private static int paint(GridView view) {
+		BufferedImage img = new BufferedImage(SIZE, SIZE * 2, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = img.createGraphics();
+		g.setClip(0, 0, SIZE, SIZE * 2);
+		view.paint(g);
+		g.dispose();
+		return img.getRGB(SIZE / 2, SIZE / 2);
+	}
+}
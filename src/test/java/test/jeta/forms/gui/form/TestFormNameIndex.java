@@ -0,0 +1,286 @@
+package test.jeta.forms.gui.form;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jeta.forms.components.panel.FormPanel;
+import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.gui.form.FormNameIndex;
+import com.jeta.forms.gui.form.GridView;
+import com.jeta.open.support.DefaultComponentFinder;
+
+/**
+ * Checks the name index of a form against a DefaultComponentFinder, before
+ * and after changes that are not reported to the index.
+ */
+public class TestFormNameIndex {
+
+	private static final File RESOURCES_DIR = new File("src/main/resources");
+
+	private static final String GUI_DIR = "com/jeta/swingbuilder/gui";
+
+	private List m_paths = new ArrayList();
+
+	private List m_panels = new ArrayList();
+
+	@Before
+	public void setUp() throws Exception {
+		File[] dirs = new File(RESOURCES_DIR, GUI_DIR).listFiles();
+		assertNotNull("missing " + GUI_DIR, dirs);
+		Arrays.sort(dirs);
+		for (int index = 0; index < dirs.length; index++) {
+			File[] files = dirs[index].listFiles();
+			if (files == null)
+				continue;
+
+			Arrays.sort(files);
+			for (int findex = 0; findex < files.length; findex++) {
+				String name = files[findex].getName();
+				if (name.endsWith(".jfrm")) {
+					String path = GUI_DIR + "/" + dirs[index].getName() + "/" + name;
+					m_paths.add(path);
+					m_panels.add(new FormPanel(path));
+				}
+			}
+		}
+		assertFalse(m_panels.isEmpty());
+	}
+
+	@Test
+	public void testMatchesFinder() {
+		for (int index = 0; index < m_panels.size(); index++)
+			assertMatchesFinder((FormPanel) m_panels.get(index));
+	}
+
+	@Test
+	public void testFindComponent() {
+		for (int index = 0; index < m_panels.size(); index++) {
+			FormNameIndex name_index = ((FormPanel) m_panels.get(index)).getNameIndex();
+			Iterator iter = name_index.getQualifiedNames().iterator();
+			while (iter.hasNext()) {
+				String qualified_name = (String) iter.next();
+				Component comp = name_index.getComponent(qualified_name);
+				String name = comp.getName();
+				if (name_index.isDuplicate(name))
+					assertNull(name, name_index.findComponent(name));
+				else
+					assertSame(name, comp, name_index.findComponent(name));
+
+				if (name_index.getComponentByName(qualified_name) == null && !name_index.isDuplicate(qualified_name))
+					assertSame(qualified_name, comp, name_index.findComponent(qualified_name));
+			}
+			assertNull(name_index.findComponent("index.missing"));
+		}
+	}
+
+	@Test
+	public void testLazyLookup() {
+		for (int index = 0; index < m_panels.size(); index++) {
+			String nested_name = findNestedForm((FormPanel) m_panels.get(index));
+			if (nested_name == null)
+				continue;
+
+			FormNameIndex name_index = ((FormPanel) m_panels.get(index)).getNameIndex();
+			String bean_name = null;
+			Iterator iter = name_index.getQualifiedNames().iterator();
+			while (iter.hasNext() && bean_name == null) {
+				String qualified_name = (String) iter.next();
+				if (qualified_name.startsWith(nested_name + ".") && !(name_index.getComponent(qualified_name) instanceof GridView))
+					bean_name = qualified_name;
+			}
+			if (bean_name == null)
+				continue;
+
+			FormUtils.setLazyLoading(true);
+			try {
+				FormPanel panel = new FormPanel((String) m_paths.get(index));
+				Component comp = panel.getComponentByName(bean_name);
+				assertNotNull(bean_name, comp);
+				assertSame(bean_name, comp, panel.getNameIndex().getComponent(bean_name));
+			} finally {
+				FormUtils.setLazyLoading(false);
+			}
+			return;
+		}
+		fail("no nested forms");
+	}
+
+	@Test
+	public void testNonFormContainer() {
+		FormPanel panel = (FormPanel) m_panels.get(0);
+		FormNameIndex index = panel.getNameIndex();
+		String host_name = findBean(index);
+		JComponent host = (JComponent) index.getComponent(host_name);
+		String prefix = host_name.substring(0, host_name.length() - host.getName().length());
+
+		// the form is not notified of components added to a bean
+		JLabel added = new JLabel();
+		added.setName("index.added");
+		host.add(added);
+		assertTrue(index.getQualifiedNames().contains(prefix + "index.added"));
+		assertTrue(index.getComponentsByPrefix(prefix + "index.").contains(added));
+		assertSame(added, index.getComponentByName("index.added"));
+		assertMatchesFinder(panel);
+
+		JLabel duplicate = new JLabel();
+		duplicate.setName("index.added");
+		host.add(duplicate);
+		assertTrue(index.getDuplicateNames().contains("index.added"));
+		assertEquals(2, index.getComponentsByName("index.added").size());
+		assertMatchesFinder(panel);
+
+		host.remove(added);
+		host.remove(duplicate);
+		assertFalse(index.getQualifiedNames().contains(prefix + "index.added"));
+		assertFalse(index.getDuplicateNames().contains("index.added"));
+		assertNull(index.getComponentByName("index.added"));
+		assertMatchesFinder(panel);
+	}
+
+	@Test
+	public void testRename() {
+		FormPanel panel = (FormPanel) m_panels.get(0);
+		FormNameIndex index = panel.getNameIndex();
+		String name = findBean(index);
+		Component comp = index.getComponent(name);
+		int size = index.size();
+
+		comp.setName("index.renamed");
+		assertFalse(index.getQualifiedNames().contains(name));
+		assertNull(index.getComponent(name));
+		assertSame(comp, index.getComponentByName("index.renamed"));
+		assertEquals(size, index.size());
+		assertMatchesFinder(panel);
+	}
+
+	@Test
+	public void testRenameNestedForm() {
+		for (int index = 0; index < m_panels.size(); index++) {
+			FormPanel panel = (FormPanel) m_panels.get(index);
+			String nested_name = findNestedForm(panel);
+			if (nested_name == null)
+				continue;
+
+			Component nested = panel.getNameIndex().getComponent(nested_name);
+			String prefix = nested_name + ".";
+			String renamed_prefix = nested_name.substring(0, nested_name.length() - nested.getName().length()) + "index.renamed.";
+			Collection names = new ArrayList();
+			Iterator iter = panel.getNameIndex().getQualifiedNames().iterator();
+			while (iter.hasNext()) {
+				String qualified_name = (String) iter.next();
+				if (qualified_name.startsWith(prefix))
+					names.add(qualified_name);
+			}
+			assertFalse(names.isEmpty());
+
+			nested.setName("index.renamed");
+			FormNameIndex name_index = panel.getNameIndex();
+			assertTrue(name_index.getComponentsByPrefix(prefix).isEmpty());
+			iter = names.iterator();
+			while (iter.hasNext()) {
+				String qualified_name = (String) iter.next();
+				String renamed = renamed_prefix + qualified_name.substring(prefix.length());
+				assertTrue(renamed, name_index.getQualifiedNames().contains(renamed));
+				assertNotNull(renamed, name_index.getComponent(renamed));
+			}
+			assertMatchesFinder(panel);
+			return;
+		}
+		fail("no nested forms");
+	}
+
+	/**
+	 * Checks that the index finds the same components as a component finder
+	 * built from the current state of the form.
+	 */
+	private static void assertMatchesFinder(FormPanel panel) {
+		FormNameIndex index = panel.getNameIndex();
+		Container root = (Container) panel.getFormAccessor();
+		DefaultComponentFinder finder = new DefaultComponentFinder(panel);
+		HashSet names = new HashSet();
+		Iterator iter = finder.getAllNamedComponents().iterator();
+		while (iter.hasNext()) {
+			Component comp = (Component) iter.next();
+			String name = comp.getName();
+			if (!isInside(comp, root))
+				continue;
+
+			names.add(name);
+			assertTrue(name, index.getComponentsByName(name).contains(comp));
+			if (!index.isDuplicate(name))
+				assertSame(name, comp, index.getComponentByName(name));
+		}
+
+		iter = index.getQualifiedNames().iterator();
+		while (iter.hasNext()) {
+			String qualified_name = (String) iter.next();
+			Component comp = index.getComponent(qualified_name);
+			assertNotNull(qualified_name, comp);
+			assertTrue(qualified_name, names.contains(comp.getName()));
+		}
+	}
+
+	private static boolean isInside(Component comp, Container root) {
+		for (Component c = comp; c != null; c = c.getParent()) {
+			if (c == root)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the qualified name of a named bean in a nested form.
+	 */
+	private static String findBean(FormNameIndex index) {
+		Iterator iter = index.getQualifiedNames().iterator();
+		String result = null;
+		while (iter.hasNext()) {
+			String name = (String) iter.next();
+			Component comp = index.getComponent(name);
+			if (comp instanceof JComponent && !(comp instanceof GridView) && !index.isDuplicate(comp.getName())) {
+				result = name;
+				if (name.indexOf('.') > 0)
+					break;
+			}
+		}
+		assertNotNull(result);
+		return result;
+	}
+
+	/**
+	 * Returns the qualified name of a nested form with a unique name or null
+	 * if the form has no such nested form.
+	 */
+	private static String findNestedForm(FormPanel panel) {
+		FormNameIndex index = panel.getNameIndex();
+		Iterator iter = index.getQualifiedNames().iterator();
+		while (iter.hasNext()) {
+			String name = (String) iter.next();
+			Component comp = index.getComponent(name);
+			if (comp instanceof GridView && comp != panel.getFormAccessor() && !index.isDuplicate(name))
+				return name;
+		}
+		return null;
+	}
+}
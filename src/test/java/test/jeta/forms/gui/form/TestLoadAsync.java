@@ -0,0 +1,64 @@
+package test.jeta.forms.gui.form;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import javax.swing.SwingUtilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.jeta.forms.components.panel.FormPanel;
+
+/**
+ * Checks that FormPanel.loadAsync completes its future on the event dispatch
+ * thread when the form loads and when it fails.
+ */
+public class TestLoadAsync {
+
+	@Test
+	public void testLoad() throws Exception {
+		assertEquals("panel", completion("com/jeta/swingbuilder/gui/main/aboutView.jfrm"));
+	}
+
+	@Test
+	public void testMissingForm() throws Exception {
+		assertEquals("error", completion("test/jeta/forms/missing.jfrm"));
+	}
+
+	/**
+	 * Loads the form and returns how the future completed. Fails if it did
+	 * not complete on the event dispatch thread. The event dispatch thread is
+	 * held until the completion handler is registered so the handler can't
+	 * run on this thread.
+	 */
+	private static String completion(String formPath) throws Exception {
+		final CountDownLatch registered = new CountDownLatch(1);
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				try {
+					registered.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		CompletableFuture result;
+		try {
+			result = FormPanel.loadAsync(formPath).handle(new BiFunction() {
+				public Object apply(Object panel, Object error) {
+					assertTrue(SwingUtilities.isEventDispatchThread());
+					return (error == null && panel instanceof FormPanel) ? "panel" : "error";
+				}
+			});
+		} finally {
+			registered.countDown();
+		}
+		return (String) result.get(60, TimeUnit.SECONDS);
+	}
+}
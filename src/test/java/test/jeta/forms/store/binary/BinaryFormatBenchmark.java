@@ -0,0 +1,105 @@
+package test.jeta.forms.store.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.binary.BinaryUtils;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.xml.writer.XMLWriter;
+
+/**
+ * Compares the size and the load time of the example forms in the three form
+ * formats: XML, Java serialization (.jfrm) and the compact binary format
+ * (.jfrmb). Each form is encoded in memory and loaded from memory with
+ * FormManagerUtils.loadForm.
+ *
+ * Run from the project directory: BinaryFormatBenchmark [iterations]
+ */
+public class BinaryFormatBenchmark {
+
+	private static final String[] FORMATS = { "xml", "jfrm", "jfrmb" };
+
+	public static void main(String[] args) throws Exception {
+		int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+		DefaultInitializer.initialize();
+
+		File[] files = new File("examples/forms").listFiles();
+		Arrays.sort(files);
+		PrintStream out = System.out;
+		// the XML parser reports duplicate properties in some example forms
+		PrintStream quiet = new PrintStream(new ByteArrayOutputStream());
+		out.println("form: bytes xml/jfrm/jfrmb | load us xml/jfrm/jfrmb");
+		for (int index = 0; index < files.length; index++) {
+			System.setOut(quiet);
+			FormMemento memento = null;
+			try {
+				memento = FormManagerUtils.loadForm(files[index]);
+			} catch (Exception e) {
+				// forms saved with an old serialization format can't be read
+				continue;
+			}
+
+			byte[][] data = new byte[FORMATS.length][];
+			data[0] = toXML(memento);
+			data[1] = toSerialized(memento);
+			data[2] = toBinary(memento);
+
+			long[] times = new long[FORMATS.length];
+			for (int format = 0; format < FORMATS.length; format++) {
+				load(data[format], iterations);
+				times[format] = load(data[format], iterations);
+			}
+			System.setOut(out);
+
+			out.println(files[index].getName() + ": " + data[0].length + "/" + data[1].length + "/" + data[2].length + " | " + times[0] + "/" + times[1] + "/"
+					+ times[2]);
+		}
+		System.setOut(out);
+	}
+
+	/**
+	 * Returns the average time in microseconds to load the form.
+	 */
+	private static long load(byte[] data, int iterations) throws Exception {
+		long start = System.nanoTime();
+		for (int count = 0; count < iterations; count++) {
+			FormManagerUtils.loadForm(new ByteArrayInputStream(data));
+		}
+		return (System.nanoTime() - start) / iterations / 1000;
+	}
+
+	private static byte[] toXML(FormMemento memento) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		Writer writer = new OutputStreamWriter(bos, "UTF-8");
+		new XMLWriter().write(writer, JMLUtils.writeObject(new FormPackage(memento)));
+		writer.close();
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Java serialization, the way the designer writes .jfrm files
+	 */
+	private static byte[] toSerialized(FormMemento memento) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(new FormPackage(memento));
+		oos.close();
+		return bos.toByteArray();
+	}
+
+	private static byte[] toBinary(FormMemento memento) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		BinaryUtils.writeObject(bos, new FormPackage(memento));
+		return bos.toByteArray();
+	}
+}
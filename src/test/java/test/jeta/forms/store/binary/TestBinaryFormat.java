@@ -0,0 +1,80 @@
+package test.jeta.forms.store.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.binary.BinaryUtils;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.xml.writer.XMLWriter;
+
+/**
+ * Round trips the example forms through the compact binary format (.jfrmb)
+ * and checks that the mementos read back are the same as the originals.
+ */
+public class TestBinaryFormat {
+
+	private static final File FORMS_DIR = new File("examples/forms");
+
+	@Before
+	public void setUp() throws Exception {
+		DefaultInitializer.initialize();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		File[] files = FORMS_DIR.listFiles();
+		assertNotNull("missing " + FORMS_DIR, files);
+		Arrays.sort(files);
+
+		int count = 0;
+		for (int index = 0; index < files.length; index++) {
+			File f = files[index];
+			FormMemento memento = null;
+			try {
+				memento = FormManagerUtils.loadForm(f);
+			} catch (Exception e) {
+				// forms saved with an old serialization format can't be read
+				// at all, so there is nothing to round trip
+				continue;
+			}
+
+			byte[] bytes = toBinary(memento);
+			FormMemento copy = FormManagerUtils.loadForm(new ByteArrayInputStream(bytes));
+
+			assertEquals(f.getName(), toXML(memento), toXML(copy));
+			assertTrue(f.getName(), Arrays.equals(bytes, toBinary(copy)));
+			count++;
+		}
+		assertTrue("no forms were checked", count > 20);
+	}
+
+	private static byte[] toBinary(FormMemento memento) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		BinaryUtils.writeObject(bos, new FormPackage(memento));
+		return bos.toByteArray();
+	}
+
+	/**
+	 * @return the XML for the given memento. Mementos don't implement equals,
+	 *         so the XML is used to compare them.
+	 */
+	private static String toXML(FormMemento memento) throws Exception {
+		StringWriter writer = new StringWriter();
+		new XMLWriter().write(writer, JMLUtils.writeObject(new FormPackage(memento)));
+		return writer.toString();
+	}
+}
@@ -0,0 +1,131 @@
+package test.jeta.forms.store.properties;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CountDownLatch;
+
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.project.ProjectManager;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.properties.IconProperty;
+import com.jeta.open.registry.JETARegistry;
+
+/**
+ * Checks the size reported by an icon that is loaded in the background when
+ * the size stored in the form file is wrong. The image used here is 24x24 but
+ * the form says 1x1.
+ */
+public class TestIconProperty {
+
+	private static final String IMAGE = "development/24x24/web.png";
+
+	private ProjectManager m_saved;
+
+	@Before
+	public void setUp() throws Exception {
+		DefaultInitializer.initialize();
+		m_saved = (ProjectManager) JETARegistry.lookup(ProjectManager.COMPONENT_ID);
+	}
+
+	@After
+	public void tearDown() {
+		JETARegistry.rebind(ProjectManager.COMPONENT_ID, m_saved);
+	}
+
+	/**
+	 * An icon that is not installed on a component must report the size of
+	 * the image, not the size from the form file.
+	 */
+	@Test
+	public void testMeasured() throws Exception {
+		IconProperty icon = readIcon();
+		assertEquals(24, icon.getIconWidth());
+		assertEquals(24, icon.getIconHeight());
+	}
+
+	/**
+	 * An icon that is installed on a component reports the stored size while
+	 * loading. The component is revalidated when the image turns out to be a
+	 * different size.
+	 */
+	@Test
+	public void testInstalled() throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		JETARegistry.rebind(ProjectManager.COMPONENT_ID, new GatedProjectManager(gate));
+
+		IconProperty icon = readIcon();
+		final boolean[] revalidated = new boolean[1];
+		JLabel label = new JLabel(icon) {
+			public void revalidate() {
+				revalidated[0] = true;
+			}
+		};
+		icon.installOn(label);
+		revalidated[0] = false;
+		assertEquals(1, icon.getIconWidth());
+
+		gate.countDown();
+		icon.imageIcon();
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+			}
+		});
+		assertEquals(24, icon.getIconWidth());
+		assertTrue(revalidated[0]);
+	}
+
+	private static IconProperty readIcon() throws Exception {
+		String xml = "<object classname=\"com.jeta.forms.store.properties.IconProperty\">" + "<at name=\"embedded\">false</at>" + "<at name=\"path\">" + IMAGE
+				+ "</at>" + "<at name=\"description\">web.png</at>" + "<at name=\"width\">1</at>" + "<at name=\"height\">1</at>" + "</object>";
+		return (IconProperty) JMLUtils.readObject(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+	}
+
+	/**
+	 * Loads images from the classpath once the gate is opened.
+	 */
+	private static class GatedProjectManager implements ProjectManager {
+		private CountDownLatch m_gate;
+
+		GatedProjectManager(CountDownLatch gate) {
+			m_gate = gate;
+		}
+
+		public ImageIcon loadImage(String imageName) {
+			try {
+				m_gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new ImageIcon(TestIconProperty.class.getClassLoader().getResource(imageName));
+		}
+
+		public void clearResourceCache() {
+		}
+
+		public String getAbsolutePath(String relativePath) {
+			return null;
+		}
+
+		public String getRelativePath(String absPath) {
+			return null;
+		}
+
+		public boolean isValidAbsolutePath(String path) {
+			return false;
+		}
+
+		public boolean isValidResource(String relpath) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package test.jeta.forms.store.properties;
+
+import java.awt.Color;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+
+import com.jeta.forms.store.properties.ColorProperty;
+import com.jeta.forms.store.properties.CompoundBorderProperty;
+import com.jeta.forms.store.properties.LineBorderProperty;
+
+/**
+ * Checks that setValue copies the properties a property holds. Cached form
+ * templates hand the same property instances to every form opened from them,
+ * so a shared reference lets an edit in one form leak into the others.
+ */
+public class TestPropertyCopies {
+
+	@Test
+	public void testCompoundBorder() {
+		LineBorderProperty line = new LineBorderProperty();
+		line.setLineColorProperty(new ColorProperty(Color.red));
+		CompoundBorderProperty template = new CompoundBorderProperty(line);
+
+		CompoundBorderProperty copy = new CompoundBorderProperty();
+		copy.setValue(template);
+		assertEquals(1, copy.size());
+		assertNotSame(line, copy.getBorder(0));
+
+		LineBorderProperty copied = (LineBorderProperty) copy.getBorder(0);
+		copied.setLineThickness(5);
+		copied.setLineColorProperty(new ColorProperty(Color.blue));
+		assertEquals(1, line.getLineThickness());
+		assertEquals(Color.red, line.getLineColor());
+	}
+}
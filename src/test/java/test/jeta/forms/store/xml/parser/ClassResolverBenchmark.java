@@ -0,0 +1,129 @@
+package test.jeta.forms.store.xml.parser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.xml.parser.ClassResolver;
+
+/**
+ * Measures class resolution and instantiation for the class names found in
+ * the XML forms in examples/forms, in document order. Each class name is
+ * resolved and instantiated the way the parser did before ClassResolver
+ * (Class.forName and reflection) and through ClassResolver. The time to parse
+ * every form is reported as well.
+ * 
+ * Run from the project directory: ClassResolverBenchmark [rounds]
+ */
+public class ClassResolverBenchmark {
+
+	private static final int PASSES = 20;
+
+	private static final Pattern CLASSNAME = Pattern.compile("classname=\"([^\"]+)\"");
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : 10;
+		DefaultInitializer.initialize();
+
+		ArrayList forms = new ArrayList();
+		ArrayList names = new ArrayList();
+		File[] files = new File("examples/forms").listFiles();
+		for (int index = 0; index < files.length; index++) {
+			if (!files[index].getName().endsWith(".xml"))
+				continue;
+
+			byte[] data = readFile(files[index]);
+			forms.add(data);
+			Matcher m = CLASSNAME.matcher(new String(data, "UTF-8"));
+			while (m.find()) {
+				String name = m.group(1);
+				if (isInstantiable(name))
+					names.add(name);
+			}
+		}
+		String[] classNames = (String[]) names.toArray(new String[0]);
+		System.out.println(forms.size() + " forms, " + classNames.length + " <object> elements");
+
+		PrintStream out = System.out;
+		for (int round = 0; round < rounds; round++) {
+			System.gc();
+			long start = System.nanoTime();
+			for (int pass = 0; pass < PASSES; pass++) {
+				for (int index = 0; index < classNames.length; index++)
+					Class.forName(classNames[index]);
+			}
+			long forName = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int pass = 0; pass < PASSES; pass++) {
+				for (int index = 0; index < classNames.length; index++)
+					ClassResolver.forName(classNames[index]);
+			}
+			long resolved = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int pass = 0; pass < PASSES; pass++) {
+				for (int index = 0; index < classNames.length; index++)
+					Class.forName(classNames[index]).getDeclaredConstructor().newInstance();
+			}
+			long reflect = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int pass = 0; pass < PASSES; pass++) {
+				for (int index = 0; index < classNames.length; index++)
+					ClassResolver.newInstance(classNames[index]);
+			}
+			long cached = System.nanoTime() - start;
+
+			// the parser reports duplicate properties in some example forms
+			System.setOut(new PrintStream(new ByteArrayOutputStream()));
+			start = System.nanoTime();
+			for (int index = 0; index < forms.size(); index++) {
+				JMLUtils.readObject(new ByteArrayInputStream((byte[]) forms.get(index)));
+			}
+			long parse = System.nanoTime() - start;
+			System.setOut(out);
+
+			long count = (long) PASSES * classNames.length;
+			out.println("round " + round + ": resolve Class.forName " + (forName / count) + " ns, ClassResolver " + (resolved / count)
+					+ " ns | resolve+instantiate reflection " + (reflect / count) + " ns, ClassResolver " + (cached / count) + " ns | parse all forms "
+					+ (parse / 1000000) + " ms");
+		}
+	}
+
+	private static boolean isInstantiable(String className) {
+		try {
+			Class.forName(className).getDeclaredConstructor().newInstance();
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private static byte[] readFile(File f) throws IOException {
+		InputStream is = new BufferedInputStream(new FileInputStream(f));
+		try {
+			byte[] data = new byte[(int) f.length()];
+			int offset = 0;
+			while (offset < data.length) {
+				int count = is.read(data, offset, data.length - offset);
+				if (count < 0)
+					break;
+				offset += count;
+			}
+			return data;
+		} finally {
+			is.close();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package test.jeta.forms.store.xml.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.store.jml.JMLUtils;
+
+/**
+ * Measures the bytes allocated per element when the XML forms in
+ * examples/forms are parsed with the SAX handlers. The count includes the
+ * objects the forms are made of, so it is an upper bound for the parser
+ * itself. Requires a JVM that supports com.sun.management.ThreadMXBean.
+ *
+ * Run from the project directory: SAXAllocationBenchmark [rounds]
+ */
+public class SAXAllocationBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : 10;
+		DefaultInitializer.initialize();
+
+		ArrayList forms = new ArrayList();
+		long elements = 0;
+		File[] files = new File("examples/forms").listFiles();
+		Arrays.sort(files);
+		for (int index = 0; index < files.length; index++) {
+			if (!files[index].getName().endsWith(".xml"))
+				continue;
+
+			byte[] data = readFile(files[index]);
+			forms.add(data);
+			elements += countElements(data);
+		}
+		System.out.println(forms.size() + " forms, " + elements + " elements");
+
+		com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		PrintStream out = System.out;
+		for (int round = 0; round < rounds; round++) {
+			// the parser reports duplicate properties in some example forms
+			System.setOut(new PrintStream(new ByteArrayOutputStream()));
+			long allocated = mx.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			for (int index = 0; index < forms.size(); index++) {
+				JMLUtils.readObject(new ByteArrayInputStream((byte[]) forms.get(index)));
+			}
+			long nanos = System.nanoTime() - start;
+			allocated = mx.getThreadAllocatedBytes(thread) - allocated;
+			System.setOut(out);
+
+			out.println("round " + round + ": " + (allocated / elements) + " bytes allocated per element, " + (nanos / elements) + " ns per element");
+		}
+	}
+
+	/**
+	 * Returns the number of start tags in the document.
+	 */
+	private static long countElements(byte[] data) {
+		long count = 0;
+		for (int index = 0; index + 1 < data.length; index++) {
+			if (data[index] == '<' && Character.isLetter((char) data[index + 1]))
+				count++;
+		}
+		return count;
+	}
+
+	private static byte[] readFile(File f) throws IOException {
+		InputStream is = new FileInputStream(f);
+		try {
+			byte[] data = new byte[(int) f.length()];
+			int offset = 0;
+			while (offset < data.length) {
+				int count = is.read(data, offset, data.length - offset);
+				if (count < 0)
+					break;
+				offset += count;
+			}
+			return data;
+		} finally {
+			is.close();
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package test.jeta.forms.store.xml.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.store.jml.JMLUtils;
+
+/**
+ * Compares the time to parse each XML form in examples/forms with the SAX
+ * MainHandler and with the StAX StreamParser.
+ *
+ * Run from the project directory: StreamParserBenchmark [iterations]
+ */
+public class StreamParserBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+		DefaultInitializer.initialize();
+
+		File[] files = new File("examples/forms").listFiles();
+		Arrays.sort(files);
+		PrintStream out = System.out;
+		for (int index = 0; index < files.length; index++) {
+			byte[] data = readFile(files[index]);
+			if (data.length == 0 || data[0] != '<')
+				continue;
+
+			// the parsers report duplicate properties in some example forms
+			System.setOut(new PrintStream(new ByteArrayOutputStream()));
+			parse(data, false, iterations);
+			parse(data, true, iterations);
+			long sax = parse(data, false, iterations);
+			long stax = parse(data, true, iterations);
+			System.setOut(out);
+
+			out.println(files[index].getName() + " (" + (data.length / 1024) + " KB): sax " + sax + " us, stax " + stax + " us per parse");
+		}
+	}
+
+	/**
+	 * Returns the average time in microseconds to parse the form.
+	 */
+	private static long parse(byte[] data, boolean pullParser, int iterations) throws Exception {
+		long start = System.nanoTime();
+		for (int count = 0; count < iterations; count++) {
+			JMLUtils.readObject(new ByteArrayInputStream(data), pullParser);
+		}
+		return (System.nanoTime() - start) / iterations / 1000;
+	}
+
+	private static byte[] readFile(File f) throws IOException {
+		InputStream is = new FileInputStream(f);
+		try {
+			byte[] data = new byte[(int) f.length()];
+			int offset = 0;
+			while (offset < data.length) {
+				int count = is.read(data, offset, data.length - offset);
+				if (count < 0)
+					break;
+				offset += count;
+			}
+			return data;
+		} finally {
+			is.close();
+		}
+	}
+}
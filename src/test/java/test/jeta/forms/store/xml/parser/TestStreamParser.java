@@ -0,0 +1,112 @@
+package test.jeta.forms.store.xml.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.store.jml.JMLException;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.xml.writer.XMLWriter;
+
+/**
+ * Checks that the StAX StreamParser builds the same object graphs as the SAX
+ * MainHandler. The graphs are compared by writing them back to XML.
+ */
+public class TestStreamParser {
+
+	private static final File FORMS_DIR = new File("examples/forms");
+
+	@Before
+	public void setUp() throws Exception {
+		DefaultInitializer.initialize();
+	}
+
+	@Test
+	public void testExampleForms() throws Exception {
+		File[] files = FORMS_DIR.listFiles();
+		assertNotNull("missing " + FORMS_DIR, files);
+		Arrays.sort(files);
+
+		int count = 0;
+		for (int index = 0; index < files.length; index++) {
+			byte[] data = readFile(files[index]);
+			if (data.length == 0 || data[0] != '<')
+				continue;
+
+			Object sax = JMLUtils.readObject(new ByteArrayInputStream(data), false);
+			Object stax = JMLUtils.readObject(new ByteArrayInputStream(data), true);
+			assertTrue(files[index].getName(), stax instanceof FormPackage);
+			assertEquals(files[index].getName(), write(sax), write(stax));
+			count++;
+		}
+		assertEquals(13, count);
+	}
+
+	@Test
+	public void testCollections() throws Exception {
+		LinkedList list = new LinkedList();
+		list.add(Integer.valueOf(3));
+		list.add("a < b & c");
+
+		HashMap map = new HashMap();
+		map.put("list", list);
+		map.put("array", new Object[] { Boolean.TRUE, null, Character.valueOf('x'), Double.valueOf(2.5) });
+		map.put("empty", "");
+
+		byte[] data = write(map).getBytes("UTF-8");
+		Object sax = JMLUtils.readObject(new ByteArrayInputStream(data), false);
+		Object stax = JMLUtils.readObject(new ByteArrayInputStream(data), true);
+		assertEquals(write(sax), write(stax));
+		assertEquals(list, ((HashMap) stax).get("list"));
+	}
+
+	@Test
+	public void testInvalidTag() throws Exception {
+		byte[] data = "<?xml version=\"1.0\"?><at name=\"foo\">bar</at>".getBytes("UTF-8");
+		try {
+			JMLUtils.readObject(new ByteArrayInputStream(data), true);
+			fail("expected a JMLException");
+		} catch (JMLException e) {
+			// expected
+		}
+	}
+
+	private static String write(Object obj) throws Exception {
+		StringWriter writer = new StringWriter();
+		new XMLWriter().write(writer, JMLUtils.writeObject(obj));
+		return writer.toString();
+	}
+
+	private static byte[] readFile(File f) throws IOException {
+		InputStream is = new FileInputStream(f);
+		try {
+			byte[] data = new byte[(int) f.length()];
+			int offset = 0;
+			while (offset < data.length) {
+				int count = is.read(data, offset, data.length - offset);
+				if (count < 0)
+					break;
+				offset += count;
+			}
+			return data;
+		} finally {
+			is.close();
+		}
+	}
+}
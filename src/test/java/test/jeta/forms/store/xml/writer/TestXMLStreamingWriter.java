@@ -0,0 +1,62 @@
+package test.jeta.forms.store.xml.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.xml.writer.XMLStreamingWriter;
+import com.jeta.forms.store.xml.writer.XMLWriter;
+
+/**
+ * Checks that XMLStreamingWriter writes exactly the same XML as building the
+ * JMLNode tree with JMLUtils.writeObject and writing it with XMLWriter.
+ */
+public class TestXMLStreamingWriter {
+
+	private static final File FORMS_DIR = new File("examples/forms");
+
+	@Before
+	public void setUp() throws Exception {
+		DefaultInitializer.initialize();
+	}
+
+	@Test
+	public void testExampleForms() throws Exception {
+		File[] files = FORMS_DIR.listFiles();
+		assertNotNull("missing " + FORMS_DIR, files);
+		Arrays.sort(files);
+
+		int count = 0;
+		for (int index = 0; index < files.length; index++) {
+			File f = files[index];
+			FormPackage fpackage = null;
+			try {
+				fpackage = new FormPackage(FormManagerUtils.loadForm(f));
+			} catch (Exception e) {
+				// forms saved with an old serialization format can't be read
+				continue;
+			}
+
+			StringWriter dom = new StringWriter();
+			new XMLWriter().write(dom, JMLUtils.writeObject(fpackage));
+
+			StringWriter streaming = new StringWriter();
+			new XMLStreamingWriter().write(streaming, fpackage);
+
+			assertEquals(f.getName(), dom.toString(), streaming.toString());
+			count++;
+		}
+		assertTrue("no forms were checked", count > 20);
+	}
+}
@@ -0,0 +1,72 @@
+package test.jeta.open.i18n;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jeta.open.i18n.I18NHelper;
+
+/**
+ * Checks that I18NHelper.format gives the same result as
+ * java.text.MessageFormat for templates that take the simple format path and
+ * templates that don't.
+ */
+public class TestI18NHelper {
+
+	private static final String[] TEMPLATES = { "", "no arguments", "{0}", "Hello {0}", "{0} and {1}", "{1} before {0}", "{0}{0}{0}",
+			"{00} padded index", "{01} and {1}", "{10} large index", "It''s {0}", "'{0}' is quoted", "'{'{0}'}' quoted braces",
+			"a } brace", "{0,number} number", "{0,number,#.##} pattern", "{ 0} space", };
+
+	private static final Object[][] ARGUMENTS = { null, {}, { "a" }, { "a", "b" }, { "", null }, { Integer.valueOf(12345) },
+			{ "x", Double.valueOf(1.5) }, { Locale.US, "b" }, { "a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k" }, };
+
+	@Before
+	public void setUp() {
+		I18NHelper.getInstance().setLocale(Locale.US);
+	}
+
+	@Test
+	public void testMatchesMessageFormat() {
+		for (int t = 0; t < TEMPLATES.length; t++) {
+			for (int a = 0; a < ARGUMENTS.length; a++) {
+				String template = TEMPLATES[t];
+				Object[] args = ARGUMENTS[a];
+				String name = "'" + template + "' with arguments " + a;
+
+				String expected = null;
+				Exception expectedError = null;
+				try {
+					MessageFormat format = new MessageFormat("");
+					format.setLocale(Locale.US);
+					format.applyPattern(template);
+					expected = format.format(args);
+				} catch (Exception e) {
+					expectedError = e;
+				}
+
+				try {
+					String actual = I18NHelper.getInstance().format(template, args);
+					if (expectedError != null)
+						fail(name + ": expected " + expectedError + " but got '" + actual + "'");
+					assertEquals(name, expected, actual);
+				} catch (Exception e) {
+					if (expectedError == null || e.getClass() != expectedError.getClass())
+						fail(name + ": expected '" + expected + "' but got " + e);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCachedTemplate() {
+		Object[] args = { "a", "b" };
+		for (int index = 0; index < 3; index++) {
+			assertEquals("b then a", I18NHelper.getInstance().format("{1} then {0}", args));
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package test.jeta.open.registry;
+
+import java.util.Hashtable;
+
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.registry.ServiceHandle;
+
+/**
+ * Measures concurrent reads of one registry entry. Each thread reads the
+ * entry a fixed number of times through a synchronized Hashtable (the way
+ * JETARegistry used to store its components), JETARegistry.lookup and a
+ * ServiceHandle. The result is the total number of reads per second.
+ *
+ * Run: JETARegistryBenchmark [reads per thread]
+ */
+public class JETARegistryBenchmark {
+
+	private static final String NAME = "jeta.benchmark.service";
+
+	private static final int[] THREADS = { 1, 2, 4, 8 };
+
+	private static final Hashtable m_table = new Hashtable();
+
+	private static final int HASHTABLE = 0;
+	private static final int LOOKUP = 1;
+	private static final int HANDLE = 2;
+
+	private static final String[] MODES = { "synchronized Hashtable", "JETARegistry.lookup", "ServiceHandle.get" };
+
+	public static void main(String[] args) throws Exception {
+		int reads = (args.length > 0) ? Integer.parseInt(args[0]) : 2000000;
+
+		Object service = new Object();
+		m_table.put(NAME, service);
+		JETARegistry.rebind(NAME, service);
+		ServiceHandle handle = JETARegistry.getHandle(NAME);
+
+		System.out.println(Runtime.getRuntime().availableProcessors() + " processors, " + reads + " reads per thread, M reads/s");
+		for (int mode = HASHTABLE; mode <= HANDLE; mode++) {
+			/** warm up */
+			run(mode, handle, 1, reads);
+
+			StringBuffer line = new StringBuffer(MODES[mode]);
+			for (int index = 0; index < THREADS.length; index++) {
+				long nanos = run(mode, handle, THREADS[index], reads);
+				long total = (long) THREADS[index] * reads;
+				line.append("  " + THREADS[index] + " threads: " + (total * 1000 / nanos));
+			}
+			System.out.println(line);
+		}
+	}
+
+	synchronized private static Object lookupTable(String name) {
+		return m_table.get(name);
+	}
+
+	/**
+	 * Starts the threads and returns the time in nanoseconds until all of
+	 * them have finished.
+	 */
+	private static long run(final int mode, final ServiceHandle handle, int threads, final int reads) throws InterruptedException {
+		Thread[] workers = new Thread[threads];
+		for (int index = 0; index < threads; index++) {
+			workers[index] = new Thread(new Runnable() {
+				public void run() {
+					int found = 0;
+					for (int count = 0; count < reads; count++) {
+						Object service;
+						if (mode == HASHTABLE)
+							service = lookupTable(NAME);
+						else if (mode == LOOKUP)
+							service = JETARegistry.lookup(NAME);
+						else
+							service = handle.get();
+
+						if (service != null)
+							found++;
+					}
+					if (found != reads)
+						throw new IllegalStateException("registry entry not found");
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		for (int index = 0; index < threads; index++)
+			workers[index].start();
+		for (int index = 0; index < threads; index++)
+			workers[index].join();
+		return System.nanoTime() - start;
+	}
+}
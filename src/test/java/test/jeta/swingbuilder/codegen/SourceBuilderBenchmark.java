@@ -0,0 +1,90 @@
+package test.jeta.swingbuilder.codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.jeta.forms.defaults.DefaultInitializer;
+import com.jeta.forms.gui.common.FormUtils;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.swingbuilder.codegen.builder.DefaultSourceBuilder;
+import com.jeta.swingbuilder.store.CodeModel;
+
+/**
+ * Measures generating the Java source of the .jfrm forms in examples/forms and
+ * src/main/resources. Each round generates every form once with the source
+ * cache cleared before each form, and once with the forms unchanged so the
+ * sources come from the cache. Forms that can't be loaded or generated are
+ * skipped.
+ *
+ * Run from the project directory: SourceBuilderBenchmark [rounds]
+ */
+public class SourceBuilderBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+		DefaultInitializer.initialize();
+		FormUtils.setDesignMode(false);
+
+		ArrayList files = new ArrayList();
+		findForms(new File("examples/forms"), files);
+		findForms(new File("src/main/resources"), files);
+
+		PrintStream out = System.out;
+		// some forms report duplicate properties or missing resources
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+		ArrayList forms = new ArrayList();
+		ArrayList models = new ArrayList();
+		for (int index = 0; index < files.size(); index++) {
+			try {
+				FormMemento memento = FormManagerUtils.loadForm((File) files.get(index));
+				CodeModel model = CodeModel.createInstance("test.generated", "Form" + index);
+				DefaultSourceBuilder.buildSource(model, memento);
+				forms.add(memento);
+				models.add(model);
+			} catch (Throwable t) {
+				// forms saved with an old serialization format can't be read
+			}
+		}
+		System.setOut(out);
+
+		out.println(forms.size() + " of " + files.size() + " forms generated");
+		for (int round = 0; round < rounds; round++) {
+			long cleared = generate(forms, models, true);
+			// the cleared pass leaves only the last form in the cache
+			generate(forms, models, false);
+			long unchanged = generate(forms, models, false);
+			out.println("round " + round + ": cache cleared " + cleared + " ms, forms unchanged " + unchanged + " ms");
+		}
+	}
+
+	/**
+	 * Returns the time in milliseconds to generate the source of every form.
+	 */
+	private static long generate(ArrayList forms, ArrayList models, boolean clear) {
+		long start = System.nanoTime();
+		for (int index = 0; index < forms.size(); index++) {
+			if (clear)
+				DefaultSourceBuilder.clearCache();
+			DefaultSourceBuilder.buildSource((CodeModel) models.get(index), (FormMemento) forms.get(index));
+		}
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private static void findForms(File dir, ArrayList files) {
+		File[] children = dir.listFiles();
+		if (children == null)
+			return;
+
+		Arrays.sort(children);
+		for (int index = 0; index < children.length; index++) {
+			if (children[index].isDirectory())
+				findForms(children[index], files);
+			else if (children[index].getName().endsWith(".jfrm"))
+				files.add(children[index]);
+		}
+	}
+}
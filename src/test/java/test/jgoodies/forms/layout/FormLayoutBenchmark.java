@@ -0,0 +1,94 @@
+package test.jgoodies.forms.layout;
+
+import java.awt.Dimension;
+import java.lang.management.ManagementFactory;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import com.jgoodies.forms.layout.CellConstraints;
+import com.jgoodies.forms.layout.FormLayout;
+
+/**
+ * Measures the time and the bytes allocated per FormLayout call on a form
+ * with 40 rows, 7 columns and a column group: layoutContainer with nothing
+ * changed, preferredLayoutSize, and layoutContainer after invalidateLayout.
+ * Requires a JVM that supports com.sun.management.ThreadMXBean.
+ *
+ * Run: FormLayoutBenchmark [calls]
+ */
+public class FormLayoutBenchmark {
+
+	private static final int ROWS = 40;
+
+	public static void main(String[] args) throws Exception {
+		int calls = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+
+		JPanel panel = createPanel();
+		Dimension pref = panel.getPreferredSize();
+		panel.setSize(pref.width, pref.height * 3 / 4);
+		FormLayout layout = (FormLayout) panel.getLayout();
+
+		for (int round = 0; round < 3; round++) {
+			measure("layoutContainer", layout, panel, calls, false, false);
+			measure("preferredLayoutSize", layout, panel, calls, false, true);
+			measure("invalidateLayout + layoutContainer", layout, panel, calls, true, false);
+		}
+	}
+
+	/**
+	 * Creates a panel with a label, text field, button and check box on each
+	 * row. Some rows have a spanning text field or a hidden component.
+	 */
+	private static JPanel createPanel() {
+		StringBuffer rows = new StringBuffer();
+		for (int index = 0; index < ROWS; index++) {
+			if (index > 0)
+				rows.append(",3dlu,");
+			rows.append(index % 5 == 4 ? "f:p:g" : "p");
+		}
+
+		FormLayout layout = new FormLayout("r:p, 3dlu, f:max(50dlu;p):g, 3dlu, p, 3dlu, 40dlu:g(0.5)", rows.toString());
+		layout.setColumnGroups(new int[][] { { 1, 5 } });
+		JPanel panel = new JPanel(layout);
+		CellConstraints cc = new CellConstraints();
+		for (int index = 0; index < ROWS; index++) {
+			int row = 2 * index + 1;
+			panel.add(new JLabel("Label " + index), cc.xy(1, row));
+			if (index % 7 == 3) {
+				panel.add(new JTextField("span " + index), cc.xyw(3, row, 5));
+			}
+			else {
+				panel.add(new JTextField("f" + index), cc.xy(3, row));
+				panel.add(new JButton("b" + index), cc.xy(5, row));
+				panel.add(new JCheckBox("c"), cc.xy(7, row));
+			}
+			if (index % 11 == 5)
+				panel.getComponent(panel.getComponentCount() - 1).setVisible(false);
+		}
+		return panel;
+	}
+
+	private static void measure(String name, FormLayout layout, JPanel panel, int calls, boolean invalidate, boolean preferred) {
+		com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		long allocated = mx.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int count = 0; count < calls; count++) {
+			if (invalidate)
+				layout.invalidateLayout(panel);
+			if (preferred)
+				layout.preferredLayoutSize(panel);
+			else
+				layout.layoutContainer(panel);
+		}
+		long nanos = System.nanoTime() - start;
+		allocated = mx.getThreadAllocatedBytes(thread) - allocated;
+
+		System.out.println(name + ": " + (nanos / calls / 1000.0) + " us, " + (allocated / calls) + " bytes per call");
+	}
+}